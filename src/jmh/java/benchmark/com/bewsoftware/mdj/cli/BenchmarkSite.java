@@ -0,0 +1,165 @@
+/*
+ *  File Name:    BenchmarkSite.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli;
+
+import com.bewsoftware.fileio.ini.IniFileFormatException;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import java.util.List;
+
+import static com.bewsoftware.mdj.cli.options.util.Cli.loadConf;
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+
+/**
+ * A site, written to a temporary directory by the {@link CorpusGenerator},
+ * for the benchmarks to work on.
+ * <p>
+ * Its configuration file is loaded into
+ * {@link com.bewsoftware.mdj.cli.util.GlobalVariables#conf}, in the same way
+ * as the '-w' option does.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class BenchmarkSite
+{
+    /**
+     * The seed for the page contents.
+     */
+    public static final long SEED = 1;
+
+    /**
+     * The destination directory.
+     */
+    public final Path destDirPath;
+
+    /**
+     * The markdown files.
+     */
+    public final List<Path> pages;
+
+    /**
+     * The temporary directory holding the whole site.
+     */
+    public final Path root;
+
+    /**
+     * The source directory.
+     */
+    public final Path srcDirPath;
+
+    private BenchmarkSite(final Path root, final List<Path> pages)
+    {
+        this.root = root;
+        this.srcDirPath = root.resolve("src");
+        this.destDirPath = root.resolve("out");
+        this.pages = pages;
+    }
+
+    /**
+     * Write a new site to a temporary directory, and load its configuration.
+     *
+     * @param pageCount   The number of markdown files.
+     * @param pagesPerDir The number of markdown files in each directory.
+     *
+     * @return the new site.
+     *
+     * @throws IOException if any.
+     */
+    public static BenchmarkSite create(final int pageCount, final int pagesPerDir)
+            throws IOException
+    {
+        Path root = Files.createTempDirectory("mdj-bench-");
+        BenchmarkSite site = new BenchmarkSite(
+                root,
+                new CorpusGenerator(pageCount, pagesPerDir, SEED).generate(root)
+        );
+
+        Files.createDirectories(site.destDirPath);
+        site.loadConfiguration();
+
+        return site;
+    }
+
+    /**
+     * Delete the site.
+     *
+     * @throws IOException if any.
+     */
+    public void delete() throws IOException
+    {
+        Files.walkFileTree(root, new SimpleFileVisitor<>()
+        {
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException
+            {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * The output file for a markdown file.
+     *
+     * @param page The markdown file.
+     *
+     * @return the output file.
+     */
+    public Path destinationOf(final Path page)
+    {
+        String name = page.getFileName().toString();
+
+        return destDirPath.resolve(srcDirPath.relativize(page))
+                .resolveSibling(name.substring(0, name.lastIndexOf('.')) + ".html");
+    }
+
+    private void loadConfiguration() throws IOException
+    {
+        conf = null;
+
+        try
+        {
+            loadConf(srcDirPath);
+        } catch (IniFileFormatException ex)
+        {
+            throw new IOException(ex);
+        }
+
+        // The document root is relative to the project's root.
+        conf.iniDoc.setString("project", "root", root.toString());
+        conf.iniDoc.setString("system", "date", new Date().toString());
+    }
+}
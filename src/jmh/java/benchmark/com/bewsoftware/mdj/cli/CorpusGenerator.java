@@ -0,0 +1,418 @@
+/*
+ *  File Name:    CorpusGenerator.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a synthetic documentation site, for benchmarks and scale tests.
+ * <p>
+ * The site is laid out as the '-W' option would, under: {@code <root>/src}.
+ * It holds:
+ * <ul>
+ * <li>an {@code mdj-cli.ini} file, with a number of '{@code use}' groups, and
+ * a "[vars]" section whose values refer to each other,</li>
+ * <li>a template for each group, and a stylesheet,</li>
+ * <li>the markdown files, spread over a tree of directories.  Each has a meta
+ * block, named meta blocks, substitutions, local links and links to other
+ * pages.</li>
+ * </ul>
+ * The same settings and seed always produce the same files.  Each page is
+ * generated from its own number and the seed, so it does not depend on how
+ * many pages there are.
+ * <p>
+ * To process the site:
+ * <pre><code>
+ * cd &lt;root&gt;
+ * mdj-cli -s src -d out -w -r
+ * </code></pre>
+ * <p>
+ * Usage:
+ * <pre><code>
+ * CorpusGenerator &lt;root&gt; [&lt;pages&gt; [&lt;seed&gt;]]
+ *
+ * mvn -P benchmark test-compile exec:java@generate-corpus -Dcorpus.pages=10000
+ * </code></pre>
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class CorpusGenerator
+{
+    /**
+     * The number of sub-directories in each directory.
+     */
+    public static final int FANOUT = 10;
+
+    /**
+     * The number of '{@code use}' groups, each with its own template.
+     */
+    public static final int GROUPS = 4;
+
+    /**
+     * The number of keys in the "[vars]" section.
+     */
+    public static final int VARS = 50;
+
+    private static final String[] WORDS =
+    {
+        "alpha", "archive", "build", "cache", "channel", "compile", "config",
+        "context", "convert", "data", "default", "deploy", "directory", "document",
+        "element", "engine", "feature", "file", "format", "graph", "header", "index",
+        "input", "item", "layout", "library", "link", "list", "manual", "markdown",
+        "module", "node", "option", "output", "package", "page", "parser", "path",
+        "plugin", "process", "project", "property", "record", "render", "request",
+        "section", "server", "source", "static", "style", "table", "template",
+        "text", "theme", "title", "token", "value", "version", "view", "wrapper"
+    };
+
+    private final int pages;
+
+    private final int pagesPerDir;
+
+    private final long seed;
+
+    /**
+     * Create a new instance of CorpusGenerator.
+     *
+     * @param pages       The number of markdown files.
+     * @param pagesPerDir The number of markdown files in each directory.
+     * @param seed        The seed for the random content.
+     */
+    public CorpusGenerator(final int pages, final int pagesPerDir, final long seed)
+    {
+        this.pages = pages;
+        this.pagesPerDir = pagesPerDir;
+        this.seed = seed;
+    }
+
+    /**
+     * The name of a '{@code use}' group.
+     *
+     * @param group number.
+     *
+     * @return the name.
+     */
+    public static String groupName(final int group)
+    {
+        return group == 0 ? "articles" : "articles" + group;
+    }
+
+    /**
+     * Generate a site from the command-line.
+     *
+     * @param args &lt;root&gt; [&lt;pages&gt; [&lt;seed&gt;]]
+     *
+     * @throws IOException if any.
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length < 1 || args.length > 3)
+        {
+            System.err.println("Usage: CorpusGenerator <root> [<pages> [<seed>]]");
+            System.exit(1);
+        }
+
+        Path root = Path.of(args[0]);
+        int pages = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        long start = System.nanoTime();
+        List<Path> files = new CorpusGenerator(pages, 50, seed).generate(root);
+
+        System.out.println("Wrote " + files.size() + " pages to: " + root.resolve("src")
+                + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * The name of a group's template.
+     *
+     * @param group number.
+     *
+     * @return the file name.
+     */
+    public static String templateName(final int group)
+    {
+        return group == 0 ? "article.html" : "article_" + group + ".html";
+    }
+
+    private static String template(final int group)
+    {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("<html lang=\"en-us\" id=\"top\">\n")
+                .append("    <head>\n")
+                .append("        <title>${page.title}</title>\n")
+                .append("        <meta charset=\"UTF-8\">\n")
+                .append("        <meta name=\"author\" content=\"${document.author}\">\n")
+                .append("        <base href=\"${page.base}\">\n")
+                .append("        <link rel=\"stylesheet\" type=\"text/css\" href=\"${document.cssDir}/${page.stylesheet}\">\n")
+                .append("    </head>\n")
+                .append("    <body>\n")
+                .append("        <a href=\"#top\">Top</a>\n")
+                .append("        ${page.navbar}\n");
+
+        for (int i = 0; i < group; i++)
+        {
+            sb.append("        <p class=\"group\">${vars.k").append(i).append("}</p>\n");
+        }
+
+        sb.append("        <article>\n")
+                .append("            ${page.content}\n")
+                .append("            <footer>\n")
+                .append("                <hr>\n")
+                .append("                ${document.copyright}<br>\n")
+                .append("                Last updated: ${system.date}\n")
+                .append("            </footer>\n")
+                .append("        </article>\n")
+                .append("    </body>\n")
+                .append("</html>\n");
+
+        return sb.toString();
+    }
+
+    /**
+     * Write the site.
+     *
+     * @param root The directory to write it to.  Created if need be.
+     *
+     * @return the markdown files, in order of their page number.
+     *
+     * @throws IOException if any.
+     */
+    public List<Path> generate(final Path root) throws IOException
+    {
+        Path srcDirPath = Files.createDirectories(root.resolve("src"));
+        Path templatesDir = Files.createDirectories(srcDirPath.resolve("templates"));
+        Path cssDir = Files.createDirectories(srcDirPath.resolve("css"));
+
+        Files.writeString(srcDirPath.resolve("mdj-cli.ini"), ini());
+        Files.writeString(cssDir.resolve("style.css"), "body { font-family: sans-serif; }\n");
+
+        for (int group = 0; group < GROUPS; group++)
+        {
+            Files.writeString(templatesDir.resolve(templateName(group)), template(group));
+        }
+
+        List<Path> files = new ArrayList<>(pages);
+
+        for (int number = 0; number < pages; number++)
+        {
+            Path dir = srcDirPath.resolve(dirOf(number));
+
+            if (number % pagesPerDir == 0)
+            {
+                Files.createDirectories(dir);
+            }
+
+            Path file = dir.resolve(pageName(number));
+            Files.writeString(file, pageText(number));
+            files.add(file);
+        }
+
+        return files;
+    }
+
+    /**
+     * The text of a markdown file.
+     *
+     * @param number of the page.
+     *
+     * @return the text.
+     */
+    public String pageText(final int number)
+    {
+        Random random = new Random(seed * 1_000_003 + number);
+        StringBuilder sb = new StringBuilder(4096);
+        int group = random.nextInt(GROUPS);
+
+        sb.append("@@@\n")
+                .append("use : ").append(groupName(group)).append("\n")
+                .append("title : ${document.name} | ").append(words(random, 3)).append("\n")
+                .append("summary : ").append(words(random, 8)).append("\n")
+                .append("@@@\n\n")
+                .append("# ${page.title}\n\n")
+                .append("${page.summary}\n\n");
+
+        int sections = 2 + random.nextInt(5);
+
+        for (int s = 0; s < sections; s++)
+        {
+            sb.append("## ").append(words(random, 2)).append("\n\n");
+
+            int paragraphs = 1 + random.nextInt(4);
+
+            for (int p = 0; p < paragraphs; p++)
+            {
+                sb.append(words(random, 12 + random.nextInt(30)))
+                        .append(", by ${document.author}, see ${vars.k").append(random.nextInt(VARS))
+                        .append("} and [section ").append(random.nextInt(sections)).append("](#s")
+                        .append(random.nextInt(sections)).append(").\n\n");
+            }
+
+            if (random.nextInt(3) == 0)
+            {
+                sb.append("- ").append(words(random, 4)).append("\n")
+                        .append("- ").append(words(random, 4)).append("\n")
+                        .append("- [").append(words(random, 2)).append("][page")
+                        .append(random.nextInt(Math.max(pages, 1))).append("]\n\n");
+            }
+
+            if (random.nextInt(4) == 0)
+            {
+                sb.append("```\n")
+                        .append(words(random, 6)).append(" = \\${not.substituted}\n")
+                        .append("```\n\n");
+            }
+        }
+
+        // Reference links to other pages, relative to the document root.
+        for (int i = 0; i < sections; i++)
+        {
+            int other = random.nextInt(Math.max(pages, 1));
+            String name = pageName(other);
+
+            sb.append("[page").append(other).append("]:")
+                    .append(dirOf(other).resolve(name.substring(0, name.lastIndexOf('.')) + ".html")
+                            .toString().replace('\\', '/'))
+                    .append("\n");
+        }
+
+        sb.append("\n@@@[#navbar]\n")
+                .append("- [@active] [Page ").append(number).append("](#)\n");
+
+        for (int i = 0; i < 5; i++)
+        {
+            sb.append("- [").append(words(random, 1)).append("](index.html)\n");
+        }
+
+        sb.append("@@@\n");
+
+        if (random.nextBoolean())
+        {
+            sb.append("\n@@@[@note]\n")
+                    .append("**Note:** ").append(words(random, 10)).append(".\n")
+                    .append("@@@\n");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * The directory of a page, relative to the source directory.
+     * <p>
+     * The number of the directory is written in base {@link #FANOUT}, each
+     * digit naming the next sub-directory.  So the tree gets deeper as the
+     * number of pages grows.
+     */
+    private Path dirOf(final int number)
+    {
+        int dir = number / pagesPerDir;
+        Path path = Path.of("");
+
+        for (char digit : Integer.toString(dir, FANOUT).toCharArray())
+        {
+            if (dir != 0)
+            {
+                path = path.resolve("part" + digit);
+            }
+        }
+
+        return path;
+    }
+
+    private String ini()
+    {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("; MDj CLI configuration file.\n")
+                .append("; DO NOT REMOVE/MOVE OR MODIFY: iniVersion!\n")
+                .append("iniVersion =\n")
+                .append("; Generated by: CorpusGenerator (seed: ").append(seed).append(")\n")
+                .append("[document]\n")
+                .append("docRootDir = src\n")
+                .append("templatesDir = templates\n")
+                .append("cssDir = css\n")
+                .append("etcDir = etc\n")
+                .append("name = Synthetic Corpus\n")
+                .append("title =\n")
+                .append("author = Corpus Generator\n")
+                .append("description = A generated site of ").append(pages).append(" pages\n")
+                .append("copyright = Copyright (c) 2026 ${document.author}\n\n");
+
+        for (int group = 0; group < GROUPS; group++)
+        {
+            sb.append("[").append(groupName(group)).append("]\n")
+                    .append("template = ").append(templateName(group)).append("\n")
+                    .append("stylesheet = style.css\n\n");
+        }
+
+        // Some values refer to others, making chains of substitutions.
+        sb.append("[vars]\n");
+
+        for (int i = 0; i < VARS; i++)
+        {
+            sb.append("k").append(i).append(" = ").append(words(random, 2));
+
+            if (i + 1 < VARS && random.nextInt(3) == 0)
+            {
+                sb.append(" ${vars.k").append(i + 1).append("}");
+            }
+
+            sb.append("\n");
+        }
+
+        sb.append("\n[includeDirs]\n")
+                .append("1 = ${document.cssDir}\n");
+
+        return sb.toString();
+    }
+
+    private String pageName(final int number)
+    {
+        return "page" + number + ".md";
+    }
+
+    private String words(final Random random, final int count)
+    {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < count; i++)
+        {
+            if (i > 0)
+            {
+                sb.append(' ');
+            }
+
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        return sb.toString();
+    }
+}
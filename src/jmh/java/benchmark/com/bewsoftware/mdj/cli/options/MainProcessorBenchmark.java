@@ -0,0 +1,202 @@
+/*
+ *  File Name:    MainProcessorBenchmark.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli.options;
+
+import benchmark.com.bewsoftware.mdj.cli.BenchmarkSite;
+import benchmark.com.bewsoftware.mdj.cli.CorpusGenerator;
+import com.bewsoftware.mdj.cli.options.MainProcessor;
+import com.bewsoftware.mdj.cli.util.BuildManifest;
+import com.bewsoftware.mdj.cli.util.BuildStats;
+import com.bewsoftware.mdj.cli.util.BuildStats.PageTimer;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.FileData;
+import com.bewsoftware.mdj.cli.util.OutputWriter;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+
+/**
+ * Benchmarks of {@link MainProcessor}: processing a whole page, and the
+ * template stage on its own.
+ * <p>
+ * The methods are private, so they are called through method handles.  The
+ * output files are written before the measurements start, so
+ * {@code processFile} measures the usual case of a page whose output has not
+ * changed.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MainProcessorBenchmark
+{
+    private static final MethodHandle PROCESS_FILE;
+
+    private static final MethodHandle PROCESS_TEMPLATE;
+
+    private static final MethodHandle REWRITE_LOCAL_LINKS;
+
+    static
+    {
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(
+                    MainProcessor.class, MethodHandles.lookup());
+
+            PROCESS_FILE = lookup.findStatic(MainProcessor.class, "processFile",
+                    MethodType.methodType(byte[].class, FileData.class, Path.class,
+                            boolean.class, ConfSnapshot.class, BuildManifest.class,
+                            OutputWriter.class, BuildStats.class));
+
+            PROCESS_TEMPLATE = lookup.findStatic(MainProcessor.class, "processTemplate",
+                    MethodType.methodType(void.class, PageContext.class, String.class,
+                            String.class, PageTimer.class));
+
+            REWRITE_LOCAL_LINKS = lookup.findStatic(MainProcessor.class, "rewriteLocalLinks",
+                    MethodType.methodType(String.class, String.class, String.class));
+        } catch (ReflectiveOperationException ex)
+        {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /**
+     * Whether or not to record the page's dependencies in a build manifest,
+     * as with '--incremental'.
+     */
+    @Param(
+            {
+                "false", "true"
+            })
+    public boolean incremental;
+
+    private String content;
+
+    private FileData fileData;
+
+    private BuildManifest manifest;
+
+    private BenchmarkSite site;
+
+    private ConfSnapshot snapshot;
+
+    public MainProcessorBenchmark()
+    {
+    }
+
+    @Benchmark
+    public void processFile(final Blackhole blackhole) throws Throwable
+    {
+        blackhole.consume(process());
+    }
+
+    @Benchmark
+    public String processTemplate() throws Throwable
+    {
+        OverlayPageContext context = new OverlayPageContext(snapshot, incremental);
+        context.setString("page", "content", content);
+        context.setString("page", "title", "Benchmark");
+        context.setString("page", "stylesheet", "style.css");
+        context.setString("page", "srcFile", fileData.sourcePath.toString());
+        context.setString("page", "destFile", fileData.destinationPath.toString());
+        context.setString("page", "destDir", site.destDirPath.toString());
+
+        PageTimer timer = new BuildStats().startPage(fileData.sourcePath);
+        PROCESS_TEMPLATE.invokeExact((PageContext) context, CorpusGenerator.groupName(0),
+                CorpusGenerator.templateName(0), timer);
+
+        return context.getString("page", "html", "");
+    }
+
+    @Benchmark
+    public String rewriteLocalLinks() throws Throwable
+    {
+        return (String) REWRITE_LOCAL_LINKS.invokeExact(content, "dir/sub/page.html");
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable
+    {
+        site = BenchmarkSite.create(2, 1);
+        snapshot = ConfSnapshot.of(conf.iniDoc);
+        manifest = incremental ? BuildManifest.load(site.destDirPath, "wrapper=true") : null;
+
+        // In a sub-directory, so its local links are rewritten.
+        Path page = site.pages.get(1);
+        fileData = new FileData(page, site.destinationOf(page));
+        Files.createDirectories(fileData.destinationPath.getParent());
+
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 200; i++)
+        {
+            sb.append("<p>Paragraph ").append(i)
+                    .append(", see <a href=\"#s").append(i).append("\">section ").append(i)
+                    .append("</a>, or the <a href=\"index.html\">index</a>.</p>\n");
+        }
+
+        content = sb.toString();
+
+        // Write the output file, so each invocation finds it unchanged.
+        process();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        site.delete();
+    }
+
+    private byte[] process() throws Throwable
+    {
+        return (byte[]) PROCESS_FILE.invokeExact(fileData, site.destDirPath, true, snapshot,
+                manifest, new OutputWriter(), new BuildStats());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  File Name:    CliBenchmark.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli.options.util;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import com.bewsoftware.utils.struct.Ref;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.bewsoftware.mdj.cli.options.util.Cli.processSubstitutions;
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+
+/**
+ * Benchmarks of {@link com.bewsoftware.mdj.cli.options.util.Cli#processSubstitutions(
+ * com.bewsoftware.mdj.cli.util.PageContext, String, String, Ref)
+ * Cli.processSubstitutions()}.
+ * <p>
+ * <ul>
+ * <li><b>deep</b>: one variable, whose value refers to the next one, and so
+ * on, {@code size} times.</li>
+ * <li><b>wide</b>: {@code size} different variables in the text, none of
+ * which refer to any others.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CliBenchmark
+{
+    @Param(
+            {
+                "1", "8", "32"
+            })
+    public int size;
+
+    private String deepText;
+
+    private ConfSnapshot snapshot;
+
+    private String wideText;
+
+    public CliBenchmark()
+    {
+    }
+
+    @Benchmark
+    public String deep()
+    {
+        return processSubstitutions(new OverlayPageContext(snapshot), deepText, null, Ref.val());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        conf = new IniFile();
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < size; i++)
+        {
+            conf.iniDoc.setString("deep", "k" + i, "[" + i + "]${deep.k" + (i + 1) + "}");
+            conf.iniDoc.setString("wide", "k" + i, "value " + i);
+
+            sb.append("Some text before ${wide.k").append(i).append("}, and some after.\n");
+        }
+
+        conf.iniDoc.setString("deep", "k" + size, "end");
+
+        deepText = "Start: ${deep.k0} :End\n";
+        wideText = sb.toString();
+        snapshot = ConfSnapshot.of(conf.iniDoc);
+    }
+
+    @Benchmark
+    public String wide()
+    {
+        return processSubstitutions(new OverlayPageContext(snapshot), wideText, null, Ref.val());
+    }
+}
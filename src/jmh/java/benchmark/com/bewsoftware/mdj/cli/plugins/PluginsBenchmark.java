@@ -0,0 +1,125 @@
+/*
+ *  File Name:    PluginsBenchmark.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli.plugins;
+
+import benchmark.com.bewsoftware.mdj.cli.BenchmarkSite;
+import benchmark.com.bewsoftware.mdj.cli.CorpusGenerator;
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.plugins.MetaBlock;
+import com.bewsoftware.mdj.cli.plugins.NamedMetaBlocks;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
+import static com.bewsoftware.mdj.cli.util.Constants.TEXT;
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+
+/**
+ * Benchmarks of the {@link MetaBlock} and {@link NamedMetaBlocks} plugins.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PluginsBenchmark
+{
+    /**
+     * The number of named meta blocks in the page, in addition to its
+     * "navbar".
+     */
+    @Param(
+            {
+                "0", "10"
+            })
+    public int namedBlocks;
+
+    private final MetaBlock metaBlock = new MetaBlock();
+
+    private final NamedMetaBlocks namedMetaBlocks = new NamedMetaBlocks();
+
+    private ConfSnapshot snapshot;
+
+    private String text;
+
+    public PluginsBenchmark()
+    {
+    }
+
+    @Benchmark
+    public OverlayPageContext metaBlock()
+    {
+        OverlayPageContext context = new OverlayPageContext(snapshot);
+        context.setString(PAGE, TEXT, text);
+        metaBlock.execute(context);
+
+        return context;
+    }
+
+    @Benchmark
+    public OverlayPageContext namedMetaBlocks()
+    {
+        OverlayPageContext context = new OverlayPageContext(snapshot);
+        context.setString(PAGE, TEXT, text);
+        namedMetaBlocks.execute(context);
+
+        return context;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        conf = new IniFile();
+        snapshot = ConfSnapshot.of(conf.iniDoc);
+
+        StringBuilder sb = new StringBuilder(
+                new CorpusGenerator(1, 1, BenchmarkSite.SEED).pageText(0)
+        );
+
+        for (int i = 0; i < namedBlocks; i++)
+        {
+            sb.append("\n@@@[@block").append(i).append("]\n")
+                    .append("Block ").append(i).append(", with *some* **markdown**.\n")
+                    .append("@@@\n");
+        }
+
+        text = sb.toString();
+    }
+}
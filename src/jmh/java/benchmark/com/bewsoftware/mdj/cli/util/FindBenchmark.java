@@ -0,0 +1,113 @@
+/*
+ *  File Name:    FindBenchmark.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package benchmark.com.bewsoftware.mdj.cli.util;
+
+import benchmark.com.bewsoftware.mdj.cli.BenchmarkSite;
+import com.bewsoftware.mdj.cli.util.FileData;
+import com.bewsoftware.mdj.cli.util.Find;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link Find#getUpdateList(Path, Path, java.io.File, String,
+ * boolean) Find.getUpdateList()} over large trees.
+ * <p>
+ * <ul>
+ * <li><b>clean</b>: nothing has been built, so every file is listed.</li>
+ * <li><b>upToDate</b>: every output file is newer than its markdown file, so
+ * none are listed.</li>
+ * </ul>
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FindBenchmark
+{
+    @Param(
+            {
+                "1000", "10000"
+            })
+    public int files;
+
+    private Path cleanDestDirPath;
+
+    private BenchmarkSite site;
+
+    public FindBenchmark()
+    {
+    }
+
+    @Benchmark
+    public List<FileData> clean() throws IOException
+    {
+        return Find.getUpdateList(site.srcDirPath, cleanDestDirPath, null, null, true);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        site = BenchmarkSite.create(files, 50);
+        cleanDestDirPath = Files.createDirectories(site.root.resolve("clean"));
+
+        for (Path page : site.pages)
+        {
+            Path destPath = site.destinationOf(page);
+            Files.createDirectories(destPath.getParent());
+            Files.writeString(destPath, "<html></html>");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException
+    {
+        site.delete();
+    }
+
+    @Benchmark
+    public List<FileData> upToDate() throws IOException
+    {
+        return Find.getUpdateList(site.srcDirPath, site.destDirPath, null, null, true);
+    }
+}
@@ -20,11 +20,11 @@
 package com.bewsoftware.mdj.cli;
 
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.Log;
 import com.bewsoftware.mdj.cli.util.MyCmdLine;
 import java.util.Optional;
 
 import static com.bewsoftware.mdj.cli.options.OptionInterlink.*;
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.exception;
 import static java.lang.System.exit;
 
@@ -33,7 +33,7 @@ import static java.lang.System.exit;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 0.1
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class Main
 {
@@ -58,7 +58,7 @@ public class Main
         // Process command-line
         //
         CmdLine cmd = new MyCmdLine(args);
-        DISPLAY.debugLevel(cmd.verbosity());
+        Log.setVerbosity(cmd.verbosity());
 
         Optional<Integer> result;
 
@@ -74,11 +74,12 @@ public class Main
                 .or(() -> processCmdWrapper(cmd))
                 .or(() -> processCmdPomAndProps(cmd))
                 .or(() -> processCmdUseWrapper(cmd))
-                .or(() -> runMainProcessor(cmd));
+                .or(() -> runMainProcessor(cmd))
+                .or(() -> processCmdWatch(cmd));
 
         if (result.isPresent() && result.get() != 0 && exception != null)
         {
-            DISPLAY.level(0).println(exception);
+            Log.println(0, () -> exception);
         }
 
         return result.orElse(0);
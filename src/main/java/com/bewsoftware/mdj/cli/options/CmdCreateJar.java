@@ -21,6 +21,7 @@
 package com.bewsoftware.mdj.cli.options;
 
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.CompressionPolicy;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Optional;
@@ -38,7 +39,7 @@ import static java.util.Optional.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class CmdCreateJar implements Option
 {
@@ -84,7 +85,11 @@ public class CmdCreateJar implements Option
                 {
                     rtn = of(createJarFile(
                             cmd.jarFile(),
-                            cmd.jarSourcePath()
+                            cmd.jarSourcePath(),
+                            new CompressionPolicy(cmd.jarLevel(), cmd.jarCompression()),
+                            cmd.threads(),
+                            cmd.hasOption("jarUpdate"),
+                            cmd.hasOption("jarReproducible")
                     ));
                 } catch (IOException | URISyntaxException ex)
                 {
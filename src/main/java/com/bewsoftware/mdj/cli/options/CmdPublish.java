@@ -21,10 +21,10 @@
 package com.bewsoftware.mdj.cli.options;
 
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.Log;
 import com.bewsoftware.mdj.cli.util.MCHttpServer;
 import java.util.Optional;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static java.util.Optional.of;
 
 /**
@@ -33,7 +33,7 @@ import static java.util.Optional.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class CmdPublish implements Option
 {
@@ -55,7 +55,7 @@ public class CmdPublish implements Option
         //
         if (cmd.hasOption('P'))
         {
-            DISPLAY.level(0).println("Publishing files...");
+            Log.println(0, "Publishing files...");
             rtn = of(MCHttpServer.execute(cmd));
         }
 
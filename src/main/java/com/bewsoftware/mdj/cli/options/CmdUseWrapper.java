@@ -23,6 +23,7 @@ package com.bewsoftware.mdj.cli.options;
 import com.bewsoftware.fileio.ini.IniFile;
 import com.bewsoftware.fileio.ini.IniFileFormatException;
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.DirSync;
 import com.bewsoftware.property.IniProperty;
 import com.bewsoftware.utils.struct.Ref;
 import java.io.FileNotFoundException;
@@ -31,17 +32,13 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 
-import static com.bewsoftware.fileio.BEWFiles.copyDirTree;
 import static com.bewsoftware.mdj.cli.options.util.Cli.loadConf;
 import static com.bewsoftware.mdj.cli.options.util.Cli.processSubstitutions;
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.Constants.HELP_FOOTER;
 import static com.bewsoftware.mdj.cli.util.Constants.HELP_HEADER;
 import static com.bewsoftware.mdj.cli.util.Constants.SYNTAX;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.exception;
-import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
-import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Optional.of;
 
 /**
@@ -50,7 +47,7 @@ import static java.util.Optional.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class CmdUseWrapper implements Option
 {
@@ -60,17 +57,15 @@ public class CmdUseWrapper implements Option
         // NoOp
     }
 
-    private static void copyFiles(String value, CmdLine cmd, Ref<Optional<Integer>> rtn)
+    private static void copyFiles(String value, CmdLine cmd, DirSync dirSync, Ref<Optional<Integer>> rtn)
     {
         if (!value.isEmpty())
         {
             try
             {
-                copyDirTree(
-                        DISPLAY,
-                        cmd.source() + "/" + value,
-                        cmd.destination() + "/" + value, "*",
-                        COPY_ATTRIBUTES, REPLACE_EXISTING
+                dirSync.sync(
+                        Path.of(cmd.source() + "/" + value),
+                        Path.of(cmd.destination() + "/" + value)
                 );
             } catch (IOException ex)
             {
@@ -124,6 +119,11 @@ public class CmdUseWrapper implements Option
         if (rtn.val.isEmpty() && conf.iniDoc.containsSection("includeDirs"))
         {
             List<IniProperty<String>> props = conf.iniDoc.getSection("includeDirs");
+            DirSync dirSync = new DirSync(
+                    cmd.threads(),
+                    cmd.hasOption("linkIncludeDirs"),
+                    cmd.hasOption("pruneIncludeDirs")
+            );
 
             for (IniProperty<String> prop : props)
             {
@@ -132,7 +132,7 @@ public class CmdUseWrapper implements Option
                 if (value != null)
                 {
                     value = processSubstitutions(value, null, Ref.val());
-                    copyFiles(value, cmd, rtn);
+                    copyFiles(value, cmd, dirSync, rtn);
                 }
             }
         }
@@ -150,7 +150,8 @@ public class CmdUseWrapper implements Option
             Path srcDir = loadConfigurationFileData(cmd);
             loadConfigurationFile(srcDir, cmd, rtn);
 
-            if (rtn.val.isEmpty())
+            // With '--jarOutput', they are added to the jar file instead.
+            if (rtn.val.isEmpty() && cmd.jarOutput() == null)
             {
                 processIncludeDirs(cmd, rtn);
             }
@@ -21,9 +21,9 @@
 package com.bewsoftware.mdj.cli.options;
 
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.Log;
 import java.util.Optional;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.vlevel;
 
 /**
@@ -32,7 +32,7 @@ import static com.bewsoftware.mdj.cli.util.GlobalVariables.vlevel;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class CmdVerbosity implements Option
 {
@@ -49,7 +49,7 @@ public class CmdVerbosity implements Option
 
         vlevel = cmd.verbosity();
 
-        DISPLAY.level(2)
+        Log.print(2, display -> display
                 .append("input: |").append(cmd.inputFile()).appendln("|")
                 .append("output: |").append(cmd.outputFile()).appendln("|")
                 .append("source: |").append(cmd.source()).appendln("|")
@@ -61,22 +61,19 @@ public class CmdVerbosity implements Option
                 .append("jar: |").append(cmd.hasOption('j')).appendln("|")
                 .append("jarFilename: |").append(cmd.jarFile()).appendln("|")
                 .append("jarSrcDir: |").append(cmd.jarSourcePath()).appendln("|")
-                .append("pomFile: |").append(cmd.pomFile()).println("|");
+                .append("pomFile: |").append(cmd.pomFile()).appendln("|"));
 
         if (cmd.verbosity() >= 2 && cmd.hasOption('D'))
         {
-            DISPLAY.level(2);
-
-            cmd.getOptionProperties('D').forEach((key, value)
-                    -> DISPLAY.append(key).append(": |").append(value).appendln("|")
-            );
-
-            DISPLAY.flush();
+            Log.print(2, display
+                    -> cmd.getOptionProperties('D').forEach((key, value)
+                            -> display.append(key).append(": |").append(value).appendln("|")
+                    ));
         }
 
-        DISPLAY.level(1)
+        Log.print(1, display -> display
                 .append("verbose: |").append(cmd.hasOption('v')).appendln("|")
-                .append("verbose level: |").append(vlevel).println("|");
+                .append("verbose level: |").append(vlevel).appendln("|"));
 
         return rtn;
     }
@@ -0,0 +1,345 @@
+/*
+ *  File Name:    CmdWatch.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.options;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.IgnoreRules;
+import com.bewsoftware.mdj.cli.util.Log;
+import com.bewsoftware.mdj.cli.util.SourceWatcher;
+import com.bewsoftware.property.IniProperty;
+import com.bewsoftware.utils.struct.Ref;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.bewsoftware.mdj.cli.options.OptionInterlink.processCmdPomAndProps;
+import static com.bewsoftware.mdj.cli.options.OptionInterlink.processCmdUseWrapper;
+import static com.bewsoftware.mdj.cli.options.OptionInterlink.runMainProcessor;
+import static com.bewsoftware.mdj.cli.options.util.Cli.getConfPath;
+import static com.bewsoftware.mdj.cli.options.util.Cli.processSubstitutions;
+import static com.bewsoftware.mdj.cli.util.Constants.DEFAULT_INPUT_FILE_EXTN;
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.exception;
+import static java.util.Optional.of;
+
+/**
+ * Keep running, and process the markdown files again whenever anything they
+ * depend on is changed.
+ * <p>
+ * Watches the source directory, the templates and stylesheets directories,
+ * the '[includeDirs]' and the configuration file.  After each set of changes:
+ * <ul>
+ * <li>if the configuration file, or an included directory, was changed, then
+ * the configuration is reloaded and the included directories are copied
+ * again.  If it can not be reloaded, the previous one is kept,</li>
+ * <li>the markdown files are processed in incremental mode, so only the
+ * affected pages are rendered again.</li>
+ * </ul>
+ * The compiled templates and the build manifest stay in memory between
+ * changes.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class CmdWatch implements Option
+{
+    /**
+     * How long to wait for the events to stop, before processing them.
+     */
+    private static final long DEBOUNCE_MILLIS = 150;
+
+    public CmdWatch()
+    {
+        // NoOp
+    }
+
+    private static Path docRootPath()
+    {
+        return Path.of(conf.iniDoc.getString("project", "root", ""))
+                .resolve(conf.iniDoc.getString("document", "docRootDir", ""))
+                .toAbsolutePath();
+    }
+
+    private static Set<Path> getIncludeDirs(CmdLine cmd)
+    {
+        Set<Path> dirs = new HashSet<>();
+
+        if (cmd.hasOption('w') && conf.iniDoc.containsSection("includeDirs"))
+        {
+            for (IniProperty<String> prop : conf.iniDoc.getSection("includeDirs"))
+            {
+                String value = prop.value();
+
+                if (value != null)
+                {
+                    value = processSubstitutions(value, null, Ref.val());
+
+                    if (!value.isEmpty())
+                    {
+                        dirs.add(Path.of(cmd.source() + "/" + value).toAbsolutePath().normalize());
+                    }
+                }
+            }
+        }
+
+        return dirs;
+    }
+
+    private static List<PathMatcher> getMatchers(CmdLine cmd)
+    {
+        List<String> patterns = cmd.inputFile() != null
+                ? List.of(cmd.inputFile().getName())
+                : cmd.inputGlobs();
+
+        List<PathMatcher> matchers = new ArrayList<>();
+
+        for (String pattern : patterns.isEmpty() ? List.of("*" + DEFAULT_INPUT_FILE_EXTN) : patterns)
+        {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+        }
+
+        return matchers;
+    }
+
+    private static Set<Path> getWrapperDirs()
+    {
+        Set<Path> dirs = new HashSet<>();
+        Path docRootPath = docRootPath();
+
+        for (String key : new String[]
+        {
+            "templatesDir", "cssDir"
+        })
+        {
+            String dir = conf.iniDoc.getString("document", key, "");
+
+            if (!dir.isBlank())
+            {
+                dirs.add(docRootPath.resolve(dir).normalize());
+            }
+        }
+
+        return dirs;
+    }
+
+    /**
+     * Check whether the changed file is one of the markdown files, and not
+     * ignored, or in an ignored directory.
+     */
+    private static boolean isMarkdownFile(
+            List<PathMatcher> matchers,
+            IgnoreRules ignoreRules,
+            Path srcDirPath,
+            Path path
+    )
+    {
+        Path name = path.getFileName();
+        Path relative = path.startsWith(srcDirPath) ? srcDirPath.relativize(path) : null;
+
+        if (relative != null)
+        {
+            for (Path part = relative; part != null; part = part.getParent())
+            {
+                if (ignoreRules.isIgnored(part, part != relative))
+                {
+                    return false;
+                }
+            }
+        }
+
+        for (PathMatcher matcher : matchers)
+        {
+            if ((name != null && matcher.matches(name))
+                    || (relative != null && matcher.matches(relative)))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reload the configuration.  If that fails, such as from a mistake in the
+     * configuration file while it is being edited, the previous configuration
+     * is kept, so that the markdown files can still be processed.
+     */
+    private static Optional<Integer> reloadConfiguration(CmdLine cmd)
+    {
+        Log.println(1, "Reloading the configuration...");
+        IniFile previous = conf;
+        conf = null;
+
+        Optional<Integer> rtn = processCmdPomAndProps(cmd)
+                .or(() -> processCmdUseWrapper(cmd));
+
+        if (conf == null || (rtn.isPresent() && rtn.get() != 0))
+        {
+            conf = previous;
+            Log.println(0, "The configuration is invalid. Keeping the previous one.");
+        }
+
+        return rtn;
+    }
+
+    private static int watch(CmdLine cmd, SourceWatcher watcher)
+            throws IOException, InterruptedException
+    {
+        Path srcDirPath = cmd.source() != null ? cmd.source() : Path.of("");
+        Path confPath = cmd.hasOption('w') ? getConfPath(srcDirPath) : null;
+        Path destDirPath = cmd.destination() != null
+                ? cmd.destination().toAbsolutePath().normalize() : null;
+        List<PathMatcher> matchers = getMatchers(cmd);
+        Path absSrcDirPath = srcDirPath.toAbsolutePath().normalize();
+        IgnoreRules ignoreRules = IgnoreRules.load(absSrcDirPath);
+
+        Set<Path> wrapperDirs = getWrapperDirs();
+        Set<Path> includeDirs = getIncludeDirs(cmd);
+        registerAll(watcher, srcDirPath, ignoreRules, confPath, wrapperDirs, includeDirs,
+                cmd.hasOption('r'));
+
+        Log.println(0, "Watching for changes... (Ctrl-C to stop)");
+
+        while (true)
+        {
+            Set<Path> changes = watcher.awaitChanges(DEBOUNCE_MILLIS);
+            boolean reload = watcher.overflowed();
+            boolean rebuild = reload;
+
+            for (Path path : changes)
+            {
+                if (destDirPath != null && !destDirPath.equals(srcDirPath.toAbsolutePath().normalize())
+                        && path.startsWith(destDirPath))
+                {
+                    // Our own output.
+                    continue;
+                }
+
+                if (path.equals(confPath) || includeDirs.stream().anyMatch(path::startsWith))
+                {
+                    reload = true;
+                } else if (wrapperDirs.stream().anyMatch(path::startsWith)
+                        || isMarkdownFile(matchers, ignoreRules, absSrcDirPath, path))
+                {
+                    rebuild = true;
+                }
+            }
+
+            if (reload || rebuild)
+            {
+                long start = System.nanoTime();
+                exception = null;
+
+                Optional<Integer> result = (reload ? reloadConfiguration(cmd) : Optional.<Integer>empty())
+                        .or(() -> runMainProcessor(cmd));
+
+                if (result.isPresent() && result.get() != 0 && exception != null)
+                {
+                    Log.println(0, () -> exception);
+                } else
+                {
+                    Log.print(0, display -> display
+                            .append("Done in ")
+                            .append((System.nanoTime() - start) / 1_000_000)
+                            .appendln(" ms"));
+                }
+
+                if (reload && conf != null)
+                {
+                    wrapperDirs = getWrapperDirs();
+                    includeDirs = getIncludeDirs(cmd);
+                    registerAll(watcher, srcDirPath, ignoreRules, confPath, wrapperDirs, includeDirs,
+                            cmd.hasOption('r'));
+                }
+            }
+        }
+    }
+
+    private static void registerAll(
+            SourceWatcher watcher,
+            Path srcDirPath,
+            IgnoreRules ignoreRules,
+            Path confPath,
+            Set<Path> wrapperDirs,
+            Set<Path> includeDirs,
+            boolean recursive
+    ) throws IOException
+    {
+        if (recursive)
+        {
+            watcher.registerTree(srcDirPath, ignoreRules);
+        } else
+        {
+            watcher.register(srcDirPath);
+        }
+
+        if (confPath != null)
+        {
+            watcher.register(confPath.getParent());
+        }
+
+        for (Path dir : wrapperDirs)
+        {
+            watcher.registerTree(dir);
+        }
+
+        for (Path dir : includeDirs)
+        {
+            watcher.registerTree(dir);
+        }
+    }
+
+    @Override
+    public Optional<Integer> execute(CmdLine cmd)
+    {
+        Optional<Integer> rtn = Optional.empty();
+
+        //
+        // if '--watch' then, keep processing the files as they change.
+        //
+        if (cmd.hasOption("watch"))
+        {
+            try ( SourceWatcher watcher = new SourceWatcher())
+            {
+                rtn = of(watch(cmd, watcher));
+            } catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                rtn = of(0);
+            } catch (IOException ex)
+            {
+                exception = ex;
+                rtn = of(-1);
+            }
+        }
+
+        return rtn;
+    }
+}
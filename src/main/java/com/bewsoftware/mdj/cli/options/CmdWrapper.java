@@ -25,6 +25,7 @@ import com.bewsoftware.fileio.ini.IniFile;
 import com.bewsoftware.fileio.ini.IniFileFormatException;
 import com.bewsoftware.mdj.cli.options.util.Cli;
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.Log;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
@@ -46,7 +47,7 @@ import static java.util.Optional.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.9
+ * @version 2.1.4
  */
 public class CmdWrapper implements Option
 {
@@ -70,7 +71,7 @@ public class CmdWrapper implements Option
     {
         int rtn = 0;
 
-        DISPLAY.level(3).println("docRootPath:\n" + docRootPath);
+        Log.println(3, () -> "docRootPath:\n" + docRootPath);
         try
         {
             // Create directories.
@@ -82,23 +83,23 @@ public class CmdWrapper implements Option
             // Get source directory from jar file.
             Path srcDirPath = getResource(Cli.class, "/docs/init").toAbsolutePath();
 
-            DISPLAY.level(2)
+            Log.print(2, display -> display
                     .appendln("srcDirPath: " + srcDirPath)
-                    .println("srcDirPath exists: " + Files.exists(srcDirPath));
+                    .appendln("srcDirPath exists: " + Files.exists(srcDirPath)));
 
             // Get source ini file from jar file.
             Path srcIniPath = getResource(Cli.class, "/" + CONF_FILENAME + "").toAbsolutePath();
 
-            DISPLAY.level(2)
+            Log.print(2, display -> display
                     .appendln("srcIniPath: " + srcIniPath)
-                    .println("srcIniPath exists: " + Files.exists(srcIniPath));
+                    .appendln("srcIniPath exists: " + Files.exists(srcIniPath)));
 
             // Get destination ini file path.
             Path destIniPath = of(docRootPath.toString(), CONF_FILENAME);
 
-            DISPLAY.level(2)
+            Log.print(2, display -> display
                     .appendln("destIniPath: " + destIniPath)
-                    .println("destIniPath exists: " + Files.exists(destIniPath));
+                    .appendln("destIniPath exists: " + Files.exists(destIniPath)));
 
             copyDirTree(DISPLAY, srcDirPath, docRootPath,
                     "*", COPY_ATTRIBUTES, REPLACE_EXISTING);
@@ -108,11 +109,11 @@ public class CmdWrapper implements Option
             // If there already exists an ini file, then...
             if (Files.exists(destIniPath))
             {
-                DISPLAY.level(2).println("destIniPath exists");
+                Log.println(2, "destIniPath exists");
                 iniFile = new IniFile(srcIniPath).loadFile().mergeFile(destIniPath);
             } else
             {
-                DISPLAY.level(2).println("destIniPath dosen't exist");
+                Log.println(2, "destIniPath dosen't exist");
                 iniFile = new IniFile(srcIniPath).loadFile();
             }
 
@@ -120,8 +121,7 @@ public class CmdWrapper implements Option
             iniFile.iniDoc.setString(null, "iniVersion", POM.version,
                     "; DO NOT REMOVE/MOVE OR MODIFY: iniVersion!");
 
-            DISPLAY.level(2)
-                    .println("document.docRootDir: "
+            Log.println(2, () -> "document.docRootDir: "
                             + iniFile.iniDoc.getString(
                                     "document",
                                     "docRootDir",
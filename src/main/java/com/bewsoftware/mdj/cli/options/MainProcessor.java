@@ -20,31 +20,51 @@
 
 package com.bewsoftware.mdj.cli.options;
 
-import com.bewsoftware.fileio.ini.IniDocument;
+import com.bewsoftware.mdj.cli.plugins.Plugin;
 import com.bewsoftware.mdj.cli.plugins.PluginInterlink;
+import com.bewsoftware.mdj.cli.util.BuildManifest;
+import com.bewsoftware.mdj.cli.util.BuildManifest.FileStamp;
+import com.bewsoftware.mdj.cli.util.BuildManifest.PageRecord;
+import com.bewsoftware.mdj.cli.util.BuildStats;
+import com.bewsoftware.mdj.cli.util.BuildStats.PageTimer;
+import com.bewsoftware.mdj.cli.util.BuildStats.Stage;
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.CompressionPolicy;
+import com.bewsoftware.mdj.cli.util.ConvertCache;
 import com.bewsoftware.mdj.cli.util.FileData;
-import com.bewsoftware.mdj.core.MarkdownProcessor;
-import com.bewsoftware.mdj.core.TextEditor;
+import com.bewsoftware.mdj.cli.util.Jar;
+import com.bewsoftware.mdj.cli.util.JarWriter;
+import com.bewsoftware.mdj.cli.util.Log;
+import com.bewsoftware.mdj.cli.util.OutputWriter;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import com.bewsoftware.mdj.cli.util.SourceIndex;
+import com.bewsoftware.mdj.cli.util.SubstitutionCycleException;
+import com.bewsoftware.mdj.cli.util.SubstitutionResolver;
+import com.bewsoftware.mdj.cli.util.TemplateCache;
+import com.bewsoftware.property.IniProperty;
 import com.bewsoftware.utils.struct.Ref;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.bewsoftware.mdj.cli.options.util.Cli.getString;
 import static com.bewsoftware.mdj.cli.options.util.Cli.processSubstitutions;
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
-import static com.bewsoftware.mdj.cli.util.Find.getUpdateList;
+import static com.bewsoftware.mdj.cli.util.Constants.POM;
+import static com.bewsoftware.mdj.cli.util.Find.getSourceListMatching;
+import static com.bewsoftware.mdj.cli.util.Find.getUpdateListMatching;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.exception;
-import static java.nio.file.StandardOpenOption.CREATE;
-import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
-import static java.nio.file.StandardOpenOption.WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.of;
 import static java.util.regex.Pattern.compile;
 
@@ -54,56 +74,147 @@ import static java.util.regex.Pattern.compile;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class MainProcessor implements Option
 {
+    private static final Pattern LOCAL_LINK_PATTERN
+            = compile("href\\=\"(?<ref>#[^\"]*)?\"");
+
+    /**
+     * Kept between runs in watch mode, so the manifest file is only read
+     * once.
+     */
+    private static BuildManifest warmManifest;
+
+    /**
+     * The text just before ${system.date}, in the header.  The date changes
+     * with every build, and so is left out when checking whether or not a
+     * page has changed.
+     * <p>
+     * Format: {@link Date#toString()}
+     */
+    private static final String SYSTEM_DATE_MARKER = "\non ";
+
+    private static final String TEMPLATE_HEADER
+            = "<!DOCTYPE html>\n"
+            + "<!--\n"
+            + "Generated by ${program.title}\n"
+            + "version: ${program.version}"
+            + SYSTEM_DATE_MARKER + "${system.date}\n"
+            + "-->\n";
+
     public MainProcessor()
     {
         // NoOp
     }
 
-    private static void loadOutputDirs(List<FileData> fileList, Set<Path> outputDirs)
+    private static BuildManifest loadManifest(CmdLine cmd) throws IOException
     {
-        DISPLAY.level(1).appendln("loadOutputDirs:");
+        Path destDirPath = cmd.destination() != null ? cmd.destination() : cmd.source();
+        String options = "wrapper=" + cmd.hasOption('w');
 
-        fileList.forEach(fileData ->
+        if (!cmd.hasOption("watch"))
         {
+            return BuildManifest.load(destDirPath, options);
+        }
 
-            DISPLAY.appendln(fileData.sourcePath)
-                    .append("    ")
-                    .appendln(fileData.destinationPath);
+        if (warmManifest == null || !warmManifest.isFor(destDirPath, options))
+        {
+            warmManifest = BuildManifest.load(destDirPath, options);
+        }
 
+        return warmManifest;
+    }
+
+    private static void loadOutputDirs(List<FileData> fileList, Set<Path> outputDirs)
+    {
+        fileList.forEach(fileData ->
+        {
             Path parent = fileData.destinationPath.getParent();
 
             if (parent != null)
             {
-                DISPLAY.append("    Destination Parent:")
-                        .appendln(parent);
-
                 outputDirs.add(parent);
             }
         });
 
-        DISPLAY.flush();
+        Log.print(1, display ->
+        {
+            display.appendln("loadOutputDirs:");
+
+            fileList.forEach(fileData ->
+            {
+                display.appendln(fileData.sourcePath)
+                        .append("    ")
+                        .appendln(fileData.destinationPath);
+
+                Path parent = fileData.destinationPath.getParent();
+
+                if (parent != null)
+                {
+                    display.append("    Destination Parent:")
+                            .appendln(parent);
+                }
+            });
+        });
     }
 
-    private static void processDirectories(Set<Path> outputDirs) throws IOException
+    /**
+     * Add the files in the '[includeDirs]' directories to the jar file.
+     */
+    private static void addIncludeDirs(final CmdLine cmd, final JarWriter jar) throws IOException
+    {
+        if (cmd.hasOption('w') && conf.iniDoc.containsSection("includeDirs"))
+        {
+            for (IniProperty<String> prop : conf.iniDoc.getSection("includeDirs"))
+            {
+                String value = prop.value();
+
+                if (value != null)
+                {
+                    value = processSubstitutions(value, null, Ref.val());
+
+                    if (!value.isEmpty())
+                    {
+                        jar.addTree(cmd.source(), value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The name of the page's entry in the jar file.
+     */
+    private static String entryName(final Path destDirPath, final FileData fileData)
     {
-        DISPLAY.level(2);
+        return destDirPath.relativize(fileData.destinationPath).toString().replace('\\', '/');
+    }
 
+    private static void processDirectories(Set<Path> outputDirs) throws IOException
+    {
         for (Path dir : outputDirs)
         {
-            DISPLAY.println("    " + dir);
+            Log.println(2, () -> "    " + dir);
             Files.createDirectories(dir);
         }
     }
 
-    private static void processFile(final FileData fileData,
-            final Path destDirPath, final boolean wrapper) throws IOException
+    /**
+     * Process the file, writing the page with the {@code writer}, if any.
+     *
+     * @return the page, in UTF-8.
+     */
+    private static byte[] processFile(final FileData fileData,
+            final Path destDirPath, final boolean wrapper,
+            final ConfSnapshot snapshot, final BuildManifest manifest,
+            final OutputWriter writer, final BuildStats stats) throws IOException
     {
+        PageTimer timer = stats.startPage(fileData.sourcePath);
+        long t = System.nanoTime();
         StringBuilder sb = new StringBuilder();
-        IniDocument iniDoc = conf.iniDoc;
+        OverlayPageContext context = new OverlayPageContext(snapshot, manifest != null);
         String template;
         String use = "";
 
@@ -117,145 +228,356 @@ public class MainProcessor implements Option
             }
         }
 
-        iniDoc.setString("page", "text", sb.toString());
-
-        if (wrapper)
-        {
-            DISPLAY.level(3)
-                    .appendln("\n--------------------------------------------")
-                    .println("process wrapper...");
-
-            PluginInterlink.processMetaBlock();
-            PluginInterlink.processStylesheets();
-            PluginInterlink.processNamedMetaBlocks();
-            String preprocessed = processSubstitutions(
-                    iniDoc.getString(
-                            "page",
-                            "text",
-                            ""
-                    ),
-                    use,
-                    Ref.val()
-            );
+        context.setString("page", "text", sb.toString());
+        t = timer.lap(Stage.READ, t);
 
-            use = iniDoc.getString("page", "use", null);
-            template = getString("page", "template", use);
-            iniDoc.setString(
-                    "page",
-                    "content",
-                    MarkdownProcessor.convert(
-                            processSubstitutions(
-                                    preprocessed,
-                                    use,
-                                    Ref.val()
-                            )
-                    )
-            );
+        try
+        {
+            if (wrapper)
+            {
+                Log.print(3, display -> display
+                        .appendln("\n--------------------------------------------")
+                        .appendln("process wrapper..."));
+
+                for (Plugin plugin : PluginInterlink.getPlugins())
+                {
+                    PluginInterlink.runPlugin(plugin, context);
+                    t = timer.lap(stageOf(plugin), t);
+                }
+
+                String preprocessed = processSubstitutions(
+                        context,
+                        context.getString(
+                                "page",
+                                "text",
+                                ""
+                        ),
+                        use,
+                        Ref.val()
+                );
 
-            if (!template.isBlank())
+                use = context.getString("page", "use", null);
+                template = getString(context, "page", "template", use);
+                String substituted = processSubstitutions(
+                        context,
+                        preprocessed,
+                        use,
+                        Ref.val()
+                );
+
+                t = timer.lap(Stage.SUBSTITUTIONS, t);
+                context.setString("page", "content", ConvertCache.convert(substituted));
+                t = timer.lap(Stage.CONVERT, t);
+
+                if (!template.isBlank())
+                {
+                    context.setString("page", "srcFile", fileData.sourcePath.toString());
+                    context.setString("page", "destFile", fileData.destinationPath.toString());
+                    context.setString("page", "destDir", destDirPath.toString());
+                    processTemplate(context, use, template, timer);
+                    t = System.nanoTime();
+                }
+            } else
             {
-                iniDoc.setString("page", "srcFile", fileData.sourcePath.toString());
-                iniDoc.setString("page", "destFile", fileData.destinationPath.toString());
-                iniDoc.setString("page", "destDir", destDirPath.toString());
-                processTemplate(use, template);
+                context.setString("page", "content",
+                        ConvertCache.convert(
+                                context.getString(
+                                        "page",
+                                        "text",
+                                        ""
+                                )
+                        ));
+
+                t = timer.lap(Stage.CONVERT, t);
             }
-        } else
+        } catch (SubstitutionCycleException ex)
         {
-            iniDoc.setString("page", "content",
-                    MarkdownProcessor.convert(
-                            iniDoc.getString(
-                                    "page",
-                                    "text",
-                                    ""
-                            )
-                    ));
+            throw new IOException(fileData.sourcePath + ": " + ex.getMessage(), ex);
         }
 
-        try ( BufferedWriter outWriter
-                = Files.newBufferedWriter(
-                        fileData.destinationPath, CREATE, TRUNCATE_EXISTING,
-                        WRITE))
-        {
-            DISPLAY.level(3)
-                    .appendln("\n--------------------------------------------")
-                    .appendln("Write file:")
-                    .appendln(fileData.destinationPath)
-                    .appendln("page.html:")
-                    .appendln(iniDoc.getString("page", "html",
-                            "No HTML content."))
-                    .println("--------------------------------------------\n");
-
-            outWriter.write(
-                    iniDoc.getString(
-                            "page",
-                            "html",
-                            iniDoc.getString(
-                                    "page",
-                                    "content",
-                                    "Error during processing."
-                            )
-                    )
+        String html = context.getString(
+                "page",
+                "html",
+                context.getString(
+                        "page",
+                        "content",
+                        "Error during processing."
+                )
+        );
+
+        Log.print(3, display -> display
+                .appendln("\n--------------------------------------------")
+                .appendln("Write file:")
+                .appendln(fileData.destinationPath)
+                .appendln("page.html:")
+                .appendln(context.getString("page", "html",
+                        "No HTML content."))
+                .appendln("--------------------------------------------\n"));
+
+        byte[] bytes = html.getBytes(UTF_8);
+
+        if (writer != null)
+        {
+            writer.write(
+                    fileData.destinationPath,
+                    bytes,
+                    manifest != null ? manifest.getOutputHash(fileData) : null
             );
+
+            if (manifest != null)
+            {
+                recordPage(fileData, context, writer.hashOf(bytes), manifest);
+            }
         }
+
+        timer.lap(Stage.WRITE, t);
+        return bytes;
     }
 
     private static void processFiles(CmdLine cmd) throws IOException
     {
+        // A new jar file needs every page.
+        boolean toJar = cmd.jarOutput() != null;
+        boolean incremental = !toJar && (cmd.hasOption("incremental") || cmd.hasOption("watch"));
+        BuildStats stats = new BuildStats();
+        long t = System.nanoTime();
+
         //
         // Get files to process
         //
-        List<FileData> fileList = getUpdateList(
-                cmd.source(),
-                cmd.destination(),
-                cmd.inputFile(),
-                null,
-                cmd.hasOption('r'));
+        List<String> patterns = cmd.inputFile() != null
+                ? List.of(cmd.inputFile().toString())
+                : cmd.inputGlobs();
+
+        Path destDirPath = cmd.destination() != null ? cmd.destination() : cmd.source();
+        SourceIndex index = cmd.hasOption("index") && !toJar
+                ? SourceIndex.load(destDirPath, cmd.source())
+                : null;
+
+        List<FileData> fileList = incremental || toJar
+                ? getSourceListMatching(
+                        cmd.source(),
+                        cmd.destination(),
+                        patterns,
+                        null,
+                        cmd.hasOption('r'),
+                        index)
+                : getUpdateListMatching(
+                        cmd.source(),
+                        cmd.destination(),
+                        patterns,
+                        null,
+                        cmd.hasOption('r'),
+                        index);
 
-        // Process files
-        if (!fileList.isEmpty())
+        stats.lap(Stage.FIND, t);
+
+        if (!fileList.isEmpty() && singleFileWithOutputFile(cmd, fileList))
         {
-            if (singleFileWithOutputFile(cmd, fileList))
+            updateFileList(cmd, fileList);
+        }
+
+        ConvertCache.setDirectory(cmd.hasOption("cache")
+                ? cmd.cacheDir() != null ? cmd.cacheDir() : destDirPath.resolve(ConvertCache.DIRNAME)
+                : null);
+
+        ConfSnapshot snapshot = ConfSnapshot.of(conf.iniDoc);
+        OutputWriter writer = new OutputWriter(SYSTEM_DATE_MARKER);
+        BuildManifest manifest = null;
+
+        if (incremental)
+        {
+            manifest = loadManifest(cmd);
+            manifest.retainAll(fileList);
+
+            int total = fileList.size();
+            fileList = removeUpToDate(fileList, snapshot, manifest);
+            writer.addSkipped(total - fileList.size());
+        } else if (!toJar)
+        {
+            // An unchanged page is not written, so it stays older than its
+            // source.  The manifest shows that it was built from it.
+            manifest = loadManifest(cmd);
+
+            int total = fileList.size();
+            fileList = removeBuilt(fileList, manifest);
+            writer.addSkipped(total - fileList.size());
+        }
+
+        if (toJar)
+        {
+            try ( JarWriter jar = new JarWriter(
+                    cmd.jarOutput(),
+                    Jar.getManifest(POM, conf),
+                    new CompressionPolicy(cmd.jarLevel(), cmd.jarCompression()),
+                    cmd.threads()))
+            {
+                processFiles(fileList, cmd, destDirPath, snapshot, null, null, jar, stats);
+                addIncludeDirs(cmd, jar);
+                jar.finish();
+            }
+        } else
+        {
+            // Process files
+            if (!fileList.isEmpty())
             {
-                updateFileList(cmd, fileList);
+                Set<Path> outputDirs = new TreeSet<>();
+                loadOutputDirs(fileList, outputDirs);
+                processDirectories(outputDirs);
+                processFiles(fileList, cmd, destDirPath, snapshot, manifest, writer, null, stats);
             }
 
-            Set<Path> outputDirs = new TreeSet<>();
-            loadOutputDirs(fileList, outputDirs);
-            processDirectories(outputDirs);
+            if (manifest != null)
+            {
+                manifest.save();
+            }
+
+            if (index != null)
+            {
+                index.save();
+            }
+        }
+
+        stats.stop();
+
+        if (!toJar)
+        {
+            writer.printSummary();
+        }
 
+        if (cmd.hasOption("stats"))
+        {
+            stats.printReport();
+
+            if (cmd.statsFile() != null)
+            {
+                stats.writeJson(cmd.statsFile());
+            }
+        }
+    }
+
+    /**
+     * Process the files, on several threads if set, writing the pages with
+     * the {@code writer}, or adding them to the {@code jar}, in order.
+     */
+    private static void processFiles(
+            final List<FileData> fileList,
+            final CmdLine cmd,
+            final Path destDirPath,
+            final ConfSnapshot snapshot,
+            final BuildManifest manifest,
+            final OutputWriter writer,
+            final JarWriter jar,
+            final BuildStats stats
+    ) throws IOException
+    {
+        int threads = Math.min(cmd.threads(), fileList.size());
+
+        if (threads > 1)
+        {
+            processFilesConcurrently(fileList, cmd, destDirPath, snapshot, manifest, writer, jar, stats, threads);
+        } else
+        {
             for (FileData fileData : fileList)
             {
-                processFile(
+                byte[] bytes = processFile(
                         fileData,
                         cmd.destination(),
-                        cmd.hasOption('w')
+                        cmd.hasOption('w'),
+                        snapshot,
+                        manifest,
+                        writer,
+                        stats
                 );
+
+                if (jar != null)
+                {
+                    jar.add(entryName(destDirPath, fileData), bytes);
+                }
             }
         }
     }
 
-    private static void processTemplate(final String use, final String template) throws IOException
+    /**
+     * The pages are added to the {@code jar}, if any, in order, as each is
+     * finished, while the next ones are still being processed.
+     */
+    private static void processFilesConcurrently(
+            final List<FileData> fileList,
+            final CmdLine cmd,
+            final Path destDirPath,
+            final ConfSnapshot snapshot,
+            final BuildManifest manifest,
+            final OutputWriter writer,
+            final JarWriter jar,
+            final BuildStats stats,
+            final int threads
+    ) throws IOException
     {
-        StringBuilder sbin = new StringBuilder(
-                "<!DOCTYPE html>\n"
-                + "<!--\n"
-                + "Generated by ${program.title}\n"
-                + "version: ${program.version}\n"
-                + "on ${system.date}\n"
-                + "-->\n"
-        );
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try
+        {
+            List<Future<byte[]>> futures = new ArrayList<>(fileList.size());
 
-        IniDocument iniDoc = conf.iniDoc;
+            for (FileData fileData : fileList)
+            {
+                futures.add(executor.submit(() -> processFile(
+                        fileData,
+                        cmd.destination(),
+                        cmd.hasOption('w'),
+                        snapshot,
+                        manifest,
+                        writer,
+                        stats
+                )));
+            }
+
+            for (int i = 0; i < futures.size(); i++)
+            {
+                byte[] bytes = futures.get(i).get();
+
+                if (jar != null)
+                {
+                    jar.add(entryName(destDirPath, fileList.get(i)), bytes);
+                }
+            }
+        } catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Processing of the markdown files was interrupted.", ex);
+        } catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof IOException ioex)
+            {
+                throw ioex;
+            }
+
+            throw new IOException(ex.getCause());
+        } finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void processTemplate(
+            final PageContext context,
+            final String use,
+            final String template,
+            final PageTimer timer
+    ) throws IOException
+    {
+        long t = System.nanoTime();
 
         Path docRootPath = Path.of(
-                iniDoc.getString(
+                context.getString(
                         "project",
                         "root",
                         ""
                 )
         )
                 .resolve(
-                        iniDoc.getString(
+                        context.getString(
                                 "document",
                                 "docRootDir",
                                 ""
@@ -264,7 +586,7 @@ public class MainProcessor implements Option
                 .toAbsolutePath();
 
         Path templatesPath = docRootPath.resolve(
-                iniDoc.getString(
+                context.getString(
                         "document",
                         "templatesDir",
                         ""
@@ -275,37 +597,24 @@ public class MainProcessor implements Option
         //
         // Set the 'base' path.  <base href="<base>">
         //
-        Path srcPath = Path.of(iniDoc.getString("page", "srcFile", ""));
+        Path srcPath = Path.of(context.getString("page", "srcFile", ""));
         Path basePath = srcPath.getParent().relativize(docRootPath);
-        iniDoc.setString("page", "base", basePath.toString());
+        context.setString("page", "base", basePath.toString());
 
-        DISPLAY.level(2)
+        Log.print(2, display -> display
                 .appendln("base:")
                 .appendln(basePath)
                 .appendln("srcFile:")
                 .appendln(srcPath)
                 .appendln("template:")
-                .println(templatesPath);
+                .appendln(templatesPath));
 
-        try ( BufferedReader inReader = Files.newBufferedReader(templatesPath))
-        {
-            String line;
+        context.setString("page", "templateFile", templatesPath.toString());
 
-            while ((line = inReader.readLine()) != null)
-            {
-                sbin.append(line).append("\n");
-            }
-        }
+        String html = TemplateCache.get(templatesPath, TEMPLATE_HEADER)
+                .render(new SubstitutionResolver(context, use)::valueOf);
 
-        TextEditor textEd = new TextEditor(
-                processSubstitutions(
-                        sbin.toString(),
-                        use,
-                        Ref.val()
-                )
-        );
-        textEd.replaceAllLiteral("\\\\\\$", "$");
-        textEd.replaceAllLiteral("\\\\\\[", "[");
+        t = timer.lap(Stage.TEMPLATE, t);
 
         if (!basePath.toString().isBlank())
         {
@@ -313,38 +622,134 @@ public class MainProcessor implements Option
             // Set the detination file path.
             //
             Path destPath = Path.of(
-                    iniDoc.getString("page", "destFile", null)
+                    context.getString("page", "destFile", null)
             );
             Path destDirPath = Path.of(
-                    iniDoc.getString("page", "destDir", null)
+                    context.getString("page", "destDir", null)
             );
             String destHTML = destDirPath.relativize(destPath).toString();
 
-            DISPLAY.level(3)
+            Log.print(3, display -> display
                     .appendln("destPath:")
                     .appendln(destPath)
                     .appendln("destDirPath:")
                     .appendln(destDirPath)
                     .appendln("destHTML:")
-                    .println(destHTML);
+                    .appendln(destHTML));
+
+            html = rewriteLocalLinks(html, destHTML);
+            timer.lap(Stage.LINKS, t);
+        }
+
+        context.setString("page", "html", html);
+    }
+
+    /**
+     * Record what went into the page, now that it has been written.
+     */
+    private static void recordPage(
+            final FileData fileData,
+            final OverlayPageContext context,
+            final String outputHash,
+            final BuildManifest manifest
+    ) throws IOException
+    {
+        PageRecord page = new PageRecord(
+                fileData.sourcePath.toString(),
+                fileData.destinationPath.toString()
+        );
+
+        page.source = FileStamp.of(fileData.sourcePath);
+        page.output = FileStamp.of(fileData.destinationPath, outputHash);
+        page.templateFile = context.getString("page", "templateFile", null);
 
-            Pattern p = compile("href\\=\"(?<ref>#[^\"]*)?\"");
+        if (page.templateFile != null)
+        {
+            page.template = FileStamp.of(Path.of(page.templateFile));
+        }
+
+        page.addDependencies(context.getResolved());
+        manifest.put(page);
+    }
+
+    /**
+     * Remove the files whose pages were last built from the source files as
+     * they are now.
+     */
+    private static List<FileData> removeBuilt(
+            final List<FileData> fileList,
+            final BuildManifest manifest
+    ) throws IOException
+    {
+        List<FileData> outList = new ArrayList<>(fileList.size());
 
-            textEd.replaceAll(p, (Matcher m) ->
+        for (FileData fileData : fileList)
+        {
+            if (!manifest.isBuilt(fileData))
             {
-                String text = m.group();
-                String ref = m.group("ref");
+                outList.add(fileData);
+            }
+        }
 
-                DISPLAY.level(3)
-                        .append("text: ").appendln(text)
-                        .append("ref: ").println(ref);
+        return outList;
+    }
 
-                return text.replace(ref, destHTML + ref);
-            });
+    /**
+     * Remove the files whose inputs have not changed since the last build.
+     */
+    private static List<FileData> removeUpToDate(
+            final List<FileData> fileList,
+            final ConfSnapshot snapshot,
+            final BuildManifest manifest
+    ) throws IOException
+    {
+        List<FileData> outList = new ArrayList<>(fileList.size());
 
+        for (FileData fileData : fileList)
+        {
+            if (!manifest.isUpToDate(fileData, snapshot))
+            {
+                outList.add(fileData);
+            }
         }
 
-        iniDoc.setString("page", "html", textEd.toString());
+        Log.print(1, display -> display
+                .append("incremental: ").append(outList.size())
+                .append(" of ").append(fileList.size()).appendln(" files changed"));
+
+        return outList;
+    }
+
+    /**
+     * Prefix the local links: {@code href="#ref"}, with the page's file path.
+     */
+    private static String rewriteLocalLinks(final String html, final String destHTML)
+    {
+        Matcher m = LOCAL_LINK_PATTERN.matcher(html);
+
+        if (!m.find())
+        {
+            return html;
+        }
+
+        StringBuilder sb = new StringBuilder(html.length() + 64);
+
+        do
+        {
+            String text = m.group();
+            String ref = m.group("ref");
+
+            Log.print(3, display -> display
+                    .append("text: ").appendln(text)
+                    .append("ref: ").appendln(ref));
+
+            m.appendReplacement(sb, Matcher.quoteReplacement(
+                    ref != null ? text.replace(ref, destHTML + ref) : text
+            ));
+        } while (m.find());
+
+        m.appendTail(sb);
+        return sb.toString();
     }
 
     private static boolean singleFileWithOutputFile(CmdLine cmd, List<FileData> fileList)
@@ -352,6 +757,24 @@ public class MainProcessor implements Option
         return cmd.outputFile() != null && fileList.size() == 1;
     }
 
+    /**
+     * The stage under which a plugin's time is reported.
+     */
+    private static Stage stageOf(final Plugin plugin)
+    {
+        return switch (plugin.name())
+        {
+            case "MetaBlock" ->
+                Stage.METABLOCK;
+            case "Stylesheets" ->
+                Stage.STYLESHEETS;
+            case "NamedMetaBlocks" ->
+                Stage.NAMED_METABLOCKS;
+            default ->
+                Stage.PLUGINS;
+        };
+    }
+
     private static void updateFileList(CmdLine cmd, List<FileData> fileList)
     {
         Path outPath = cmd.outputFile().toPath();
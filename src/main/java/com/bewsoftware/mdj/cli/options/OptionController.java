@@ -36,7 +36,7 @@ import java.util.logging.Logger;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.9
+ * @version 2.1.4
  */
 public class OptionController
 {
@@ -55,6 +55,7 @@ public class OptionController
         "CmdPomAndProps",
         "CmdUseWrapper",
         "MainProcessor",
+        "CmdWatch",
         "CmdAddHttpServer"
     };
 
@@ -29,7 +29,7 @@ import java.util.Optional;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class OptionInterlink
 {
@@ -99,6 +99,11 @@ public class OptionInterlink
         return OPTION_CONTROLLER.runOption("CmdVerbosity", cmd);
     }
 
+    public static Optional<Integer> processCmdWatch(CmdLine cmd)
+    {
+        return OPTION_CONTROLLER.runOption("CmdWatch", cmd);
+    }
+
     public static Optional<Integer> processCmdWrapper(CmdLine cmd)
     {
         return OPTION_CONTROLLER.runOption("CmdWrapper", cmd);
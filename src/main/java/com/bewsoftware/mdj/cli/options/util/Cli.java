@@ -19,13 +19,16 @@
  */
 package com.bewsoftware.mdj.cli.options.util;
 
-import com.bewsoftware.common.InvalidParameterValueException;
 import com.bewsoftware.fileio.ini.IniDocument;
 import com.bewsoftware.fileio.ini.IniFile;
 import com.bewsoftware.fileio.ini.IniFileFormatException;
 import com.bewsoftware.mdj.cli.util.Constants;
-import com.bewsoftware.mdj.core.TextEditor;
-import com.bewsoftware.property.IniProperty;
+import com.bewsoftware.mdj.cli.util.IniPageContext;
+import com.bewsoftware.mdj.cli.util.Log;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import com.bewsoftware.mdj.cli.util.SubstitutionCycleException;
+import com.bewsoftware.mdj.cli.util.SubstitutionGraph;
+import com.bewsoftware.mdj.cli.util.SubstitutionResolver;
 import com.bewsoftware.utils.struct.Ref;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -34,7 +37,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Properties;
-import java.util.regex.Pattern;
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
 import org.dom4j.Element;
@@ -51,13 +53,10 @@ import static java.nio.file.Path.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 0.1
- * @version 2.1.0
+ * @version 2.1.4
  */
 public class Cli
 {
-    private static final Pattern SUBSTITUTION_PATTERN
-            = Pattern.compile("(?<!\\\\)(?:\\$\\{(?<group>\\w+)[.](?<key>\\w+)\\})");
-
     /**
      * Not meant to be instantiated.
      */
@@ -86,27 +85,74 @@ public class Cli
     }
 
     /**
-     * Load the configuration file:
+     * Get the value of a key from the page's context, falling back to the
+     * {@code use} section if it is not found.
+     *
+     * @param context The page's context.
+     * @param section label.
+     * @param key     name.
+     * @param use     Alternate section label.
+     *
+     * @return result.
+     *
+     * @since 2.1.4
+     */
+    public static String getString(
+            final PageContext context,
+            final String section,
+            final String key,
+            final String use
+    )
+    {
+        String rtn = context.getString(section, key, null);
+        return rtn != null ? rtn : context.getString(use, key, "");
+    }
+
+    /**
+     * Get the path to the configuration file:
      * {@link Constants#CONF_FILENAME CONF_FILENAME}
+     * <p>
+     * The current directory is checked first, then {@code srcDirPath} and
+     * each of its parents.
      *
      * @param srcDirPath Initial directory to look for the file.
      *
-     * @throws IOException            If any.
-     * @throws IniFileFormatException If any.
+     * @return the path to the file.
+     *
+     * @throws FileNotFoundException If the file was not found.
+     *
+     * @since 2.1.4
      */
-    public static void loadConf(final Path srcDirPath)
-            throws IOException, IniFileFormatException
+    public static Path getConfPath(final Path srcDirPath) throws FileNotFoundException
     {
         Path iniPath = of(CONF_FILENAME).toAbsolutePath();
 
-        DISPLAY.level(3).println("loadConf()");
-        DISPLAY.level(2).println("iniPath: " + iniPath.toString());
+        Log.println(2, () -> "iniPath: " + iniPath);
 
         if (Files.notExists(iniPath, NOFOLLOW_LINKS) && srcDirPath != null)
         {
-            iniPath = findConfFile(srcDirPath);
+            return findConfFile(srcDirPath);
         }
 
+        return iniPath;
+    }
+
+    /**
+     * Load the configuration file:
+     * {@link Constants#CONF_FILENAME CONF_FILENAME}
+     *
+     * @param srcDirPath Initial directory to look for the file.
+     *
+     * @throws IOException            If any, including a substitution that
+     *                                refers back to itself.
+     * @throws IniFileFormatException If any.
+     */
+    public static void loadConf(final Path srcDirPath)
+            throws IOException, IniFileFormatException
+    {
+        Log.println(3, "loadConf()");
+        Path iniPath = getConfPath(srcDirPath);
+
         if (conf == null)
         {
             conf = new IniFile(iniPath).loadFile();
@@ -116,9 +162,16 @@ public class Cli
         }
 
         addProgramSettings();
-        processAllSubstitutions();
 
-        DISPLAY.level(2).println(POM);
+        try
+        {
+            SubstitutionGraph.resolveAll(conf.iniDoc);
+        } catch (SubstitutionCycleException ex)
+        {
+            throw new IOException(iniPath + ": " + ex.getMessage(), ex);
+        }
+
+        Log.println(2, () -> POM);
     }
 
     /**
@@ -152,6 +205,9 @@ public class Cli
      * @param found {@code true} if found.
      *
      * @return result.
+     *
+     * @throws SubstitutionCycleException if a variable refers back to
+     *                                    itself.
      */
     public static String processSubstitutions(
             final String text,
@@ -159,35 +215,34 @@ public class Cli
             final Ref<Boolean> found
     )
     {
-        TextEditor textEd = new TextEditor(text);
-        found.val = false;
-
-        do
-        {
-            textEd.replaceAll(SUBSTITUTION_PATTERN, m ->
-            {
-                DISPLAY.level(3).append("m.group: ").println(m.group());
-
-                String group = m.group("group");
-                String key = m.group("key");
-                String rtn = "ERROR: Substitution!";
-
-                if (group != null)
-                {
-                    rtn = getString(group, key, use);
-                }
-
-                DISPLAY.level(3).append("rtn: ").println(rtn);
-                return rtn;
-            });
-
-            if (textEd.wasFound())
-            {
-                found.val = true;
-            }
-        } while (textEd.wasFound());
+        return processSubstitutions(new IniPageContext(conf.iniDoc), text, use, found);
+    }
 
-        return textEd.toString();
+    /**
+     * Process substitutions, using the page's context.
+     * <p>
+     * The text is scanned once, and each variable is resolved recursively.
+     *
+     * @param context The page's context.
+     * @param text    Text to be processed.
+     * @param use     Alternate section to use.
+     * @param found   {@code true} if found.
+     *
+     * @return result.
+     *
+     * @throws SubstitutionCycleException if a variable refers back to
+     *                                    itself.
+     *
+     * @since 2.1.4
+     */
+    public static String processSubstitutions(
+            final PageContext context,
+            final String text,
+            final String use,
+            final Ref<Boolean> found
+    )
+    {
+        return new SubstitutionResolver(context, use).resolve(text, found);
     }
 
     private static void addProgramSettings()
@@ -314,16 +369,13 @@ public class Cli
 
     private static void displayProjectProperties()
     {
-        DISPLAY.level(0);
-
-        conf.iniDoc.getSection(PROJECT).forEach(prop
-                -> DISPLAY.append("project.")
+        Log.print(0, display
+                -> conf.iniDoc.getSection(PROJECT).forEach(prop
+                        -> display.append("project.")
                         .append(prop.key())
                         .append(": ")
                         .appendln(prop.value())
-        );
-
-        DISPLAY.flush();
+                ));
     }
 
     private static Path findConfFile(final Path srcDirPath)
@@ -340,8 +392,9 @@ public class Cli
                     throw new FileNotFoundException(CONF_FILENAME);
                 }
 
-                srcPath = srcPath.getParent();
-                DISPLAY.level(2).println("srcPath: " + srcPath.toString());
+                Path parent = srcPath.getParent();
+                Log.println(2, () -> "srcPath: " + parent);
+                srcPath = parent;
             }
         } catch (NullPointerException ex)
         {
@@ -349,27 +402,11 @@ public class Cli
         }
 
         Path iniPath = srcPath.resolve(CONF_FILENAME);
-        DISPLAY.level(2).println("iniPath: " + iniPath.toString());
+        Log.println(2, () -> "iniPath: " + iniPath);
 
         return iniPath;
     }
 
-    private static void processAllSubstitutions()
-    {
-        Ref<Boolean> brtn = Ref.val();
-
-        do
-        {
-            brtn.val = false;
-
-            conf.iniDoc.getSections()
-                    .forEach((String section) -> conf.iniDoc.getSection(section)
-                    .forEach((IniProperty<String> prop)
-                            -> processSubstitutionsForAProperty(prop, section, brtn)
-                    ));
-        } while (brtn.val);
-    }
-
     private static void processCommandlineProperties(final Properties props)
     {
         // Process -Dkey=value properties from commandline.
@@ -384,27 +421,6 @@ public class Cli
 
     }
 
-    private static void processSubstitutionsForAProperty(
-            IniProperty<String> prop,
-            String section,
-            Ref<Boolean> brtn
-    ) throws InvalidParameterValueException
-    {
-        Ref<Boolean> rtn = Ref.val();
-
-        if (prop.value() != null)
-        {
-            DISPLAY.level(3).println(prop);
-            String value = processSubstitutions(prop.value(), null, rtn);
-
-            if (rtn.val)
-            {
-                conf.iniDoc.setString(section, prop.key(), value, prop.comment());
-                brtn.val = true;
-            }
-        }
-    }
-
     private static Document readInPomFile(final File pomFile) throws IOException
     {
         try
@@ -0,0 +1,278 @@
+/*
+ *  File Name:    BlockLexer.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.plugins;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the meta blocks in a page's text, in a single forward scan.
+ * <p>
+ * The blocks are:
+ * <ul>
+ * <li>the file's meta block, which must start the text:
+ * <pre><code>
+ * &#64;&#64;&#64;
+ * key: value
+ * &#64;&#64;&#64;
+ * </code></pre></li>
+ * <li>the named meta blocks: <code>&#64;&#64;&#64;[#name]</code> or
+ * <code>&#64;&#64;&#64;[&#64;name]</code>, each at the start of a line,
+ * other than the first, and ending at the next line of just
+ * <code>&#64;&#64;&#64;</code> (see {@link NamedMetaBlocks}),</li>
+ * <li>and the escapes: <code>\&#64;&#64;&#64;</code>, outside of the named
+ * meta blocks.</li>
+ * </ul>
+ * <p>
+ * Nothing is copied.  Each block is returned as a {@link Token}, holding its
+ * offsets in the text.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public final class BlockLexer
+{
+    private static final String CLOSE = "\n@@@\n";
+
+    /**
+     * There are no more closes.
+     */
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private static final String OPEN = "@@@\n";
+
+    private static final String OPEN_NAMED = "@@@[";
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private BlockLexer()
+    {
+    }
+
+    /**
+     * Find the named meta blocks and escapes in the text.
+     *
+     * @param text to scan.
+     *
+     * @return the tokens, in the order found.
+     */
+    public static List<Token> lex(final String text)
+    {
+        List<Token> tokens = new ArrayList<>();
+        int length = text.length();
+
+        // The next close at, or after, the last place looked.  Each search
+        // starts after the last one found, so the text is searched once.
+        int close = -1;
+        int i = 0;
+
+        while (i < length)
+        {
+            char c = text.charAt(i);
+
+            if (c == '\\' && text.startsWith("@@@", i + 1))
+            {
+                tokens.add(new Token(Kind.ESCAPE, i, i + 4, i, i, i + 1, i + 4));
+                i += 4;
+                continue;
+            }
+
+            if (c == '@' && i > 0 && text.charAt(i - 1) == '\n' && close != NONE)
+            {
+                Token token = namedBlockHeader(text, i);
+
+                if (token != null)
+                {
+                    if (close < token.contentStart)
+                    {
+                        close = text.indexOf(CLOSE, token.contentStart);
+
+                        if (close < 0)
+                        {
+                            // No block after this one can be closed either.
+                            close = NONE;
+                            i++;
+                            continue;
+                        }
+                    }
+
+                    tokens.add(new Token(token.kind, i, close + CLOSE.length(),
+                            token.nameStart, token.nameEnd, token.contentStart, close));
+
+                    i = close + CLOSE.length();
+                    continue;
+                }
+            }
+
+            i++;
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Find the file's meta block, at the start of the text.
+     *
+     * @param text to scan.
+     *
+     * @return the token, or {@code null} if there is none.
+     */
+    public static Token metaBlock(final String text)
+    {
+        if (!text.startsWith(OPEN))
+        {
+            return null;
+        }
+
+        int close = text.indexOf(CLOSE, OPEN.length());
+
+        return close >= 0
+                ? new Token(Kind.META, 0, close + CLOSE.length(), 0, 0, OPEN.length(), close)
+                : null;
+    }
+
+    private static boolean isWordChar(final char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Match: <code>&#64;&#64;&#64;[#name]\n</code>, starting at
+     * {@code start}.
+     *
+     * @return the token, without its end or content end, or {@code null}.
+     */
+    private static Token namedBlockHeader(final String text, final int start)
+    {
+        if (!text.startsWith(OPEN_NAMED, start))
+        {
+            return null;
+        }
+
+        int length = text.length();
+        int i = start + OPEN_NAMED.length();
+
+        if (i >= length)
+        {
+            return null;
+        }
+
+        Kind kind = switch (text.charAt(i))
+        {
+            case '#' ->
+                Kind.ID;
+            case '@' ->
+                Kind.CLASS;
+            default ->
+                null;
+        };
+
+        if (kind == null)
+        {
+            return null;
+        }
+
+        int nameStart = ++i;
+
+        while (i < length && isWordChar(text.charAt(i)))
+        {
+            i++;
+        }
+
+        return i > nameStart && text.startsWith("]\n", i)
+                ? new Token(kind, start, -1, nameStart, i, i + 2, -1)
+                : null;
+    }
+
+    /**
+     * The kinds of token.
+     */
+    public enum Kind
+    {
+        /**
+         * The file's meta block.
+         */
+        META,
+        /**
+         * A named meta block: <code>&#64;&#64;&#64;[#name]</code>.
+         */
+        ID,
+        /**
+         * A named meta block: <code>&#64;&#64;&#64;[&#64;name]</code>.
+         */
+        CLASS,
+        /**
+         * An escaped delimiter: <code>\&#64;&#64;&#64;</code>.  Its content
+         * is the delimiter, without the backslash.
+         */
+        ESCAPE
+    }
+
+    /**
+     * A block found in the text.
+     *
+     * @param kind         of block.
+     * @param start        offset of its first character.
+     * @param end          offset after its last character.
+     * @param nameStart    offset of its name.
+     * @param nameEnd      offset after its name.
+     * @param contentStart offset of its content.
+     * @param contentEnd   offset after its content.
+     */
+    public record Token(
+            Kind kind,
+            int start,
+            int end,
+            int nameStart,
+            int nameEnd,
+            int contentStart,
+            int contentEnd
+            )
+    {
+        /**
+         * Get the content of the block.
+         *
+         * @param text that was scanned.
+         *
+         * @return the content.
+         */
+        public String content(final String text)
+        {
+            return text.substring(contentStart, contentEnd);
+        }
+
+        /**
+         * Get the name of the block.
+         *
+         * @param text that was scanned.
+         *
+         * @return the name, or "" if it has none.
+         */
+        public String name(final String text)
+        {
+            return text.substring(nameStart, nameEnd);
+        }
+    }
+}
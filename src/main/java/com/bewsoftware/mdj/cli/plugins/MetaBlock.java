@@ -20,13 +20,14 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
+import com.bewsoftware.mdj.cli.util.Log;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import com.bewsoftware.mdj.cli.plugins.BlockLexer.Token;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
 import static com.bewsoftware.mdj.cli.util.Constants.TEXT;
-import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
-import static java.util.regex.Pattern.DOTALL;
 import static java.util.regex.Pattern.MULTILINE;
 import static java.util.regex.Pattern.compile;
 
@@ -36,54 +37,64 @@ import static java.util.regex.Pattern.compile;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class MetaBlock implements Plugin
 {
+    private static final Pattern KEY_VALUE_PATTERN
+            = compile("^\\s*(?<key>\\w+)\\s*:\\s*(?<value>.*?)?\\s*?$", MULTILINE);
+
     public MetaBlock()
     {
         // NoOp
     }
 
     @Override
-    public void execute()
+    public void execute(final PageContext context)
     {
-        String text = conf.iniDoc.getString(PAGE, TEXT, "");
-        Matcher m = compile("\\A(?:@@@\\n(?<metablock>.*?)\\n@@@\\n)(?<body>.*)\\z", DOTALL)
-                .matcher(text);
-        conf.iniDoc.removeSection(PAGE);
+        String text = context.getString(PAGE, TEXT, "");
+        Token block = BlockLexer.metaBlock(text);
+        context.removeSection(PAGE);
 
-        if (m.find())
+        if (block != null)
         {
-            String metaBlock = m.group("metablock");
-            text = m.group("body");
-
-            DISPLAY.level(3)
+            Log.print(3, display -> display
                     .appendln("\n============================================")
                     .appendln("file metablock:")
                     .appendln("--------------------------------------------")
-                    .appendln(metaBlock)
-                    .println("--------------------------------------------");
+                    .appendln(block.content(text))
+                    .appendln("--------------------------------------------"));
 
-            Matcher m2 = compile("^\\s*(?<key>\\w+)\\s*:\\s*(?<value>.*?)?\\s*?$", MULTILINE)
-                    .matcher(metaBlock);
+            Matcher m = KEY_VALUE_PATTERN.matcher(text)
+                    .region(block.contentStart(), block.contentEnd());
 
-            while (m2.find())
+            while (m.find())
             {
-                String key = m2.group("key");
-                String value = m2.group("value");
+                String key = m.group("key");
+                String value = m.group("value");
 
-                DISPLAY.level(3)
+                Log.print(3, display -> display
                         .append("key = ").appendln(key)
-                        .append("value = ").println(value);
+                        .append("value = ").appendln(value));
 
-                conf.iniDoc.setString(PAGE, key, value);
+                context.setString(PAGE, key, value);
             }
 
-            DISPLAY.level(3)
-                    .println("============================================\n");
+            Log.println(3, "============================================\n");
         }
 
-        conf.iniDoc.setString(PAGE, TEXT, text);
+        context.setString(PAGE, TEXT, block != null ? text.substring(block.end()) : text);
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public int order()
+    {
+        return 100;
     }
 }
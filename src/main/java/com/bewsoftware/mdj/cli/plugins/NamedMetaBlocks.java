@@ -20,16 +20,16 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
-import com.bewsoftware.mdj.core.MarkdownProcessor;
-import com.bewsoftware.mdj.core.TextEditor;
-import java.util.regex.Pattern;
+import com.bewsoftware.mdj.cli.util.ConvertCache;
+import com.bewsoftware.mdj.cli.util.Log;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import com.bewsoftware.mdj.cli.plugins.BlockLexer.Kind;
+import com.bewsoftware.mdj.cli.plugins.BlockLexer.Token;
+import java.util.List;
+import java.util.Set;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
 import static com.bewsoftware.mdj.cli.util.Constants.TEXT;
-import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
-import static java.util.regex.Pattern.DOTALL;
-import static java.util.regex.Pattern.compile;
 
 /**
  * Process Named Meta Blocks.
@@ -78,7 +78,7 @@ import static java.util.regex.Pattern.compile;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class NamedMetaBlocks implements Plugin
 {
@@ -88,46 +88,77 @@ public class NamedMetaBlocks implements Plugin
     }
 
     @Override
-    public void execute()
+    public void execute(final PageContext context)
     {
-        TextEditor text = new TextEditor(
-                conf.iniDoc.getString(PAGE, TEXT, "")
-        );
-        Pattern p = compile(
-                "(?<=\\n)(?:@@@\\[(?<type>[@#])(?<name>\\w+)\\]\\n(?<metablock>.*?)\\n@@@\\n)",
-                DOTALL
-        );
-
-        text.replaceAll(p, m ->
+        String text = context.getString(PAGE, TEXT, "");
+        List<Token> tokens = BlockLexer.lex(text);
+
+        if (tokens.isEmpty())
         {
-            String type = m.group("type");
-            String name = m.group("name");
-            String metaBlock = m.group("metablock");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int last = 0;
 
-            String html = "";
+        for (Token token : tokens)
+        {
+            sb.append(text, last, token.start());
+            last = token.end();
 
-            if ("#".equals(type))
+            if (token.kind() == Kind.ESCAPE)
             {
-                html = "\n<div id=\"" + name + "\">\n";
-            } else if ("@".equals(type))
+                sb.append(text, token.contentStart(), token.contentEnd());
+            } else
             {
-                html = "\n<div class=\"" + name + "\">\n";
+                processBlock(context, text, token);
             }
+        }
 
-            html += MarkdownProcessor.convert(metaBlock) + "\n</div>\n";
+        sb.append(text, last, text.length());
+        context.setString(PAGE, TEXT, sb.toString());
+    }
 
-            DISPLAY.level(3)
-                    .appendln("============================================")
-                    .append("name: ").appendln(name)
-                    .appendln("metablock:")
-                    .appendln(html)
-                    .println("============================================\n");
+    private static void processBlock(
+            final PageContext context,
+            final String text,
+            final Token token
+    )
+    {
+        String name = token.name(text);
+        String html = new StringBuilder()
+                .append(token.kind() == Kind.ID ? "\n<div id=\"" : "\n<div class=\"")
+                .append(name)
+                .append("\">\n")
+                .append(ConvertCache.convert(token.content(text)))
+                .append("\n</div>\n")
+                .toString();
 
-            conf.iniDoc.setString(PAGE, name, html);
-            return "";
-        });
+        Log.print(3, display -> display
+                .appendln("============================================")
+                .append("name: ").appendln(name)
+                .appendln("metablock:")
+                .appendln(html)
+                .appendln("============================================\n"));
 
-        text.replaceAll("\\\\@@@", "@@@");
-        conf.iniDoc.setString(PAGE, TEXT, text.toString());
+        context.setString(PAGE, name, html);
+    }
+
+    @Override
+    public Set<String> dependencies()
+    {
+        return Set.of("MetaBlock");
+    }
+
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public int order()
+    {
+        return 300;
     }
 }
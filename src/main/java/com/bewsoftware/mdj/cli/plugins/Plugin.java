@@ -20,18 +20,110 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
+import com.bewsoftware.mdj.cli.util.IniPageContext;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import java.util.Set;
+
+import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+
 /**
  * Plugin interface description.
+ * <p>
+ * Plugins are found by {@link java.util.ServiceLoader}.  To add one, put
+ * its class name in the file:
+ * "{@code META-INF/services/com.bewsoftware.mdj.cli.plugins.Plugin}", in
+ * its jar file, and put the jar file on the class path.  It must have a
+ * public no-args constructor.
+ * <p>
+ * Each page is passed through every plugin, in turn.  A plugin is run after
+ * all of its {@linkplain #dependencies() dependencies}, and otherwise in
+ * {@linkplain #order() order}.
  *
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public interface Plugin {
 
     /**
-     * Process the code for the Plugin.
+     * The order of a plugin that does not set its own.  After the built-in
+     * plugins.
+     *
+     * @since 2.1.4
+     */
+    public static final int DEFAULT_ORDER = 1000;
+
+    /**
+     * The names of the plugins that must be run before this one.
+     * <p>
+     * If any of them are not found, then this plugin is not run.
+     *
+     * @return the names.
+     *
+     * @since 2.1.4
+     */
+    public default Set<String> dependencies()
+    {
+        return Set.of();
+    }
+
+    /**
+     * Process the code for the Plugin, against the global
+     * {@link com.bewsoftware.mdj.cli.util.GlobalVariables#conf conf}.
+     */
+    public default void execute()
+    {
+        execute(new IniPageContext(conf.iniDoc));
+    }
+
+    /**
+     * Process the code for the Plugin, against the page's context.
+     * <p>
+     * All that the plugin needs to know about the page, and the
+     * configuration, is in the context.
+     *
+     * @param context The page being processed.
+     *
+     * @since 2.1.4
+     */
+    public void execute(PageContext context);
+
+    /**
+     * Whether {@link #execute(PageContext)} can be run on several pages at
+     * once.  If not, then it is only run on one page at a time.
+     *
+     * @return {@code true} if it can.
+     *
+     * @since 2.1.4
+     */
+    public default boolean isThreadSafe()
+    {
+        return false;
+    }
+
+    /**
+     * The name by which other plugins refer to this one.
+     *
+     * @return the simple name of the class.
+     *
+     * @since 2.1.4
+     */
+    public default String name()
+    {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * The order in which this plugin is run, amongst those whose
+     * dependencies have been run.  Lowest first.
+     *
+     * @return {@link #DEFAULT_ORDER}.
+     *
+     * @since 2.1.4
      */
-    public void execute();
+    public default int order()
+    {
+        return DEFAULT_ORDER;
+    }
 }
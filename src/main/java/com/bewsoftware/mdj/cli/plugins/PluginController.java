@@ -20,57 +20,207 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Load and manage all plugins.
+ * <p>
+ * The plugins are found by {@link ServiceLoader}, and put into the order in
+ * which they are to be run: each after all of its
+ * {@linkplain Plugin#dependencies() dependencies}, and otherwise by
+ * {@linkplain Plugin#order() order}, then {@linkplain Plugin#name() name}.
+ * A plugin that can not be loaded, or whose dependencies can not be met, is
+ * logged and left out.
  *
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class PluginController
 {
-    private static final String[] ARRAY_OF_PLUGINS =
-    {
-        "Stylesheets",
-        "MetaBlock",
-        "NamedMetaBlocks"
-    };
+    private static final Comparator<Plugin> BY_ORDER
+            = Comparator.comparingInt(Plugin::order).thenComparing(Plugin::name);
+
+    private static final Logger LOGGER = Logger.getLogger(PluginController.class.getName());
 
-    private static final String PLUGIN_PACKAGE = "com.bewsoftware.mdj.cli.plugins.";
+    /**
+     * The plugins, in the order in which they are to be run.
+     */
+    private final List<Plugin> ordered;
 
-    private final ConcurrentHashMap<String, Plugin> plugins;
+    /**
+     * The plugins, by name.
+     */
+    private final Map<String, Plugin> plugins;
 
+    /**
+     * Create a new instance of PluginController, with the plugins found by
+     * {@link ServiceLoader}.
+     */
     public PluginController()
     {
-        this.plugins = new ConcurrentHashMap<>();
-        SortedSet<String> classNames = new TreeSet<>();
-        classNames.addAll(Arrays.asList(ARRAY_OF_PLUGINS));
+        this(load());
+    }
+
+    /**
+     * Create a new instance of PluginController, with the plugins supplied.
+     *
+     * @param found The plugins.
+     */
+    public PluginController(final Iterable<? extends Plugin> found)
+    {
+        this.plugins = sort(found);
+        this.ordered = List.copyOf(plugins.values());
+    }
+
+    /**
+     * Find the plugins on the class path.
+     */
+    private static List<Plugin> load()
+    {
+        List<Plugin> found = new ArrayList<>();
+        var iterator = ServiceLoader.load(Plugin.class).iterator();
 
-        classNames.stream().forEachOrdered((className) ->
+        while (true)
         {
             try
             {
-                Plugin plugin = (Plugin) Class.forName(PLUGIN_PACKAGE + className)
-                        .getDeclaredConstructor().newInstance();
+                if (!iterator.hasNext())
+                {
+                    break;
+                }
+
+                found.add(iterator.next());
+            } catch (ServiceConfigurationError ex)
+            {
+                // Skip this one, and carry on with the rest.
+                LOGGER.log(Level.SEVERE, null, ex);
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Put the plugins into the order in which they are to be run.
+     */
+    private static Map<String, Plugin> sort(final Iterable<? extends Plugin> found)
+    {
+        Map<String, Plugin> byName = new HashMap<>();
+
+        for (Plugin plugin : found)
+        {
+            Plugin other = byName.putIfAbsent(plugin.name(), plugin);
+
+            if (other != null)
+            {
+                LOGGER.log(Level.SEVERE, "Plugin ''{0}'' found twice: {1}, {2}",
+                        new Object[]
+                        {
+                            plugin.name(), other.getClass().getName(), plugin.getClass().getName()
+                        });
+            }
+        }
+
+        Map<Plugin, Integer> remaining = new HashMap<>();
+        Map<String, List<Plugin>> dependents = new HashMap<>();
+        PriorityQueue<Plugin> ready = new PriorityQueue<>(BY_ORDER);
+
+        for (Plugin plugin : byName.values())
+        {
+            int count = 0;
+
+            for (String dependency : plugin.dependencies())
+            {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(plugin);
+                count++;
+            }
+
+            if (count == 0)
+            {
+                ready.add(plugin);
+            } else
+            {
+                remaining.put(plugin, count);
+            }
+        }
 
-                plugins.put(className, plugin);
-            } catch (ClassNotFoundException | NoSuchMethodException | SecurityException
-                    | InstantiationException | IllegalAccessException | IllegalArgumentException
-                    | InvocationTargetException ex)
+        Map<String, Plugin> sorted = new LinkedHashMap<>();
+
+        while (!ready.isEmpty())
+        {
+            Plugin plugin = ready.remove();
+            sorted.put(plugin.name(), plugin);
+
+            for (Plugin dependent : dependents.getOrDefault(plugin.name(), List.of()))
             {
-                Logger.getLogger(PluginController.class.getName()
-                ).log(Level.SEVERE, null, ex);
+                if (remaining.merge(dependent, -1, Integer::sum) == 0)
+                {
+                    remaining.remove(dependent);
+                    ready.add(dependent);
+                }
             }
-        });
+        }
+
+        remaining.keySet().stream()
+                .sorted(BY_ORDER)
+                .forEachOrdered(plugin -> LOGGER.log(Level.SEVERE,
+                "Plugin ''{0}'' not run. Its dependencies are missing, or depend on it: {1}",
+                new Object[]
+                {
+                    plugin.name(), plugin.dependencies()
+                }));
+
+        return sorted;
+    }
+
+    /**
+     * The plugins, in the order in which they are to be run.
+     *
+     * @return an unmodifiable list.
+     *
+     * @since 2.1.4
+     */
+    public List<Plugin> getPlugins()
+    {
+        return ordered;
+    }
+
+    /**
+     * Run a plugin against the page.
+     * <p>
+     * If the plugin is not {@linkplain Plugin#isThreadSafe() thread-safe},
+     * then it is only run on one page at a time.
+     *
+     * @param plugin  to run.
+     * @param context The page being processed.
+     *
+     * @since 2.1.4
+     */
+    public void run(final Plugin plugin, final PageContext context)
+    {
+        if (plugin.isThreadSafe())
+        {
+            plugin.execute(context);
+        } else
+        {
+            synchronized (plugin)
+            {
+                plugin.execute(context);
+            }
+        }
     }
 
     public void runPlugin(String className)
@@ -82,4 +232,14 @@ public class PluginController
             plugin.execute();
         }
     }
+
+    public void runPlugin(String className, PageContext context)
+    {
+        Plugin plugin = plugins.get(className);
+
+        if (plugin != null)
+        {
+            run(plugin, context);
+        }
+    }
 }
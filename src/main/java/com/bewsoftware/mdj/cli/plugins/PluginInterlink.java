@@ -20,6 +20,9 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
+import com.bewsoftware.mdj.cli.util.PageContext;
+import java.util.List;
+
 /**
  * Provide simple connectivity between calling method and required plugin.
  * <p>
@@ -28,7 +31,7 @@ package com.bewsoftware.mdj.cli.plugins;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class PluginInterlink
 {
@@ -38,19 +41,59 @@ public class PluginInterlink
     {
     }
 
+    /**
+     * The plugins, in the order in which they are to be run on each page.
+     *
+     * @return an unmodifiable list.
+     *
+     * @since 2.1.4
+     */
+    public static List<Plugin> getPlugins()
+    {
+        return PLUGIN_CONTROLLER.getPlugins();
+    }
+
     public static void processMetaBlock()
     {
         PLUGIN_CONTROLLER.runPlugin("MetaBlock");
     }
 
+    public static void processMetaBlock(PageContext context)
+    {
+        PLUGIN_CONTROLLER.runPlugin("MetaBlock", context);
+    }
+
     public static void processNamedMetaBlocks()
     {
         PLUGIN_CONTROLLER.runPlugin("NamedMetaBlocks");
     }
 
+    public static void processNamedMetaBlocks(PageContext context)
+    {
+        PLUGIN_CONTROLLER.runPlugin("NamedMetaBlocks", context);
+    }
+
+    /**
+     * Run a plugin against the page.
+     *
+     * @param plugin  to run.
+     * @param context The page being processed.
+     *
+     * @since 2.1.4
+     */
+    public static void runPlugin(Plugin plugin, PageContext context)
+    {
+        PLUGIN_CONTROLLER.run(plugin, context);
+    }
+
     public static void processStylesheets()
     {
         PLUGIN_CONTROLLER.runPlugin("Stylesheets");
     }
 
+    public static void processStylesheets(PageContext context)
+    {
+        PLUGIN_CONTROLLER.runPlugin("Stylesheets", context);
+    }
+
 }
@@ -20,12 +20,11 @@
 
 package com.bewsoftware.mdj.cli.plugins;
 
-import com.bewsoftware.fileio.ini.IniFile;
-import com.bewsoftware.property.IniProperty;
+import com.bewsoftware.mdj.cli.util.PageContext;
 import java.util.Date;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
 import static java.nio.file.Path.of;
 
 /**
@@ -34,7 +33,7 @@ import static java.nio.file.Path.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.1.7
- * @version 1.1.7
+ * @version 2.1.4
  */
 public class Stylesheets implements Plugin
 {
@@ -45,72 +44,94 @@ public class Stylesheets implements Plugin
         // NoOp
     }
 
-    private static void processStylesheetNamesFromTheMetaBlock(String systemDate, String cssDir)
+    private static void processStylesheetNamesFromTheMetaBlock(
+            PageContext context, String systemDate, String cssDir)
     {
-        String done = conf.iniDoc.getString("page", systemDate, null);
+        String done = context.getString("page", systemDate, null);
 
         if (done == null)
         {
             // Process the '.css' filenames...
-            List<IniProperty<String>> keys = conf.iniDoc.getSection("page");
+            Map<String, String> keys = context.getSection("page");
 
-            keys.stream()
-                    .filter(key -> key.value().endsWith(STYLESHEET_EXTN))
-                    .forEachOrdered(key
-                            -> conf.iniDoc.setString("page", key.key(),
-                            of(cssDir, key.value()).toString()));
+            keys.forEach((key, value) ->
+            {
+                if (value != null && value.endsWith(STYLESHEET_EXTN))
+                {
+                    context.setString("page", key, of(cssDir, value).toString());
+                }
+            });
 
             // Record that we have already processed the '.css' filenames.
-            conf.iniDoc.setString("page", systemDate, "done");
+            context.setString("page", systemDate, "done");
         }
     }
 
     private static void processStylesheetNamesfromTheInifileSection(
-            String use, String systemDate, String cssDir)
+            PageContext context, String use, String systemDate, String cssDir)
     {
         if (use != null && !use.isBlank())
         {
-            String done = conf.iniDoc.getString(use, systemDate, null);
+            String done = context.getString(use, systemDate, null);
 
             if (done == null)
             {
                 // Process the '.css' filenames...
-                List<IniProperty<String>> keys = conf.iniDoc.getSection(use);
+                Map<String, String> keys = context.getSection(use);
 
-                keys.stream()
-                        .filter(key -> key.value().endsWith(STYLESHEET_EXTN))
-                        .forEachOrdered(key
-                                -> conf.iniDoc.setString(use, key.key(),
-                                of(cssDir, key.value()).toString(),
-                                key.comment()));
+                keys.forEach((key, value) ->
+                {
+                    if (value != null && value.endsWith(STYLESHEET_EXTN))
+                    {
+                        context.setString(use, key, of(cssDir, value).toString());
+                    }
+                });
 
                 // Record that we have already processed the '.css' filenames.
-                conf.iniDoc.setString(use, systemDate, "done");
+                context.setString(use, systemDate, "done");
             }
         }
     }
 
-    private static String processSystemDate(IniFile conf)
+    private static String processSystemDate(PageContext context)
     {
-        String systemDate = conf.iniDoc.getString("system", "date", null);
+        String systemDate = context.getString("system", "date", null);
 
         if (systemDate == null)
         {
             systemDate = new Date().toString();
-            conf.iniDoc.setString("system", "date", systemDate);
+            context.setString("system", "date", systemDate);
         }
 
         return systemDate;
     }
 
     @Override
-    public void execute()
+    public void execute(final PageContext context)
     {
-        String use = conf.iniDoc.getString("page", "use", null);
-        String cssDir = conf.iniDoc.getString("document", "cssDir", "");
+        String use = context.getString("page", "use", null);
+        String cssDir = context.getString("document", "cssDir", "");
+
+        String systemDate = processSystemDate(context);
+        processStylesheetNamesfromTheInifileSection(context, use, systemDate, cssDir);
+        processStylesheetNamesFromTheMetaBlock(context, systemDate, cssDir);
+    }
+
+    @Override
+    public Set<String> dependencies()
+    {
+        return Set.of("MetaBlock");
+    }
 
-        String systemDate = processSystemDate(conf);
-        processStylesheetNamesfromTheInifileSection(use, systemDate, cssDir);
-        processStylesheetNamesFromTheMetaBlock(systemDate, cssDir);
+    @Override
+    public boolean isThreadSafe()
+    {
+        return true;
+    }
+
+    @Override
+    public int order()
+    {
+        return 200;
     }
 }
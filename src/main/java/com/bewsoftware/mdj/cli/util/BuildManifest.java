@@ -0,0 +1,526 @@
+/*
+ *  File Name:    BuildManifest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * The record of what went into each page of the last build.
+ * <p>
+ * Stored in the destination directory as: {@value #FILENAME}.
+ * For each page it holds:
+ * <ul>
+ * <li>the source file's size, last modified time and hash,</li>
+ * <li>the output file's size, last modified time and
+ * {@linkplain OutputWriter#hashOf(byte[]) hash},</li>
+ * <li>the template file used, if any,</li>
+ * <li>every ini section/key the page resolved, along with a hash of the
+ * value it got.</li>
+ * </ul>
+ * A page only needs to be processed again, if any of these have changed.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class BuildManifest
+{
+    /**
+     * The name of the manifest file.
+     */
+    public static final String FILENAME = ".mdj-manifest";
+
+    /**
+     * The key used to record a dependency on a whole section.
+     */
+    public static final String WHOLE_SECTION = "*";
+
+    private static final String HEADER = "mdj-manifest\t1";
+
+    private final Path manifestPath;
+
+    private final String options;
+
+    private final ConcurrentHashMap<String, PageRecord> pages;
+
+    private BuildManifest(final Path manifestPath, final String options)
+    {
+        this.manifestPath = manifestPath;
+        this.options = "options\t" + options;
+        this.pages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Hash the values in a section.
+     *
+     * @param section The key/value pairs.
+     *
+     * @return the hash.
+     */
+    public static String hashSection(final Map<String, String> section)
+    {
+        StringBuilder sb = new StringBuilder();
+
+        section.forEach((key, value)
+                -> sb.append(key).append('=').append(value).append('\n')
+        );
+
+        return ContentHash.of(sb.toString());
+    }
+
+    /**
+     * Load the manifest from the destination directory.
+     * <p>
+     * If there is no manifest, or it is from a different version, or it was
+     * built with different options, then an empty one is returned.
+     *
+     * @param destDirPath The destination directory.
+     * @param options     The command-line options that change the output.
+     *
+     * @return the manifest.
+     *
+     * @throws IOException if any.
+     */
+    public static BuildManifest load(final Path destDirPath, final String options)
+            throws IOException
+    {
+        BuildManifest manifest = new BuildManifest(destDirPath.resolve(FILENAME), options);
+
+        if (Files.exists(manifest.manifestPath))
+        {
+            try ( BufferedReader reader = Files.newBufferedReader(manifest.manifestPath))
+            {
+                if (HEADER.equals(reader.readLine())
+                        && manifest.options.equals(reader.readLine()))
+                {
+                    manifest.read(reader);
+                }
+            }
+        }
+
+        Log.print(2, display -> display
+                .append("manifest: ").append(manifest.manifestPath)
+                .append(" (").append(manifest.pages.size()).appendln(" pages)"));
+
+        return manifest;
+    }
+
+    /**
+     * Get the hash of the page's output file, as recorded in the last build.
+     *
+     * @param fileData The page's files.
+     *
+     * @return the hash, or {@code null} if there is no record, or the file has
+     *         been touched since.
+     *
+     * @throws IOException if any.
+     */
+    public String getOutputHash(final FileData fileData) throws IOException
+    {
+        PageRecord page = pages.get(fileData.sourcePath.toString());
+
+        return page != null
+                && page.outputFile.equals(fileData.destinationPath.toString())
+                && page.output.isUnmodified(fileData.destinationPath)
+                ? page.output.hash : null;
+    }
+
+    /**
+     * Check whether or not this manifest was loaded for the destination
+     * directory and options.
+     *
+     * @param destDirPath The destination directory.
+     * @param options     The command-line options that change the output.
+     *
+     * @return {@code true} if it was.
+     */
+    public boolean isFor(final Path destDirPath, final String options)
+    {
+        return manifestPath.equals(destDirPath.resolve(FILENAME))
+                && this.options.equals("options\t" + options);
+    }
+
+    /**
+     * Check whether or not the page's output file is as it was last built,
+     * from the source file as it is now.
+     * <p>
+     * Unlike {@link #isUpToDate(FileData, ConfSnapshot) isUpToDate()}, the
+     * source file must not have been touched, and nothing else is checked.
+     *
+     * @param fileData The page's files.
+     *
+     * @return {@code true} if neither file has been touched since the page
+     *         was last built.
+     *
+     * @throws IOException if any.
+     */
+    public boolean isBuilt(final FileData fileData) throws IOException
+    {
+        PageRecord page = pages.get(fileData.sourcePath.toString());
+
+        return page != null
+                && page.outputFile.equals(fileData.destinationPath.toString())
+                && page.output.isUnmodified(fileData.destinationPath)
+                && page.source.isUnmodified(fileData.sourcePath);
+    }
+
+    /**
+     * Check whether or not the page needs to be processed again.
+     *
+     * @param fileData The page's files.
+     * @param snapshot The current configuration data.
+     *
+     * @return {@code true} if nothing has changed since the last build.
+     *
+     * @throws IOException if any.
+     */
+    public boolean isUpToDate(final FileData fileData, final ConfSnapshot snapshot)
+            throws IOException
+    {
+        PageRecord page = pages.get(fileData.sourcePath.toString());
+
+        return page != null
+                && page.outputFile.equals(fileData.destinationPath.toString())
+                && page.output.isUnmodified(fileData.destinationPath)
+                && page.source.matches(fileData.sourcePath)
+                && (page.templateFile == null || page.template.matches(Path.of(page.templateFile)))
+                && dependenciesAreUnchanged(page, snapshot);
+    }
+
+    /**
+     * Add, or replace, the record for a page.
+     *
+     * @param page The record.
+     */
+    public void put(final PageRecord page)
+    {
+        pages.put(page.sourceFile, page);
+    }
+
+    /**
+     * Remove the records of any pages that are no longer in the source
+     * directory.
+     *
+     * @param fileList The current list of pages.
+     */
+    public void retainAll(final Collection<FileData> fileList)
+    {
+        Set<String> sourceFiles = new HashSet<>();
+        fileList.forEach(fileData -> sourceFiles.add(fileData.sourcePath.toString()));
+        pages.keySet().retainAll(sourceFiles);
+    }
+
+    /**
+     * Save the manifest to the destination directory.
+     *
+     * @throws IOException if any.
+     */
+    public void save() throws IOException
+    {
+        Path tempPath = manifestPath.resolveSibling(FILENAME + ".tmp");
+
+        try ( BufferedWriter writer = Files.newBufferedWriter(tempPath))
+        {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(options);
+            writer.newLine();
+
+            for (PageRecord page : new TreeMap<>(pages).values())
+            {
+                page.write(writer);
+            }
+        }
+
+        try
+        {
+            Files.move(tempPath, manifestPath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex)
+        {
+            Files.move(tempPath, manifestPath, REPLACE_EXISTING);
+        }
+    }
+
+    private boolean dependenciesAreUnchanged(final PageRecord page, final ConfSnapshot snapshot)
+    {
+        for (Dependency dep : page.dependencies)
+        {
+            String current = WHOLE_SECTION.equals(dep.key)
+                    ? snapshot.getSectionHash(dep.section)
+                    : ContentHash.of(snapshot.getString(dep.section, dep.key, null));
+
+            if (!current.equals(dep.hash))
+            {
+                Log.print(2, display -> display
+                        .append("changed: ").append(dep.section).append(".").appendln(dep.key));
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void read(final BufferedReader reader) throws IOException
+    {
+        PageRecord page = null;
+        String line;
+
+        while ((line = reader.readLine()) != null)
+        {
+            String[] fields = line.split("\t", -1);
+
+            switch (fields[0])
+            {
+                case "page" ->
+                {
+                    page = new PageRecord(fields[1], fields[2]);
+                    pages.put(page.sourceFile, page);
+                }
+                case "source" ->
+                    page.source = FileStamp.parse(fields);
+                case "output" ->
+                    page.output = FileStamp.parse(fields);
+                case "template" ->
+                {
+                    page.templateFile = fields[1];
+                    page.template = FileStamp.parse(fields);
+                }
+                case "dep" ->
+                    page.dependencies.add(new Dependency(fields[1], fields[2], fields[3]));
+                default ->
+                {
+                    // Ignore unknown lines.
+                }
+            }
+        }
+    }
+
+    /**
+     * The size, last modified time and content hash of a file.
+     */
+    public static final class FileStamp
+    {
+        public final String hash;
+
+        public final long lastModified;
+
+        public final long size;
+
+        /**
+         * Create a new instance of FileStamp.
+         *
+         * @param size         of the file.
+         * @param lastModified time, in milliseconds.
+         * @param hash         of the file's contents.
+         */
+        public FileStamp(final long size, final long lastModified, final String hash)
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        /**
+         * Stamp the file, using an already known hash of its contents.
+         *
+         * @param path of the file.
+         * @param hash of the file's contents.
+         *
+         * @return the new stamp.
+         *
+         * @throws IOException if any.
+         */
+        public static FileStamp of(final Path path, final String hash) throws IOException
+        {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+
+            return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis(), hash);
+        }
+
+        /**
+         * Stamp the file, reading its contents from disk.
+         *
+         * @param path of the file.
+         *
+         * @return the new stamp.
+         *
+         * @throws IOException if any.
+         */
+        public static FileStamp of(final Path path) throws IOException
+        {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+
+            return new FileStamp(attrs.size(), attrs.lastModifiedTime().toMillis(), ContentHash.of(path));
+        }
+
+        private static FileStamp parse(final String[] fields)
+        {
+            return new FileStamp(Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4]);
+        }
+
+        /**
+         * Check whether or not the file has been touched since it was
+         * stamped.
+         *
+         * @param path of the file.
+         *
+         * @return {@code true} if it has the same size and last modified
+         *         time.
+         *
+         * @throws IOException if any.
+         */
+        public boolean isUnmodified(final Path path) throws IOException
+        {
+            if (Files.notExists(path))
+            {
+                return false;
+            }
+
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+
+            return attrs.size() == size && attrs.lastModifiedTime().toMillis() == lastModified;
+        }
+
+        /**
+         * Check whether or not the file still has the same contents.
+         * <p>
+         * The contents are only hashed, if the file has been touched.
+         *
+         * @param path of the file.
+         *
+         * @return {@code true} if the contents are unchanged.
+         *
+         * @throws IOException if any.
+         */
+        public boolean matches(final Path path) throws IOException
+        {
+            return isUnmodified(path)
+                    || (Files.exists(path) && ContentHash.of(path).equals(hash));
+        }
+
+        private void write(final BufferedWriter writer, final String tag, final String path)
+                throws IOException
+        {
+            writer.write(tag + "\t" + path + "\t" + size + "\t" + lastModified + "\t" + hash);
+            writer.newLine();
+        }
+    }
+
+    /**
+     * The record of what went into a page.
+     */
+    public static final class PageRecord
+    {
+        public final String outputFile;
+
+        public final String sourceFile;
+
+        public FileStamp output;
+
+        public FileStamp source;
+
+        public FileStamp template;
+
+        public String templateFile;
+
+        private final List<Dependency> dependencies;
+
+        /**
+         * Create a new instance of PageRecord.
+         *
+         * @param sourceFile The markdown file.
+         * @param outputFile The html file.
+         */
+        public PageRecord(final String sourceFile, final String outputFile)
+        {
+            this.sourceFile = sourceFile;
+            this.outputFile = outputFile;
+            this.dependencies = new ArrayList<>();
+        }
+
+        /**
+         * Add the ini section/key values this page resolved.
+         *
+         * @param resolved "section" -&gt; "key" -&gt; "value".
+         */
+        public void addDependencies(final Map<String, Map<String, String>> resolved)
+        {
+            resolved.forEach((section, keys) -> keys.forEach((key, value)
+                    -> dependencies.add(new Dependency(
+                            section,
+                            key,
+                            WHOLE_SECTION.equals(key) ? value : ContentHash.of(value)
+                    ))
+            ));
+        }
+
+        private void write(final BufferedWriter writer) throws IOException
+        {
+            writer.write("page\t" + sourceFile + "\t" + outputFile);
+            writer.newLine();
+            source.write(writer, "source", sourceFile);
+            output.write(writer, "output", outputFile);
+
+            if (templateFile != null)
+            {
+                template.write(writer, "template", templateFile);
+            }
+
+            for (Dependency dep : dependencies)
+            {
+                writer.write("dep\t" + dep.section + "\t" + dep.key + "\t" + dep.hash);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * An ini section/key resolved by a page, and a hash of the value it got.
+     */
+    private static final class Dependency
+    {
+        private final String hash;
+
+        private final String key;
+
+        private final String section;
+
+        private Dependency(final String section, final String key, final String hash)
+        {
+            this.section = section;
+            this.key = key;
+            this.hash = hash;
+        }
+    }
+}
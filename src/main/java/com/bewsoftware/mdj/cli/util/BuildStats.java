@@ -0,0 +1,379 @@
+/*
+ *  File Name:    BuildStats.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Collects the time spent in each stage of processing the markdown files.
+ * <p>
+ * Each page gets its own {@link PageTimer}, which is only used by the thread
+ * processing that page.  The timers are collected here, so instances of this
+ * class may be shared between threads.
+ * <p>
+ * The report holds, for each stage: the total time, and the mean, 50th, 90th,
+ * 99th percentile and maximum time per file.  Then the slowest files are
+ * listed.  It can also be written to a JSON file.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class BuildStats
+{
+    /**
+     * The number of slowest files to list in the report.
+     */
+    private static final int SLOWEST_COUNT = 10;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final ConcurrentLinkedQueue<PageTimer> pages;
+
+    /**
+     * Time spent in stages that are run once, not per page.
+     */
+    private final AtomicLongArray runNanos;
+
+    private final long startNanos;
+
+    private long stopNanos;
+
+    /**
+     * Create a new instance of BuildStats, and start the clock.
+     */
+    public BuildStats()
+    {
+        this.pages = new ConcurrentLinkedQueue<>();
+        this.runNanos = new AtomicLongArray(Stage.values().length);
+        this.startNanos = System.nanoTime();
+    }
+
+    private static String escape(final String text)
+    {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+
+        for (char c : text.toCharArray())
+        {
+            switch (c)
+            {
+                case '"' ->
+                    sb.append("\\\"");
+                case '\\' ->
+                    sb.append("\\\\");
+                case '\n' ->
+                    sb.append("\\n");
+                case '\r' ->
+                    sb.append("\\r");
+                case '\t' ->
+                    sb.append("\\t");
+                default ->
+                {
+                    if (c < ' ')
+                    {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else
+                    {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static String millis(final long nanos)
+    {
+        return String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Nearest-rank percentile.
+     */
+    private static long percentile(final long[] sorted, final int percent)
+    {
+        if (sorted.length == 0)
+        {
+            return 0;
+        }
+
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Record the time spent in a stage that is run once, not per page.
+     *
+     * @param stage The stage.
+     * @param start The value of {@link System#nanoTime()} when the stage
+     *              started.
+     *
+     * @return the current value of {@link System#nanoTime()}.
+     */
+    public long lap(final Stage stage, final long start)
+    {
+        long now = System.nanoTime();
+        runNanos.addAndGet(stage.ordinal(), now - start);
+
+        return now;
+    }
+
+    /**
+     * Print the report.
+     */
+    public void printReport()
+    {
+        StringWriter sw = new StringWriter();
+        PrintWriter out = new PrintWriter(sw);
+        List<PageTimer> timers = new ArrayList<>(pages);
+        long wallNanos = stopNanos - startNanos;
+
+        out.println();
+        out.println("Build statistics");
+        out.println("----------------");
+        out.printf(Locale.ROOT, "Files: %d   Wall time: %s ms   Throughput: %.1f files/s%n",
+                timers.size(), millis(wallNanos),
+                wallNanos > 0 ? timers.size() / (wallNanos / 1_000_000_000.0) : 0.0);
+        out.println();
+        out.printf(Locale.ROOT, "%-18s %7s %12s %10s %10s %10s %10s %10s%n",
+                "Stage", "Files", "Total(ms)", "Mean", "p50", "p90", "p99", "Max");
+
+        for (Stage stage : Stage.values())
+        {
+            long[] sorted = sortedNanos(timers, stage);
+            long total = Arrays.stream(sorted).sum() + runNanos.get(stage.ordinal());
+
+            if (total == 0)
+            {
+                continue;
+            }
+
+            if (sorted.length == 0)
+            {
+                // Run once, not per page.
+                out.printf(Locale.ROOT, "%-18s %7s %12s%n", stage.label, "-", millis(total));
+                continue;
+            }
+
+            out.printf(Locale.ROOT, "%-18s %7d %12s %10s %10s %10s %10s %10s%n",
+                    stage.label, sorted.length, millis(total),
+                    millis(total / sorted.length),
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                    millis(percentile(sorted, 99)),
+                    millis(sorted[sorted.length - 1]));
+        }
+
+        out.println();
+        out.println("Slowest files (ms):");
+
+        slowest(timers).forEach(timer
+                -> out.printf(Locale.ROOT, "%12s  %s%n", millis(timer.total()), timer.sourcePath)
+        );
+
+        out.flush();
+        Log.print(0, display -> display.append(sw.toString()));
+    }
+
+    /**
+     * Start timing a page.
+     *
+     * @param sourcePath The page's markdown file.
+     *
+     * @return the page's timer.
+     */
+    public PageTimer startPage(final Path sourcePath)
+    {
+        PageTimer timer = new PageTimer(sourcePath);
+        pages.add(timer);
+
+        return timer;
+    }
+
+    /**
+     * Stop the clock.
+     */
+    public void stop()
+    {
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * Write the report, as JSON, to a file.
+     *
+     * @param path of the file.
+     *
+     * @throws IOException if any.
+     */
+    public void writeJson(final Path path) throws IOException
+    {
+        List<PageTimer> timers = new ArrayList<>(pages);
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{\n")
+                .append("  \"files\": ").append(timers.size()).append(",\n")
+                .append("  \"wallMillis\": ").append(millis(stopNanos - startNanos)).append(",\n")
+                .append("  \"stages\": {");
+
+        String sep = "\n";
+
+        for (Stage stage : Stage.values())
+        {
+            long[] sorted = sortedNanos(timers, stage);
+            long total = Arrays.stream(sorted).sum() + runNanos.get(stage.ordinal());
+
+            sb.append(sep)
+                    .append("    \"").append(stage.label).append("\": {")
+                    .append("\"files\": ").append(sorted.length)
+                    .append(", \"totalMillis\": ").append(millis(total))
+                    .append(", \"p50Millis\": ").append(millis(percentile(sorted, 50)))
+                    .append(", \"p90Millis\": ").append(millis(percentile(sorted, 90)))
+                    .append(", \"p99Millis\": ").append(millis(percentile(sorted, 99)))
+                    .append(", \"maxMillis\": ")
+                    .append(millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0))
+                    .append("}");
+
+            sep = ",\n";
+        }
+
+        sb.append("\n  },\n  \"slowest\": [");
+        sep = "\n";
+
+        for (PageTimer timer : slowest(timers))
+        {
+            sb.append(sep)
+                    .append("    {\"file\": \"").append(escape(timer.sourcePath.toString()))
+                    .append("\", \"totalMillis\": ").append(millis(timer.total())).append("}");
+
+            sep = ",\n";
+        }
+
+        sb.append("\n  ]\n}\n");
+
+        Files.writeString(path, sb);
+        Log.print(1, display -> display.append("Stats written to: ").appendln(path));
+    }
+
+    private List<PageTimer> slowest(final List<PageTimer> timers)
+    {
+        return timers.stream()
+                .sorted(Comparator.comparingLong(PageTimer::total).reversed())
+                .limit(SLOWEST_COUNT)
+                .toList();
+    }
+
+    private long[] sortedNanos(final List<PageTimer> timers, final Stage stage)
+    {
+        return timers.stream()
+                .filter(timer -> timer.counts[stage.ordinal()] > 0)
+                .mapToLong(timer -> timer.nanos[stage.ordinal()])
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * The stages of processing.
+     */
+    public enum Stage
+    {
+        FIND("find"),
+        READ("read"),
+        METABLOCK("metaBlock"),
+        STYLESHEETS("stylesheets"),
+        NAMED_METABLOCKS("namedMetaBlocks"),
+        /**
+         * All other plugins.
+         */
+        PLUGINS("plugins"),
+        SUBSTITUTIONS("substitutions"),
+        CONVERT("convert"),
+        TEMPLATE("template"),
+        LINKS("links"),
+        WRITE("write");
+
+        /**
+         * The name used in the reports.
+         */
+        public final String label;
+
+        Stage(final String label)
+        {
+            this.label = label;
+        }
+    }
+
+    /**
+     * The time spent in each stage of processing a single page.
+     */
+    public static final class PageTimer
+    {
+        private final int[] counts;
+
+        private final long[] nanos;
+
+        private final Path sourcePath;
+
+        private PageTimer(final Path sourcePath)
+        {
+            this.sourcePath = sourcePath;
+            this.counts = new int[Stage.values().length];
+            this.nanos = new long[Stage.values().length];
+        }
+
+        /**
+         * Record the time spent in a stage.
+         *
+         * @param stage The stage.
+         * @param start The value of {@link System#nanoTime()} when the stage
+         *              started.
+         *
+         * @return the current value of {@link System#nanoTime()}, ready to
+         *         time the next stage.
+         */
+        public long lap(final Stage stage, final long start)
+        {
+            long now = System.nanoTime();
+            nanos[stage.ordinal()] += now - start;
+            counts[stage.ordinal()]++;
+
+            return now;
+        }
+
+        private long total()
+        {
+            return Arrays.stream(nanos).sum();
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.bewsoftware.mdj.cli.util;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -27,11 +28,21 @@ import java.util.Properties;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.0.7
- * @version 1.0.7
+ * @version 2.1.4
  */
 public interface CmdLine
 {
 
+    /**
+     * Get the directory to keep the converted markdown in, from one build to
+     * the next.
+     *
+     * @return the directory, or {@code null} if not set.
+     *
+     * @since 2.1.4
+     */
+    public Path cacheDir();
+
     /**
      * Get the destination directory.
      *
@@ -112,6 +123,16 @@ public interface CmdLine
      */
     public File inputFile();
 
+    /**
+     * Get the glob patterns of the markdown files to process, instead of
+     * "{@code *.md}".
+     *
+     * @return the patterns, or an empty list if not set.
+     *
+     * @since 2.1.4
+     */
+    public List<String> inputGlobs();
+
     /**
      * Set the input file.
      *
@@ -126,6 +147,35 @@ public interface CmdLine
      */
     public File jarFile();
 
+    /**
+     * Get the compression level of the jar file's entries.
+     *
+     * @return the level [0-9]. (default: 9)
+     *
+     * @since 2.1.4
+     */
+    public int jarLevel();
+
+    /**
+     * Get the 'jar' file to write the HTML files to, instead of the
+     * destination directory.
+     *
+     * @return the file, or {@code null} if not set.
+     *
+     * @since 2.1.4
+     */
+    public File jarOutput();
+
+    /**
+     * Get the compression levels of the jar file's entries, by file
+     * extension.
+     *
+     * @return the levels [0-9], by extension, or an empty map if not set.
+     *
+     * @since 2.1.4
+     */
+    public Map<String, Integer> jarCompression();
+
     /**
      * Get Jar source directory.
      *
@@ -211,6 +261,24 @@ public interface CmdLine
      */
     public boolean success();
 
+    /**
+     * Get the file to write the build statistics to, as JSON.
+     *
+     * @return the file, or {@code null} if not set.
+     *
+     * @since 2.1.4
+     */
+    public Path statsFile();
+
+    /**
+     * Get the number of threads to use when processing the markdown files.
+     *
+     * @return the number of threads. (default: 1)
+     *
+     * @since 2.1.4
+     */
+    public int threads();
+
     /**
      * Get the level of verbosity.
      *
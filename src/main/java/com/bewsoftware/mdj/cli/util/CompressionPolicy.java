@@ -0,0 +1,106 @@
+/*
+ *  File Name:    CompressionPolicy.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Chooses the compression level of each entry in a 'jar' file, by its file
+ * extension.
+ * <p>
+ * The files that are already compressed, such as images, fonts and
+ * archives, would not get any smaller, so they are stored without being
+ * compressed.  All others are compressed at the default level.  Either can
+ * be changed for any extension.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class CompressionPolicy
+{
+    /**
+     * The extensions of the files that are already compressed.
+     */
+    public static final Set<String> COMPRESSED = Set.of(
+            "7z", "avif", "br", "bz2", "gif", "gz", "heic", "jar", "jpeg", "jpg",
+            "m4a", "m4v", "mkv", "mov", "mp3", "mp4", "ogg", "opus", "png", "tgz",
+            "war", "webm", "webp", "woff", "woff2", "xz", "zip", "zst"
+    );
+
+    private final int level;
+
+    private final Map<String, Integer> levels;
+
+    /**
+     * Create a new instance of CompressionPolicy.
+     *
+     * @param level  The compression level [0-9] of the files that are not
+     *               already compressed.
+     * @param levels The compression level [0-9] for each extension, without
+     *               the '.', that is not to have its default level.
+     */
+    public CompressionPolicy(final int level, final Map<String, Integer> levels)
+    {
+        this.level = level;
+        this.levels = new TreeMap<>();
+
+        levels.forEach((extn, extnLevel) -> this.levels.put(normalise(extn), extnLevel));
+    }
+
+    private static String extensionOf(final String name)
+    {
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+
+        return dot > slash + 1 ? normalise(name.substring(dot + 1)) : "";
+    }
+
+    private static String normalise(final String extn)
+    {
+        return (extn.startsWith(".") ? extn.substring(1) : extn).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the compression level for an entry.
+     *
+     * @param name The entry's name.
+     *
+     * @return the level [0-9], where 0 is to store the entry without
+     *         compressing it.
+     */
+    public int levelOf(final String name)
+    {
+        String extn = extensionOf(name);
+        Integer extnLevel = levels.get(extn);
+
+        if (extnLevel != null)
+        {
+            return extnLevel;
+        }
+
+        return COMPRESSED.contains(extn) ? 0 : level;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ *  File Name:    ConfSnapshot.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniDocument;
+import com.bewsoftware.property.IniProperty;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
+
+/**
+ * A read-only copy of the configuration data.
+ * <p>
+ * Taken once, after the ini file and the POM have been loaded, and before
+ * any page is processed.  The "page" section is not copied, as that belongs
+ * to each page's own {@link OverlayPageContext}.
+ * <p>
+ * The values are held in a single, flat table, indexed by "section.key", so
+ * each lookup is one hash probe.  A '{@code use}' group is just another
+ * section, so falling back to it costs one more.  The sections are also
+ * kept, in their original order, along with their hashes, for those that
+ * read them whole.
+ * <p>
+ * Instances are immutable, and so can be shared between threads without
+ * locking.  The only exception is the {@link SubstitutionResolver}'s cache
+ * of resolved values, which is thread-safe.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public final class ConfSnapshot
+{
+    /**
+     * "section" -&gt; {@link BuildManifest#hashSection(Map) hash}.
+     */
+    private final Map<String, String> hashes;
+
+    private final Map<String, Map<String, String>> sections;
+
+    /**
+     * "section.key" -&gt; resolved value.
+     */
+    private final Map<String, SubstitutionResolver.Resolved> substitutions;
+
+    /**
+     * "section.key" -&gt; value.
+     */
+    private final Map<String, String> values;
+
+    private ConfSnapshot(
+            final Map<String, Map<String, String>> sections,
+            final Map<String, String> values,
+            final Map<String, String> hashes
+    )
+    {
+        this.sections = sections;
+        this.values = values;
+        this.hashes = hashes;
+        this.substitutions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Take a snapshot of the document.
+     *
+     * @param iniDoc The document to copy. May be {@code null}.
+     *
+     * @return the new snapshot.
+     */
+    public static ConfSnapshot of(final IniDocument iniDoc)
+    {
+        Map<String, Map<String, String>> sections = new HashMap<>();
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> hashes = new HashMap<>();
+
+        if (iniDoc != null)
+        {
+            iniDoc.getSections().forEach((String section) ->
+            {
+                if (!PAGE.equals(section))
+                {
+                    String label = globalIfNull(section);
+                    Map<String, String> props = new LinkedHashMap<>();
+
+                    iniDoc.getSection(section).forEach((IniProperty<String> prop) ->
+                    {
+                        props.put(prop.key(), prop.value());
+
+                        if (prop.value() != null)
+                        {
+                            values.put(label + "." + prop.key(), prop.value());
+                        }
+                    });
+
+                    sections.put(label, Collections.unmodifiableMap(props));
+                    hashes.put(label, BuildManifest.hashSection(props));
+                }
+            });
+        }
+
+        return new ConfSnapshot(sections, values, hashes);
+    }
+
+    /**
+     * The global section may be labelled either {@code null} or "", so both
+     * are stored as "".
+     */
+    private static String globalIfNull(final String section)
+    {
+        return section != null ? section : "";
+    }
+
+    /**
+     * Get the key/value pairs in a section.
+     *
+     * @param section label.
+     *
+     * @return an unmodifiable map. If the section does not exist, then the
+     *         map will be empty.
+     */
+    public Map<String, String> getSection(final String section)
+    {
+        return sections.getOrDefault(globalIfNull(section), Map.of());
+    }
+
+    /**
+     * Get the hash of the values in a section.
+     *
+     * @param section label.
+     *
+     * @return the same as {@link BuildManifest#hashSection(Map)
+     *         hashSection(getSection(section))}, without recomputing it.
+     */
+    public String getSectionHash(final String section)
+    {
+        String rtn = hashes.get(globalIfNull(section));
+        return rtn != null ? rtn : BuildManifest.hashSection(Map.of());
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * @param section      label.
+     * @param key          name.
+     * @param defaultValue returned if the key is not found.
+     *
+     * @return the value, or {@code defaultValue}.
+     */
+    public String getString(final String section, final String key, final String defaultValue)
+    {
+        String rtn = values.get(globalIfNull(section) + "." + key);
+        return rtn != null ? rtn : defaultValue;
+    }
+
+    /**
+     * The values resolved from this snapshot, by the
+     * {@link SubstitutionResolver}.
+     */
+    Map<String, SubstitutionResolver.Resolved> substitutions()
+    {
+        return substitutions;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ *  File Name:    ContentHash.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Utility class providing static methods to produce SHA-256 content hashes.
+ * <p>
+ * The hashes are returned as lowercase hexadecimal text.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class ContentHash
+{
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private ContentHash()
+    {
+    }
+
+    /**
+     * Get a new message digest.
+     *
+     * @return the digest.
+     */
+    public static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException ex)
+        {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Hash the bytes.
+     *
+     * @param bytes to hash.
+     *
+     * @return the hash.
+     */
+    public static String of(final byte[] bytes)
+    {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * Hash the text, as UTF-8 bytes.
+     *
+     * @param text to hash. May be {@code null}.
+     *
+     * @return the hash, or "{@code -}" if the text is {@code null}.
+     */
+    public static String of(final String text)
+    {
+        return text != null ? of(text.getBytes(UTF_8)) : "-";
+    }
+
+    /**
+     * Hash the contents of a file, streaming it from disk.
+     *
+     * @param path of the file.
+     *
+     * @return the hash.
+     *
+     * @throws IOException if any.
+     */
+    public static String of(final Path path) throws IOException
+    {
+        MessageDigest digest = newDigest();
+
+        try ( InputStream in = Files.newInputStream(path))
+        {
+            byte[] buffer = new byte[64 * 1024];
+            int count;
+
+            while ((count = in.read(buffer)) != -1)
+            {
+                digest.update(buffer, 0, count);
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Convert a digest to hexadecimal text.
+     *
+     * @param digest bytes.
+     *
+     * @return the text.
+     */
+    public static String toHex(final byte[] digest)
+    {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ *  File Name:    ConvertCache.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.core.MarkdownProcessor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Holds the HTML converted from markdown text, keyed by a
+ * {@linkplain ContentHash hash} of the text and the version of mdj-core that
+ * converted it.
+ * <p>
+ * The same named meta blocks, and other fragments, are often found on many
+ * pages.  With this cache, each is only converted once.
+ * <p>
+ * There are two tiers:
+ * <ul>
+ * <li>in memory: the most recently used, up to a total of
+ * {@value #MAX_CHARS} characters,</li>
+ * <li>on disk, if a {@linkplain #setDirectory(Path) directory} is set: one
+ * file for each, kept from one build to the next.</li>
+ * </ul>
+ * An error reading or writing the disk tier, is logged and otherwise
+ * ignored.  The text is simply converted again.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class ConvertCache
+{
+    /**
+     * The name of the default cache directory, in the destination
+     * directory.
+     */
+    public static final String DIRNAME = ".mdj-cache";
+
+    /**
+     * The most characters, of both keys and values, held in memory.
+     */
+    public static final int MAX_CHARS = 16 * 1024 * 1024;
+
+    private static final String CORE_POM
+            = "/META-INF/maven/com.bewsoftware/bewsoftware-mdj-core/pom.properties";
+
+    private static final String CORE_VERSION = coreVersion();
+
+    private static final String SUFFIX = ".html";
+
+    /**
+     * The in-memory tier, in order of last use.
+     */
+    private static final LinkedHashMap<String, String> MEMORY = new LinkedHashMap<>(256, 0.75f, true);
+
+    private static volatile Path directory;
+
+    /**
+     * The size of the in-memory tier, in characters.
+     */
+    private static long memoryChars;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private ConvertCache()
+    {
+    }
+
+    /**
+     * Remove all of the entries from the in-memory tier.
+     */
+    public static void clear()
+    {
+        synchronized (MEMORY)
+        {
+            MEMORY.clear();
+            memoryChars = 0;
+        }
+    }
+
+    /**
+     * Convert the markdown text to HTML.
+     *
+     * @param markdown to convert.
+     *
+     * @return the HTML, from the cache if there.
+     */
+    public static String convert(final String markdown)
+    {
+        String key = ContentHash.of(CORE_VERSION + "\n" + markdown);
+        String html;
+
+        synchronized (MEMORY)
+        {
+            html = MEMORY.get(key);
+        }
+
+        if (html == null)
+        {
+            Path dir = directory;
+            html = dir != null ? read(dir, key) : null;
+
+            if (html == null)
+            {
+                html = MarkdownProcessor.convert(markdown);
+
+                if (dir != null)
+                {
+                    write(dir, key, html);
+                }
+            }
+
+            put(key, html);
+        }
+
+        return html;
+    }
+
+    /**
+     * Get the disk tier's directory.
+     *
+     * @return the directory, or {@code null} if there is no disk tier.
+     */
+    public static Path getDirectory()
+    {
+        return directory;
+    }
+
+    /**
+     * Set the disk tier's directory.
+     * <p>
+     * It is created when the first entry is written to it.
+     *
+     * @param directory The directory, or {@code null} for no disk tier.
+     */
+    public static void setDirectory(final Path directory)
+    {
+        ConvertCache.directory = directory;
+        Log.println(2, () -> "convert cache: " + directory);
+    }
+
+    /**
+     * Find the version of mdj-core, from its jar file.
+     */
+    private static String coreVersion()
+    {
+        try ( InputStream in = MarkdownProcessor.class.getResourceAsStream(CORE_POM))
+        {
+            if (in != null)
+            {
+                Properties props = new Properties();
+                props.load(in);
+                String version = props.getProperty("version");
+
+                if (version != null)
+                {
+                    return version;
+                }
+            }
+        } catch (IOException ex)
+        {
+            // Try the jar's manifest.
+        }
+
+        String version = MarkdownProcessor.class.getPackage().getImplementationVersion();
+        return version != null ? version : "unknown";
+    }
+
+    private static Path pathOf(final Path dir, final String key)
+    {
+        return dir.resolve(key.substring(0, 2)).resolve(key + SUFFIX);
+    }
+
+    private static void put(final String key, final String html)
+    {
+        long chars = key.length() + html.length();
+
+        if (chars > MAX_CHARS)
+        {
+            return;
+        }
+
+        synchronized (MEMORY)
+        {
+            String old = MEMORY.put(key, html);
+            memoryChars += chars - (old != null ? key.length() + old.length() : 0);
+
+            Iterator<Map.Entry<String, String>> eldest = MEMORY.entrySet().iterator();
+
+            while (memoryChars > MAX_CHARS)
+            {
+                Map.Entry<String, String> entry = eldest.next();
+                memoryChars -= entry.getKey().length() + entry.getValue().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    private static String read(final Path dir, final String key)
+    {
+        try
+        {
+            return Files.readString(pathOf(dir, key), UTF_8);
+        } catch (NoSuchFileException ex)
+        {
+            return null;
+        } catch (IOException ex)
+        {
+            Log.println(1, () -> "convert cache: " + ex);
+            return null;
+        }
+    }
+
+    private static void write(final Path dir, final String key, final String html)
+    {
+        try
+        {
+            Path path = pathOf(dir, key);
+            Files.createDirectories(path.getParent());
+
+            // Written whole, then moved into place, so that another build
+            // sharing the directory never reads part of it.
+            Path tempPath = Files.createTempFile(path.getParent(), key, ".tmp");
+            Files.writeString(tempPath, html, UTF_8);
+            Files.move(tempPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException ex)
+        {
+            Log.println(1, () -> "convert cache: " + ex);
+        }
+    }
+}
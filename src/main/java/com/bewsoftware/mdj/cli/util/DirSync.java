@@ -0,0 +1,352 @@
+/*
+ *  File Name:    DirSync.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.bewsoftware.mdj.cli.util.Constants.DEFAULT_INPUT_FILE_EXTN;
+import static java.nio.file.StandardCopyOption.COPY_ATTRIBUTES;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps a copy of a directory tree up to date.
+ * <p>
+ * A file is only copied if there is no copy, or the copy's size or last
+ * modified time differ from the file's.  As the last modified time is copied
+ * with the file, an unchanged file is never copied again.
+ * <p>
+ * Optionally, the files can be hard linked, instead of copied, where the
+ * file system allows it, and files no longer in the source tree can be
+ * removed from the copy.  The pages built from any markdown files in the
+ * source tree are never removed.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class DirSync
+{
+    private final AtomicInteger copied;
+
+    private final boolean link;
+
+    /**
+     * Set once linking has failed, so it is not tried again.
+     */
+    private volatile boolean linkFailed;
+
+    private final AtomicInteger linked;
+
+    private final boolean prune;
+
+    private final AtomicInteger pruned;
+
+    private final AtomicInteger skipped;
+
+    private final int threads;
+
+    /**
+     * Create a new instance of DirSync.
+     *
+     * @param threads The number of threads to copy the files with.
+     * @param link    Hard link the files, instead of copying them, where the
+     *                file system allows it.
+     * @param prune   Remove the files, and directories, that are no longer in
+     *                the source tree.
+     */
+    public DirSync(final int threads, final boolean link, final boolean prune)
+    {
+        this.threads = Math.max(threads, 1);
+        this.link = link;
+        this.prune = prune;
+        this.copied = new AtomicInteger();
+        this.linked = new AtomicInteger();
+        this.pruned = new AtomicInteger();
+        this.skipped = new AtomicInteger();
+    }
+
+    /**
+     * Get the number of files copied, so far.
+     *
+     * @return the count.
+     */
+    public int getCopied()
+    {
+        return copied.get();
+    }
+
+    /**
+     * Get the number of files hard linked, so far.
+     *
+     * @return the count.
+     */
+    public int getLinked()
+    {
+        return linked.get();
+    }
+
+    /**
+     * Get the number of files and directories removed, so far.
+     *
+     * @return the count.
+     */
+    public int getPruned()
+    {
+        return pruned.get();
+    }
+
+    /**
+     * Get the number of files left alone, as they were up to date.
+     *
+     * @return the count.
+     */
+    public int getSkipped()
+    {
+        return skipped.get();
+    }
+
+    /**
+     * Bring the copy of the source directory tree up to date.
+     * <p>
+     * If there is no source directory, there is nothing to do.
+     *
+     * @param srcDirPath  The source directory.
+     * @param destDirPath The directory to hold the copy.
+     *
+     * @throws IOException if any.
+     */
+    public void sync(final Path srcDirPath, final Path destDirPath) throws IOException
+    {
+        if (!Files.isDirectory(srcDirPath))
+        {
+            Log.println(1, () -> "sync: no such directory: " + srcDirPath);
+            return;
+        }
+
+        int copiedBefore = copied.get();
+        int linkedBefore = linked.get();
+        int skippedBefore = skipped.get();
+        int prunedBefore = pruned.get();
+        List<Path> files;
+
+        try ( Stream<Path> paths = Files.walk(srcDirPath))
+        {
+            files = paths.filter(Files::isRegularFile)
+                    .map(srcDirPath::relativize)
+                    .collect(Collectors.toList());
+        }
+
+        if (prune && Files.isDirectory(destDirPath))
+        {
+            prune(srcDirPath, destDirPath);
+        }
+
+        if (threads == 1 || files.size() < 2)
+        {
+            for (Path file : files)
+            {
+                syncFile(srcDirPath.resolve(file), destDirPath.resolve(file));
+            }
+        } else
+        {
+            syncConcurrently(srcDirPath, destDirPath, files);
+        }
+
+        Log.print(1, display -> display
+                .append("sync: ").append(srcDirPath)
+                .append(" -> ").appendln(destDirPath)
+                .append("    copied: ").append(copied.get() - copiedBefore)
+                .append(", linked: ").append(linked.get() - linkedBefore)
+                .append(", unchanged: ").append(skipped.get() - skippedBefore)
+                .append(", pruned: ").appendln(pruned.get() - prunedBefore));
+    }
+
+    /**
+     * Check whether or not the copy is up to date.
+     */
+    private static boolean isUpToDate(final BasicFileAttributes src, final Path destPath)
+            throws IOException
+    {
+        try
+        {
+            BasicFileAttributes dest = Files.readAttributes(destPath, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+
+            return dest.isRegularFile()
+                    && dest.size() == src.size()
+                    && dest.lastModifiedTime().toMillis() == src.lastModifiedTime().toMillis();
+        } catch (NoSuchFileException ex)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Get the path without the extension of its file name.
+     */
+    private static String baseName(final Path path)
+    {
+        String name = path.toString();
+        int dot = name.lastIndexOf('.');
+
+        return dot > name.lastIndexOf(path.getFileSystem().getSeparator()) ? name.substring(0, dot) : name;
+    }
+
+    /**
+     * Remove everything in the copy that is not in the source tree.
+     * <p>
+     * The pages built from the markdown files in the source tree are kept,
+     * whatever their extension.
+     */
+    private void prune(final Path srcDirPath, final Path destDirPath) throws IOException
+    {
+        Set<Path> keep = new HashSet<>();
+        Set<String> pages = new HashSet<>();
+
+        try ( Stream<Path> paths = Files.walk(srcDirPath))
+        {
+            paths.map(srcDirPath::relativize).forEach(path ->
+            {
+                keep.add(path);
+
+                if (path.toString().endsWith(DEFAULT_INPUT_FILE_EXTN))
+                {
+                    pages.add(baseName(path));
+                }
+            });
+        }
+
+        List<Path> remove;
+
+        try ( Stream<Path> paths = Files.walk(destDirPath))
+        {
+            // Deepest first, so each directory is empty before it is removed.
+            remove = paths.map(destDirPath::relativize)
+                    .filter(path -> !keep.contains(path) && !pages.contains(baseName(path)))
+                    .map(destDirPath::resolve)
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList());
+        }
+
+        for (Path path : remove)
+        {
+            Log.println(2, () -> "prune: " + path);
+            Files.delete(path);
+            pruned.incrementAndGet();
+        }
+    }
+
+    private void syncConcurrently(
+            final Path srcDirPath,
+            final Path destDirPath,
+            final List<Path> files
+    ) throws IOException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>(files.size());
+
+            for (Path file : files)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    syncFile(srcDirPath.resolve(file), destDirPath.resolve(file));
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures)
+            {
+                future.get();
+            }
+        } catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Synchronisation of: " + srcDirPath + ", was interrupted.", ex);
+        } catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof IOException ioex)
+            {
+                throw ioex;
+            }
+
+            throw new IOException(ex.getCause());
+        } finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private void syncFile(final Path srcPath, final Path destPath) throws IOException
+    {
+        BasicFileAttributes src = Files.readAttributes(srcPath, BasicFileAttributes.class);
+
+        if (isUpToDate(src, destPath))
+        {
+            skipped.incrementAndGet();
+            return;
+        }
+
+        Files.createDirectories(destPath.getParent());
+
+        if (link && !linkFailed)
+        {
+            try
+            {
+                Files.deleteIfExists(destPath);
+                Files.createLink(destPath, srcPath);
+                linked.incrementAndGet();
+                Log.println(2, () -> "link: " + destPath);
+                return;
+            } catch (UnsupportedOperationException | FileSystemException ex)
+            {
+                // Different file systems, or no hard links.  Copy instead.
+                linkFailed = true;
+                Log.println(1, () -> "sync: can not link, copying instead: " + ex);
+            }
+        }
+
+        Files.copy(srcPath, destPath, COPY_ATTRIBUTES, REPLACE_EXISTING);
+        copied.incrementAndGet();
+        Log.println(2, () -> "copy: " + destPath);
+    }
+}
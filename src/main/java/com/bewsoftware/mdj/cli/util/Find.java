@@ -22,23 +22,31 @@ package com.bewsoftware.mdj.cli.util;
 import com.bewsoftware.fileio.Finder;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.SortedSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.bewsoftware.mdj.cli.util.Constants.DEFAULT_INPUT_FILE_EXTN;
 import static com.bewsoftware.mdj.cli.util.Constants.DEFAULT_OUTPUT_FILE_EXTN;
 import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static java.lang.Character.MAX_VALUE;
-import static java.nio.file.Files.getLastModifiedTime;
-import static java.nio.file.Files.notExists;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.Path.of;
 
 /**
@@ -57,10 +65,15 @@ import static java.nio.file.Path.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 0.1
- * @version 2.0.2
+ * @version 2.1.4
  */
 public class Find
 {
+    /**
+     * The fewest markdown files for which the output files are checked in
+     * parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
 
     /**
      * Not meant to be instantiated.
@@ -91,19 +104,47 @@ public class Find
     {
 
         Path currentDir = FileSystems.getDefault().getPath("").toAbsolutePath();
-        DISPLAY.level(1).println("PWD: " + currentDir);
+        Log.println(1, () -> "PWD: " + currentDir);
 
         Finder finder = new Finder(
                 DISPLAY,
                 pattern != null ? pattern : "*" + DEFAULT_INPUT_FILE_EXTN
         );
 
+        IgnoreRules ignoreRules = IgnoreRules.load(srcPath);
+
         Files.walkFileTree(
                 srcPath,
                 EnumSet.noneOf(FileVisitOption.class),
                 recursive ? MAX_VALUE : 1,
-                finder
-        );
+                ignoreRules.isEmpty() ? finder : new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException
+            {
+                return finder.postVisitDirectory(dir, exc);
+            }
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException
+            {
+                return isIgnored(ignoreRules, srcPath, dir, true)
+                        ? SKIP_SUBTREE : finder.preVisitDirectory(dir, attrs);
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                return isIgnored(ignoreRules, srcPath, file, attrs.isDirectory())
+                        ? CONTINUE : finder.visitFile(file, attrs);
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException
+            {
+                return finder.visitFileFailed(file, exc);
+            }
+        });
 
         return finder.done();
     }
@@ -132,103 +173,492 @@ public class Find
             boolean recursive
     ) throws IOException
     {
+        return getUpdateListMatching(srcPath, destPath, patternsOf(pattern), outExtn, recursive);
+    }
 
-        Path currentDir = FileSystems.getDefault().getPath("").toAbsolutePath();
-        DISPLAY.level(1).println("PWD: " + currentDir);
+    /**
+     * Provides a list of files that need to be updated.
+     *
+     * @param srcPath   Start file search from this directory. (Default: "" -
+     *                  Current Working Directory)
+     * @param destPath  Prepare return list with this directory merged into
+     *                  output file paths. (Default: &lt;sourceDir&gt;)
+     * @param patterns  Glob file search patterns.  A file is found if it
+     *                  matches any of them. (Default: "{@code *.md}")
+     * @param outExtn   Output file extension. (Default: "{@code .html}")
+     * @param recursive {@code True} sets recursive directory tree walk.
+     *                  {@code False} keeps search to the current directory, only.
+     *
+     * @return List of {@linkplain FileData} objects.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static List<FileData> getUpdateListMatching(
+            Path srcPath,
+            Path destPath,
+            List<String> patterns,
+            String outExtn,
+            boolean recursive
+    ) throws IOException
+    {
+        return getUpdateListMatching(srcPath, destPath, patterns, outExtn, recursive, null);
+    }
 
-        Finder finder = new Finder(
-                DISPLAY,
-                pattern != null ? pattern.toString() : "*" + DEFAULT_INPUT_FILE_EXTN
+    /**
+     * Provides a list of files that need to be updated, using the index of
+     * the source tree kept from the last build.
+     *
+     * @param srcPath   Start file search from this directory. (Default: "" -
+     *                  Current Working Directory)
+     * @param destPath  Prepare return list with this directory merged into
+     *                  output file paths. (Default: &lt;sourceDir&gt;)
+     * @param patterns  Glob file search patterns.  A file is found if it
+     *                  matches any of them. (Default: "{@code *.md}")
+     * @param outExtn   Output file extension. (Default: "{@code .html}")
+     * @param recursive {@code True} sets recursive directory tree walk.
+     *                  {@code False} keeps search to the current directory, only.
+     * @param index     The index of the source tree, or {@code null} for none.
+     *
+     * @return List of {@linkplain FileData} objects.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static List<FileData> getUpdateListMatching(
+            Path srcPath,
+            Path destPath,
+            List<String> patterns,
+            String outExtn,
+            boolean recursive,
+            SourceIndex index
+    ) throws IOException
+    {
+        return displayFileOutList(
+                processFileInputList(
+                        findMarkdownFiles(srcPath, patterns, recursive, index),
+                        srcPath, destPath, outExtn, false, index
+                )
         );
+    }
 
-        Files.walkFileTree(
-                srcPath,
-                EnumSet.noneOf(FileVisitOption.class),
-                recursive ? MAX_VALUE : 1,
-                finder
-        );
+    /**
+     * Provides a list of all the files, whether or not they need to be
+     * updated.
+     * <p>
+     * Used with a {@link BuildManifest}, which then decides what needs to be
+     * updated.
+     *
+     * @param srcPath   Start file search from this directory. (Default: "" -
+     *                  Current Working Directory)
+     * @param destPath  Prepare return list with this directory merged into
+     *                  output file paths. (Default: &lt;sourceDir&gt;)
+     * @param pattern   Glob file search pattern. (Default: "{@code *.md}")
+     * @param outExtn   Output file extension. (Default: "{@code .html}")
+     * @param recursive {@code True} sets recursive directory tree walk.
+     *                  {@code False} keeps search to the current directory, only.
+     *
+     * @return List of {@linkplain FileData} objects.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static List<FileData> getSourceList(
+            Path srcPath,
+            Path destPath,
+            File pattern,
+            String outExtn,
+            boolean recursive
+    ) throws IOException
+    {
+        return getSourceListMatching(srcPath, destPath, patternsOf(pattern), outExtn, recursive);
+    }
 
-        return displayFileOutList(
-                processFileInputList(finder, srcPath, destPath, outExtn)
-        );
+    /**
+     * Provides a list of all the files, whether or not they need to be
+     * updated.
+     *
+     * @param srcPath   Start file search from this directory. (Default: "" -
+     *                  Current Working Directory)
+     * @param destPath  Prepare return list with this directory merged into
+     *                  output file paths. (Default: &lt;sourceDir&gt;)
+     * @param patterns  Glob file search patterns.  A file is found if it
+     *                  matches any of them. (Default: "{@code *.md}")
+     * @param outExtn   Output file extension. (Default: "{@code .html}")
+     * @param recursive {@code True} sets recursive directory tree walk.
+     *                  {@code False} keeps search to the current directory, only.
+     *
+     * @return List of {@linkplain FileData} objects.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static List<FileData> getSourceListMatching(
+            Path srcPath,
+            Path destPath,
+            List<String> patterns,
+            String outExtn,
+            boolean recursive
+    ) throws IOException
+    {
+        return getSourceListMatching(srcPath, destPath, patterns, outExtn, recursive, null);
     }
 
-    private static void addInPathToOutList(
-            Path outPath,
-            Path inPath,
-            List<FileData> outList
+    /**
+     * Provides a list of all the files, whether or not they need to be
+     * updated, using the index of the source tree kept from the last build.
+     *
+     * @param srcPath   Start file search from this directory. (Default: "" -
+     *                  Current Working Directory)
+     * @param destPath  Prepare return list with this directory merged into
+     *                  output file paths. (Default: &lt;sourceDir&gt;)
+     * @param patterns  Glob file search patterns.  A file is found if it
+     *                  matches any of them. (Default: "{@code *.md}")
+     * @param outExtn   Output file extension. (Default: "{@code .html}")
+     * @param recursive {@code True} sets recursive directory tree walk.
+     *                  {@code False} keeps search to the current directory, only.
+     * @param index     The index of the source tree, or {@code null} for none.
+     *
+     * @return List of {@linkplain FileData} objects.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static List<FileData> getSourceListMatching(
+            Path srcPath,
+            Path destPath,
+            List<String> patterns,
+            String outExtn,
+            boolean recursive,
+            SourceIndex index
     ) throws IOException
     {
-        if (notExists(outPath)
-                || inPathFileIsNewerThanOutPathFile(inPath, outPath))
-        {
-            outList.add(new FileData(inPath, outPath));
-        }
+        return displayFileOutList(
+                processFileInputList(
+                        findMarkdownFiles(srcPath, patterns, recursive, index),
+                        srcPath, destPath, outExtn, true, index
+                )
+        );
     }
 
     private static List<FileData> displayFileOutList(List<FileData> outList)
     {
-        DISPLAY.level(2).appendln("outList:");
-        outList.forEach(fileData -> DISPLAY.appendln(fileData.destinationPath));
-        DISPLAY.flush();
+        Log.print(2, display ->
+        {
+            display.appendln("outList:");
+            outList.forEach(fileData -> display.appendln(fileData.destinationPath));
+        });
 
         return outList;
     }
 
-    private static boolean inPathFileIsNewerThanOutPathFile(
-            Path inPath,
-            Path outPath
+    /**
+     * Find the markdown files, along with their last modified times, in a
+     * single walk of the directory tree.
+     * <p>
+     * The directories ignored by the {@link IgnoreRules} are not walked.
+     * With an index, the directories that have not changed are not read.
+     *
+     * @return the files, in order.
+     */
+    private static List<SourceFile> findMarkdownFiles(
+            Path srcPath,
+            List<String> patterns,
+            boolean recursive,
+            SourceIndex index
     ) throws IOException
     {
-        return getLastModifiedTime(inPath).
-                compareTo(getLastModifiedTime(outPath)) > 0;
+        Path currentDir = FileSystems.getDefault().getPath("").toAbsolutePath();
+        Log.println(1, () -> "PWD: " + currentDir);
+
+        List<PathMatcher> matchers = new ArrayList<>();
+
+        for (String pattern : patterns.isEmpty() ? List.of("*" + DEFAULT_INPUT_FILE_EXTN) : patterns)
+        {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+        }
+
+        IgnoreRules ignoreRules = IgnoreRules.load(srcPath);
+        List<SourceFile> inList = new ArrayList<>();
+
+        if (index != null)
+        {
+            walkIndexed(index, srcPath, srcPath, recursive, matchers, ignoreRules, inList);
+            inList.sort(Comparator.comparing(SourceFile::path));
+            return inList;
+        }
+
+        Files.walkFileTree(
+                srcPath,
+                EnumSet.noneOf(FileVisitOption.class),
+                recursive ? MAX_VALUE : 1,
+                new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+            {
+                return isIgnored(ignoreRules, srcPath, dir, true) ? SKIP_SUBTREE : CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+            {
+                if (!attrs.isDirectory()
+                        && matches(matchers, srcPath, file)
+                        && !isIgnored(ignoreRules, srcPath, file, false))
+                {
+                    // A link's own attributes are not those of its file.
+                    BasicFileAttributes fileAttrs = attrs.isSymbolicLink()
+                            ? Files.readAttributes(file, BasicFileAttributes.class)
+                            : attrs;
+
+                    if (fileAttrs.isRegularFile())
+                    {
+                        inList.add(new SourceFile(file, fileAttrs));
+                    }
+                }
+
+                return CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc)
+            {
+                Log.println(1, () -> "Find: " + exc);
+                return CONTINUE;
+            }
+        });
+
+        inList.sort(Comparator.comparing(SourceFile::path));
+        return inList;
+    }
+
+    /**
+     * Check whether a file, or directory, below the top of the tree is
+     * ignored.
+     */
+    static boolean isIgnored(IgnoreRules ignoreRules, Path srcPath, Path path, boolean directory)
+    {
+        return !ignoreRules.isEmpty()
+                && !path.equals(srcPath)
+                && ignoreRules.isIgnored(srcPath.relativize(path), directory);
     }
 
+    /**
+     * Check whether the file matches any of the patterns.  A pattern with a
+     * '/' is matched against the path relative to the top of the tree.
+     * Otherwise, against the file's name.
+     */
+    private static boolean matches(List<PathMatcher> matchers, Path srcPath, Path file)
+    {
+        Path name = file.getFileName();
+        Path relative = null;
+
+        for (PathMatcher matcher : matchers)
+        {
+            if (name != null && matcher.matches(name))
+            {
+                return true;
+            }
+
+            if (relative == null)
+            {
+                relative = srcPath.relativize(file);
+            }
+
+            if (matcher.matches(relative))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check the output file of each markdown file.
+     * <p>
+     * Each output file's attributes are read once, in parallel if there are
+     * many.
+     */
     private static List<FileData> processFileInputList(
-            Finder finder,
+            List<SourceFile> inList,
             Path srcPath,
             Path destPath,
-            String outExtn
+            String outExtn,
+            boolean all,
+            SourceIndex index
     ) throws IOException
     {
-        SortedSet<Path> inList = finder.done();
-        List<FileData> outList = new ArrayList<>(inList.size());
+        Log.print(2, display ->
+        {
+            display.appendln("inpList:");
+            inList.forEach(inFile -> display.appendln(inFile.path()));
+        });
+
+        boolean relative = !srcPath.toString().isEmpty() && destPath != null;
+        String destDir = destPath != null ? destPath.toString() : "";
+        String extn = outExtn != null ? outExtn : DEFAULT_OUTPUT_FILE_EXTN;
 
-        DISPLAY.level(2).appendln("inpList:");
+        Stream<SourceFile> stream = inList.size() >= PARALLEL_THRESHOLD
+                ? inList.parallelStream() : inList.stream();
 
-        for (Path inPath : inList)
+        try
         {
-            processInPath(inPath, srcPath, destPath, outExtn, outList);
+            return stream.map(inFile ->
+            {
+                Path inPath = inFile.path();
+                String basename = removeExtension(
+                        (relative ? srcPath.relativize(inPath) : inPath).toString()
+                );
+
+                Path outPath = of(destDir, basename + extn);
+
+                return all || isOutOfDate(inFile, outPath, index)
+                        ? new FileData(inPath, outPath) : null;
+            })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException ex)
+        {
+            throw ex.getCause();
         }
+    }
 
-        DISPLAY.flush();
-        return outList;
+    /**
+     * Check whether the output file is missing, or older than the markdown
+     * file.
+     * <p>
+     * With an index, the output file is only checked if the index can not
+     * show that it is still up to date.
+     */
+    private static boolean isOutOfDate(SourceFile inFile, Path outPath, SourceIndex index)
+    {
+        if (index != null && index.isUpToDate(inFile.path(), inFile.attrs(), outPath))
+        {
+            return false;
+        }
+
+        boolean outOfDate;
+
+        try
+        {
+            outOfDate = inFile.attrs().lastModifiedTime().compareTo(
+                    Files.readAttributes(outPath, BasicFileAttributes.class).lastModifiedTime()
+            ) > 0;
+        } catch (NoSuchFileException ex)
+        {
+            outOfDate = true;
+        } catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (index != null)
+        {
+            index.put(inFile.path(), inFile.attrs(), outPath, !outOfDate);
+        }
+
+        return outOfDate;
     }
 
-    private static void processInPath(Path inPath, Path srcPath, Path destPath, String outExtn, List<FileData> outList) throws IOException
+    private static List<String> patternsOf(File pattern)
     {
-        DISPLAY.appendln(inPath);
-        Matcher m;
+        return pattern != null ? List.of(pattern.toString()) : List.of();
+    }
 
-        if (srcPath.toString().isEmpty() || destPath == null)
+    /**
+     * Remove the file extension: '.' followed by word characters, if any.
+     */
+    private static String removeExtension(String path)
+    {
+        int dot = path.lastIndexOf('.');
+
+        if (dot < 0 || dot == path.length() - 1)
         {
-            m = Pattern.compile("^(?<basename>.*?)(?:[.]\\w+)?$")
-                    .matcher(inPath.toString());
-        } else
+            return path;
+        }
+
+        for (int i = dot + 1; i < path.length(); i++)
         {
-            m = Pattern.compile("^(?:" + srcPath + "/)(?<basename>.*?)(?:[.]\\w+)?$")
-                    .matcher(inPath.toString());
+            char c = path.charAt(i);
+
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9') || c == '_'))
+            {
+                return path;
+            }
         }
 
-        if (m.find())
+        return path.substring(0, dot);
+    }
+
+    /**
+     * Walk the directory tree, reading only the directories that have changed
+     * since the index was saved.
+     */
+    private static void walkIndexed(
+            SourceIndex index,
+            Path srcPath,
+            Path dir,
+            boolean recursive,
+            List<PathMatcher> matchers,
+            IgnoreRules ignoreRules,
+            List<SourceFile> inList
+    )
+    {
+        List<SourceIndex.Entry> entries;
+
+        try
         {
-            String basename = m.group("basename");
-            Path outPath = of(
-                    destPath != null ? destPath.toString() : "",
-                    basename + (outExtn != null ? outExtn : DEFAULT_OUTPUT_FILE_EXTN)
-            );
+            entries = index.list(dir);
+        } catch (IOException ex)
+        {
+            Log.println(1, () -> "Find: " + ex);
+            return;
+        }
+
+        for (SourceIndex.Entry entry : entries)
+        {
+            Path path = dir.resolve(entry.name());
+
+            if (entry.directory())
+            {
+                if (recursive && !isIgnored(ignoreRules, srcPath, path, true))
+                {
+                    walkIndexed(index, srcPath, path, recursive, matchers, ignoreRules, inList);
+                }
+            } else if (matches(matchers, srcPath, path)
+                    && !isIgnored(ignoreRules, srcPath, path, false))
+            {
+                try
+                {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
 
-            addInPathToOutList(outPath, inPath, outList);
+                    if (attrs.isRegularFile())
+                    {
+                        inList.add(new SourceFile(path, attrs));
+                    }
+                } catch (IOException ex)
+                {
+                    Log.println(1, () -> "Find: " + ex);
+                }
+            }
         }
     }
+
+    /**
+     * A markdown file, found in the walk.
+     *
+     * @param path  of the file.
+     * @param attrs of the file.
+     */
+    private record SourceFile(Path path, BasicFileAttributes attrs)
+    {
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ *  File Name:    IgnoreRules.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The rules from an ignore file: {@value #FILENAME}, in the top of a
+ * directory tree.
+ * <p>
+ * The file is in the style of a ".gitignore" file.  Each line holds a glob
+ * pattern:
+ * <ul>
+ * <li>Blank lines, and those starting with '#', are skipped.  Use "\#" for
+ * a pattern starting with '#'.</li>
+ * <li>A pattern starting with '!' includes what an earlier one excluded.
+ * Use "\!" for a pattern starting with '!'.</li>
+ * <li>A pattern ending with '/' only matches directories.</li>
+ * <li>A pattern with no other '/' matches a file or directory name, at any
+ * level.  Otherwise, it matches the path relative to the top of the tree.
+ * A leading "&#42;&#42;/" matches any number of directories,
+ * including none.</li>
+ * <li>The last pattern that matches a path, decides whether it is
+ * ignored.</li>
+ * </ul>
+ * As the contents of an ignored directory are never looked at, a file in it
+ * can not be included again.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class IgnoreRules
+{
+    /**
+     * The name of the ignore file.
+     */
+    public static final String FILENAME = ".mdjignore";
+
+    /**
+     * No rules: nothing is ignored.
+     */
+    public static final IgnoreRules NONE = new IgnoreRules(List.of());
+
+    private final List<Rule> rules;
+
+    private IgnoreRules(final List<Rule> rules)
+    {
+        this.rules = rules;
+    }
+
+    /**
+     * Load the ignore file from the top of a directory tree.
+     *
+     * @param dirPath The directory.
+     *
+     * @return the rules, or {@link #NONE} if there is no ignore file.
+     *
+     * @throws IOException if any.
+     */
+    public static IgnoreRules load(final Path dirPath) throws IOException
+    {
+        Path ignorePath = dirPath.resolve(FILENAME);
+
+        if (!Files.isRegularFile(ignorePath))
+        {
+            return NONE;
+        }
+
+        Log.println(2, () -> "ignore file: " + ignorePath);
+        return parse(Files.readAllLines(ignorePath, UTF_8));
+    }
+
+    /**
+     * Parse the lines of an ignore file.
+     *
+     * @param lines The lines.
+     *
+     * @return the rules.
+     */
+    public static IgnoreRules parse(final List<String> lines)
+    {
+        List<Rule> rules = new ArrayList<>();
+
+        for (String line : lines)
+        {
+            Rule rule = Rule.parse(line.strip());
+
+            if (rule != null)
+            {
+                rules.add(rule);
+            }
+        }
+
+        return rules.isEmpty() ? NONE : new IgnoreRules(rules);
+    }
+
+    /**
+     * Check whether a file, or directory, is ignored.
+     *
+     * @param relativePath The path, relative to the top of the tree.
+     * @param directory    {@code true} if it is a directory.
+     *
+     * @return {@code true} if it is ignored.
+     */
+    public boolean isIgnored(final Path relativePath, final boolean directory)
+    {
+        boolean ignored = false;
+
+        for (Rule rule : rules)
+        {
+            if (ignored == rule.negated && rule.matches(relativePath, directory))
+            {
+                ignored = !rule.negated;
+            }
+        }
+
+        return ignored;
+    }
+
+    /**
+     * Check whether there are any rules.
+     *
+     * @return {@code true} if there are none.
+     */
+    public boolean isEmpty()
+    {
+        return rules.isEmpty();
+    }
+
+    /**
+     * A single line of the ignore file.
+     */
+    private static final class Rule
+    {
+        /**
+         * {@code true} to match the path.  Otherwise, just the name.
+         */
+        final boolean anchored;
+
+        final boolean directoryOnly;
+
+        final List<PathMatcher> matchers;
+
+        final boolean negated;
+
+        private Rule(
+                final boolean negated,
+                final boolean directoryOnly,
+                final boolean anchored,
+                final List<PathMatcher> matchers
+        )
+        {
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+            this.anchored = anchored;
+            this.matchers = matchers;
+        }
+
+        static Rule parse(final String line)
+        {
+            if (line.isEmpty() || line.startsWith("#"))
+            {
+                return null;
+            }
+
+            String pattern = line;
+            boolean negated = pattern.startsWith("!");
+
+            if (negated || pattern.startsWith("\\#") || pattern.startsWith("\\!"))
+            {
+                pattern = pattern.substring(1);
+            }
+
+            boolean directoryOnly = pattern.endsWith("/");
+
+            while (pattern.endsWith("/"))
+            {
+                pattern = pattern.substring(0, pattern.length() - 1);
+            }
+
+            boolean anyDepth = pattern.startsWith("**/");
+
+            while (pattern.startsWith("**/"))
+            {
+                pattern = pattern.substring(3);
+            }
+
+            boolean anchored = pattern.contains("/");
+
+            if (pattern.startsWith("/"))
+            {
+                pattern = pattern.substring(1);
+            }
+
+            if (pattern.isEmpty())
+            {
+                return null;
+            }
+
+            List<PathMatcher> matchers = new ArrayList<>(2);
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + pattern));
+
+            if (anchored && anyDepth)
+            {
+                matchers.add(FileSystems.getDefault().getPathMatcher("glob:**/" + pattern));
+            }
+
+            return new Rule(negated, directoryOnly, anchored, matchers);
+        }
+
+        boolean matches(final Path relativePath, final boolean directory)
+        {
+            if (directoryOnly && !directory)
+            {
+                return false;
+            }
+
+            Path path = anchored ? relativePath : relativePath.getFileName();
+
+            if (path == null)
+            {
+                return false;
+            }
+
+            for (PathMatcher matcher : matchers)
+            {
+                if (matcher.matches(path))
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  File Name:    IniPageContext.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniDocument;
+import com.bewsoftware.property.IniProperty;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link PageContext} that reads and writes directly to an
+ * {@link IniDocument}.
+ * <p>
+ * This is the original behaviour, where every page shares the one
+ * document.  It is <b>not</b> thread-safe.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class IniPageContext implements PageContext
+{
+    private final IniDocument iniDoc;
+
+    /**
+     * Create a new instance of IniPageContext.
+     *
+     * @param iniDoc The document to use.
+     */
+    public IniPageContext(final IniDocument iniDoc)
+    {
+        this.iniDoc = iniDoc;
+    }
+
+    @Override
+    public Map<String, String> getSection(final String section)
+    {
+        Map<String, String> rtn = new LinkedHashMap<>();
+        List<IniProperty<String>> props = iniDoc.getSection(section);
+
+        if (props != null)
+        {
+            props.forEach(prop -> rtn.put(prop.key(), prop.value()));
+        }
+
+        return rtn;
+    }
+
+    @Override
+    public String getString(final String section, final String key, final String defaultValue)
+    {
+        return iniDoc.getString(section, key, defaultValue);
+    }
+
+    @Override
+    public void removeSection(final String section)
+    {
+        iniDoc.removeSection(section);
+    }
+
+    @Override
+    public void setString(final String section, final String key, final String value)
+    {
+        iniDoc.setString(section, key, value);
+    }
+
+    @Override
+    public void setString(
+            final String section,
+            final String key,
+            final String value,
+            final String comment
+    )
+    {
+        iniDoc.setString(section, key, value, comment);
+    }
+}
@@ -22,23 +22,36 @@ package com.bewsoftware.mdj.cli.util;
 import com.bewsoftware.fileio.ini.IniFile;
 import com.bewsoftware.httpserver.HTTPServer;
 import java.io.*;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
-import java.util.jar.JarEntry;
-import java.util.jar.JarOutputStream;
+import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.zip.Deflater;
+import java.util.zip.ZipException;
 
 import static com.bewsoftware.fileio.BEWFiles.getResource;
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.Constants.POM;
 import static com.bewsoftware.mdj.cli.util.Find.getFileList;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
  * Utility class providing static methods to work with JAR files.
@@ -46,10 +59,27 @@ import static com.bewsoftware.mdj.cli.util.GlobalVariables.conf;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 0.1
- * @version 1.1.9
+ * @version 2.1.4
  */
 public class Jar
 {
+    /**
+     * The manifest attribute holding the hash of everything that went into a
+     * reproducible jar file.
+     *
+     * @since 2.1.4
+     */
+    public static final Attributes.Name INPUT_HASH = new Attributes.Name("Input-Hash");
+
+    /**
+     * The last modified time of a reproducible jar file's entries, unless
+     * the {@code SOURCE_DATE_EPOCH} environment variable is set:
+     * 1980-02-01T00:00:00Z.
+     *
+     * @since 2.1.4
+     */
+    public static final FileTime REPRODUCIBLE_TIME = FileTime.from(Instant.parse("1980-02-01T00:00:00Z"));
+
     /**
      * Not meant to be instantiated.
      */
@@ -60,10 +90,14 @@ public class Jar
     /**
      * Add the HTTP Server to an existing 'jar' file.
      * <p>
-     * TODO Finish this.
+     * The new version is written alongside the old one, and then replaces
+     * it.  The existing entries are copied across still compressed, except
+     * for those replaced by the HTTP Server's files.  The manifest's
+     * attributes are merged into the existing ones.
      *
      * @param jarFile      The existing jar file.
-     * @param jarFilePaths Jar file paths to include.
+     * @param jarFilePaths Jar file paths to include, from this program's
+     *                     "/docs/jar" directory.
      * @param manifest     The manifest to include.
      *
      * @throws IOException if any.
@@ -73,19 +107,98 @@ public class Jar
             final List<Path> jarFilePaths,
             final Manifest manifest
     ) throws IOException
+    {
+        Log.print(3, display -> display
+                .append("jarFile: |").append(jarFile).appendln("| (add HTTP Server)"));
+
+        Path jarFileDirPath;
+
+        try
+        {
+            jarFileDirPath = getResource(Jar.class, "/docs/jar").toAbsolutePath();
+        } catch (URISyntaxException ex)
+        {
+            throw new IOException(ex);
+        }
+
+        Path jarPath = jarFile.toPath().toAbsolutePath();
+        CompressionPolicy policy = new CompressionPolicy(Deflater.BEST_COMPRESSION, Map.of());
+        Manifest merged = mergeManifest(jarFile, manifest);
+        long start = System.nanoTime();
+        Path temp = Files.createTempFile(jarPath.getParent(), jarPath.getFileName().toString(), ".tmp");
+
+        try
+        {
+            try ( ZipReader previous = new ZipReader(jarPath);
+                     ZipReader bundled = openBundled(jarFileDirPath);
+                     ZipWriter zip = new ZipWriter(temp, Deflater.BEST_COMPRESSION, 1))
+            {
+                Set<String> names = new HashSet<>();
+                names.add(JarFile.MANIFEST_NAME);
+
+                addManifest(zip, merged, policy);
+                addFiles(zip, jarFilePaths, jarFileDirPath, policy, bundled, previous, names);
+
+                for (ZipReader.Entry entry : previous.getEntries().values())
+                {
+                    if (!names.contains(entry.name()))
+                    {
+                        zip.copy(previous, entry);
+                    }
+                }
+
+                zip.finish();
+                printSummary(zip, System.nanoTime() - start);
+            }
+
+            replace(temp, jarPath);
+        } finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Create a 'jar' file containing the files whose paths are supplied.
+     *
+     * @param jarFile        The new jar file.
+     * @param jarFilePaths   Jar file paths to include.
+     * @param jarFileDirPath Jar file directory path.
+     * @param filePaths      Paths to the files to include.
+     * @param fileDirPath    Directory to process.
+     * @param manifest       The manifest to include.
+     *
+     * @throws IOException if any.
+     */
+    public static void createJAR(
+            final File jarFile,
+            final List<Path> jarFilePaths,
+            final Path jarFileDirPath,
+            final List<Path> filePaths,
+            final Path fileDirPath,
+            final Manifest manifest
+    ) throws IOException
     {
         createJAR(
                 jarFile,
                 jarFilePaths,
-                null,
-                null,
-                null,
-                manifest
+                jarFileDirPath,
+                filePaths,
+                fileDirPath,
+                manifest,
+                new CompressionPolicy(Deflater.BEST_COMPRESSION, Map.of()),
+                1,
+                null
         );
     }
 
     /**
      * Create a 'jar' file containing the files whose paths are supplied.
+     * <p>
+     * The entries are compressed on {@code threads} threads, each at the
+     * level chosen by the {@code policy}, and written in the order supplied.
+     * If the jar file paths are inside a jar file, such as this program's
+     * own, their entries are copied from it still compressed.
      *
      * @param jarFile        The new jar file.
      * @param jarFilePaths   Jar file paths to include.
@@ -93,8 +206,14 @@ public class Jar
      * @param filePaths      Paths to the files to include.
      * @param fileDirPath    Directory to process.
      * @param manifest       The manifest to include.
+     * @param policy         Chooses the compression level of each entry.
+     * @param threads        The number of threads to compress the entries on.
+     * @param time           The entries' last modified time, or {@code null}
+     *                       for the current time.
      *
      * @throws IOException if any.
+     *
+     * @since 2.1.4
      */
     public static void createJAR(
             final File jarFile,
@@ -102,31 +221,109 @@ public class Jar
             final Path jarFileDirPath,
             final List<Path> filePaths,
             final Path fileDirPath,
-            final Manifest manifest
+            final Manifest manifest,
+            final CompressionPolicy policy,
+            final int threads,
+            final FileTime time
     ) throws IOException
     {
 
-        DISPLAY.level(3)
-                .append("jarFile: |").append(jarFile).println("|");
+        Log.print(3, display -> display
+                .append("jarFile: |").append(jarFile).appendln("|"));
+
+        long start = System.nanoTime();
 
-        List<IOException> exceptions = new ArrayList<>();
+        try ( ZipReader bundled = openBundled(jarFileDirPath);
+                 ZipWriter zip = new ZipWriter(jarFile.toPath(), Deflater.BEST_COMPRESSION, threads, time))
+        {
+            addManifest(zip, manifest, policy);
+            addFiles(zip, jarFilePaths, jarFileDirPath, policy, bundled, null, new HashSet<>());
+            addFiles(zip, filePaths, fileDirPath, policy, null, null, new HashSet<>());
+            zip.finish();
+            printSummary(zip, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Update an existing 'jar' file, so that it contains the files whose
+     * paths are supplied, or create it if there is none.
+     * <p>
+     * The new version is written alongside the old one, and then replaces
+     * it.  The entries whose files have the same size and CRC as before are
+     * copied across still compressed.  Only those whose files have changed,
+     * or are new, are compressed.  The entries whose files are no longer
+     * supplied are left out, and the manifest is replaced.
+     *
+     * @param jarFile        The jar file.
+     * @param jarFilePaths   Jar file paths to include.
+     * @param jarFileDirPath Jar file directory path.
+     * @param filePaths      Paths to the files to include.
+     * @param fileDirPath    Directory to process.
+     * @param manifest       The manifest to include.
+     * @param policy         Chooses the compression level of each entry.
+     * @param threads        The number of threads to compress the entries on.
+     * @param time           The entries' last modified time, or {@code null}
+     *                       for the current time.
+     *
+     * @throws IOException if any.
+     *
+     * @since 2.1.4
+     */
+    public static void updateJAR(
+            final File jarFile,
+            final List<Path> jarFilePaths,
+            final Path jarFileDirPath,
+            final List<Path> filePaths,
+            final Path fileDirPath,
+            final Manifest manifest,
+            final CompressionPolicy policy,
+            final int threads,
+            final FileTime time
+    ) throws IOException
+    {
+        Path jarPath = jarFile.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(jarPath.getParent(), jarPath.getFileName().toString(), ".tmp");
 
-        try ( JarOutputStream jos
-                = new JarOutputStream(
-                        new BufferedOutputStream(
-                                new FileOutputStream(jarFile)),
-                        manifest
-                ))
+        try
         {
+            ZipReader previous = openPrevious(jarPath);
+
+            if (previous == null)
+            {
+                createJAR(jarFile, jarFilePaths, jarFileDirPath, filePaths, fileDirPath, manifest, policy, threads, time);
+                return;
+            }
+
+            Log.print(3, display -> display
+                    .append("jarFile: |").append(jarFile).appendln("| (update)"));
 
-            jos.setLevel(Deflater.BEST_COMPRESSION);
-            copyFilesFromMDjCLIJarFile(jarFilePaths, jos, jarFileDirPath, exceptions);
-            copyFilesFromUserDocsDirectory(filePaths, jos, fileDirPath, exceptions);
+            long start = System.nanoTime();
+            Set<String> names = new HashSet<>();
+            names.add(JarFile.MANIFEST_NAME);
 
-            if (!exceptions.isEmpty())
+            try ( previous;  ZipReader bundled = openBundled(jarFileDirPath);
+                     ZipWriter zip = new ZipWriter(temp, Deflater.BEST_COMPRESSION, threads, time))
             {
-                throw exceptions.remove(0);
+                addManifest(zip, manifest, policy);
+                addFiles(zip, jarFilePaths, jarFileDirPath, policy, bundled, previous, names);
+                addFiles(zip, filePaths, fileDirPath, policy, null, previous, names);
+                zip.finish();
+                printSummary(zip, System.nanoTime() - start);
+
+                long removed = previous.getEntries().keySet().stream()
+                        .filter(name -> !names.contains(name))
+                        .count();
+
+                Log.print(1, display -> display
+                        .append("jar: ").append(zip.getCopiedCount()).append(" entries unchanged, ")
+                        .append(zip.getCount() - zip.getCopiedCount()).append(" added or replaced, ")
+                        .append(removed).appendln(" removed"));
             }
+
+            replace(temp, jarPath);
+        } finally
+        {
+            Files.deleteIfExists(temp);
         }
     }
 
@@ -145,27 +342,124 @@ public class Jar
             final File jarFile,
             final Path jarSourcePath
     ) throws IOException, URISyntaxException
+    {
+        return createJarFile(
+                jarFile,
+                jarSourcePath,
+                new CompressionPolicy(Deflater.BEST_COMPRESSION, Map.of()),
+                1,
+                false,
+                false
+        );
+    }
+
+    /**
+     * Create jar file, compressing its entries on several threads, or update
+     * it.
+     * <p>
+     * A reproducible jar file has the same bytes whenever it is built from
+     * the same files.  Its entries are in order of their names, and all have
+     * the same last modified time: that set by the {@code SOURCE_DATE_EPOCH}
+     * environment variable, or else {@link #REPRODUCIBLE_TIME}.  Its
+     * manifest's attributes are in order of their names, and include a hash
+     * of everything that goes into the jar file.  If the existing jar file
+     * has the same hash, it is left as it is.
+     *
+     * @param jarFile       Output file name.
+     * @param jarSourcePath Path of directory to process.
+     * @param policy        Chooses the compression level of each entry.
+     * @param threads       The number of threads to compress the entries on.
+     * @param update        Update the jar file, if it exists, instead of
+     *                      creating it again.
+     * @param reproducible  Make the jar file reproducible.
+     *
+     * @return Always '0'.
+     *
+     * @throws IOException        if any.
+     * @throws URISyntaxException if any.
+     *
+     * @since 2.1.4
+     */
+    public static int createJarFile(
+            final File jarFile,
+            final Path jarSourcePath,
+            final CompressionPolicy policy,
+            final int threads,
+            final boolean update,
+            final boolean reproducible
+    ) throws IOException, URISyntaxException
     {
 
         // Get source directory from jar file.
         Path jarDirPath = getResource(Jar.class, "/docs/jar").toAbsolutePath();
 
-        DISPLAY.level(2)
+        Log.print(2, display -> display
                 .append("srcDirPath: ").appendln(jarDirPath)
-                .append("srcDirPath exists: ").println(Files.exists(jarDirPath));
+                .append("srcDirPath exists: ").appendln(Files.exists(jarDirPath)));
 
         SortedSet<Path> jarFileSet = getFileList(jarDirPath, "*", true);
         SortedSet<Path> fileSet = getFileList(jarSourcePath, "*", true);
+        fileSet.removeIf(path -> path.endsWith(BuildManifest.FILENAME)
+                || path.endsWith(SourceIndex.FILENAME)
+                || isInCacheDir(path));
         Manifest manifest = getManifest(POM, conf);
+        List<Path> jarFilePaths = new ArrayList<>(jarFileSet);
+        List<Path> filePaths = new ArrayList<>(fileSet);
+        FileTime time = null;
 
-        createJAR(
-                jarFile,
-                new ArrayList<>(jarFileSet),
-                jarDirPath,
-                new ArrayList<>(fileSet),
-                jarSourcePath,
-                manifest
-        );
+        if (reproducible)
+        {
+            time = reproducibleTime();
+            sortByName(jarFilePaths, jarDirPath);
+            sortByName(filePaths, jarSourcePath);
+
+            String hash = inputHash(
+                    canonical(manifest),
+                    time,
+                    policy,
+                    jarFilePaths,
+                    jarDirPath,
+                    filePaths,
+                    jarSourcePath
+            );
+
+            if (hash.equals(getInputHash(jarFile)))
+            {
+                Log.println(1, () -> "jar: " + jarFile + " is up to date.");
+                return 0;
+            }
+
+            manifest.getMainAttributes().put(INPUT_HASH, hash);
+            manifest = canonical(manifest);
+        }
+
+        if (update)
+        {
+            updateJAR(
+                    jarFile,
+                    jarFilePaths,
+                    jarDirPath,
+                    filePaths,
+                    jarSourcePath,
+                    manifest,
+                    policy,
+                    threads,
+                    time
+            );
+        } else
+        {
+            createJAR(
+                    jarFile,
+                    jarFilePaths,
+                    jarDirPath,
+                    filePaths,
+                    jarSourcePath,
+                    manifest,
+                    policy,
+                    threads,
+                    time
+            );
+        }
 
         return 0;
     }
@@ -243,93 +537,367 @@ public class Jar
     }
 
     /**
-     * Add the contents of the file for the new entry into the jar file.
+     * Get the hash of everything that went into a reproducible jar file.
      *
-     * @param jos           The jar file.
-     * @param entryFilePath The file to copy in.
+     * @param jarFile The jar file.
      *
-     * @throws IOException if any.
+     * @return the hash, or {@code null} if there is no jar file, or it is
+     *         not reproducible.
+     *
+     * @since 2.1.4
+     */
+    public static String getInputHash(final File jarFile)
+    {
+        if (!jarFile.isFile())
+        {
+            return null;
+        }
+
+        try ( JarFile jar = new JarFile(jarFile, false))
+        {
+            Manifest manifest = jar.getManifest();
+
+            return manifest != null ? manifest.getMainAttributes().getValue(INPUT_HASH) : null;
+        } catch (IOException ex)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Add the manifest, if any, as the first entry.
+     */
+    static void addManifest(
+            final ZipWriter zip,
+            final Manifest manifest,
+            final CompressionPolicy policy
+    ) throws IOException
+    {
+        if (manifest != null)
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            manifest.write(bytes);
+            zip.add(JarFile.MANIFEST_NAME, bytes.toByteArray(), policy.levelOf(JarFile.MANIFEST_NAME));
+        }
+    }
+
+    /**
+     * Add the files, other than directories, as entries named by their paths
+     * relative to {@code dirPath}.  The files inside the {@code bundled} jar
+     * file are copied from it, and those that have not changed from the
+     * {@code previous} jar file, from that, if either is given.  Their names
+     * are added to {@code names}.
      */
-    private static void addEntryContent(
-            final JarOutputStream jos,
-            final Path entryFilePath
+    static void addFiles(
+            final ZipWriter zip,
+            final List<Path> filePaths,
+            final Path dirPath,
+            final CompressionPolicy policy,
+            final ZipReader bundled,
+            final ZipReader previous,
+            final Set<String> names
     ) throws IOException
     {
-        try ( BufferedInputStream bis = new BufferedInputStream(
-                Files.newInputStream(entryFilePath)))
+        if (filePaths == null)
         {
-            byte[] buffer = new byte[1024];
-            int count;
+            return;
+        }
 
-            while ((count = bis.read(buffer)) != -1)
+        for (Path filePath : filePaths)
+        {
+            if (Files.exists(filePath) && !Files.isDirectory(filePath))
             {
-                jos.write(buffer, 0, count);
+                String name = entryName(dirPath, filePath);
+                names.add(name);
+                ZipReader.Entry entry = bundled != null
+                        ? bundled.getEntry(filePath.getRoot().relativize(filePath).toString())
+                        : null;
+
+                if (entry != null && entry.isCopyable())
+                {
+                    zip.copy(bundled, entry, name);
+                } else if (previous != null)
+                {
+                    zip.add(name, filePath, policy.levelOf(name), previous);
+                } else
+                {
+                    zip.add(name, filePath, policy.levelOf(name));
+                }
             }
         }
     }
 
-    private static void copyFilesFromMDjCLIJarFile(
+    /**
+     * Copy the manifest, with its attributes, and its sections, in order of
+     * their names.  The "Manifest-Version" stays first.
+     */
+    private static Manifest canonical(final Manifest manifest)
+    {
+        Manifest rtn = new Manifest();
+        copySorted(manifest.getMainAttributes(), rtn.getMainAttributes());
+
+        new TreeMap<>(manifest.getEntries()).forEach((name, attributes) ->
+        {
+            Attributes sorted = new Attributes();
+            copySorted(attributes, sorted);
+            rtn.getEntries().put(name, sorted);
+        });
+
+        return rtn;
+    }
+
+    private static void copySorted(final Attributes from, final Attributes to)
+    {
+        Object version = from.get(Attributes.Name.MANIFEST_VERSION);
+
+        if (version != null)
+        {
+            to.put(Attributes.Name.MANIFEST_VERSION, version);
+        }
+
+        from.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getKey().toString().toLowerCase(Locale.ROOT)))
+                .forEach(entry -> to.put(entry.getKey(), entry.getValue()));
+    }
+
+    private static String entryName(final Path dirPath, final Path filePath)
+    {
+        return dirPath.relativize(filePath).toString().replace('\\', '/');
+    }
+
+    /**
+     * Hash the manifest, the entries' time, and the name, compression level
+     * and contents of each file, in order.
+     */
+    private static String inputHash(
+            final Manifest manifest,
+            final FileTime time,
+            final CompressionPolicy policy,
             final List<Path> jarFilePaths,
-            final JarOutputStream jos,
             final Path jarFileDirPath,
-            final List<IOException> exceptions
-    )
+            final List<Path> filePaths,
+            final Path fileDirPath
+    ) throws IOException
     {
-        jarFilePaths
-                .stream()
-                .forEachOrdered(
-                        jarFilePath ->
-                {
-                    try
-                    {
-                        jos.putNextEntry(
-                                new JarEntry(
-                                        jarFileDirPath
-                                                .relativize(jarFilePath)
-                                                .toString()
-                                )
-                        );
-
-                        addEntryContent(jos, jarFilePath);
-                        jos.closeEntry();
-                    } catch (IOException ex)
-                    {
-                        exceptions.add(ex);
-                    }
-                });
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.write(bytes);
+
+        StringBuilder sb = new StringBuilder()
+                .append(ContentHash.of(bytes.toByteArray())).append('\n')
+                .append(time.toMillis()).append('\n');
+
+        for (Path filePath : jarFilePaths)
+        {
+            hashFile(sb, jarFileDirPath, filePath, policy);
+        }
+
+        for (Path filePath : filePaths)
+        {
+            hashFile(sb, fileDirPath, filePath, policy);
+        }
+
+        return ContentHash.of(sb.toString());
     }
 
-    private static void copyFilesFromUserDocsDirectory(
-            final List<Path> filePaths,
-            final JarOutputStream jos,
-            final Path fileDirPath,
-            final List<IOException> exceptions
-    )
+    private static void hashFile(
+            final StringBuilder sb,
+            final Path dirPath,
+            final Path filePath,
+            final CompressionPolicy policy
+    ) throws IOException
+    {
+        if (Files.exists(filePath) && !Files.isDirectory(filePath))
+        {
+            String name = entryName(dirPath, filePath);
+
+            sb.append(name).append('\t')
+                    .append(policy.levelOf(name)).append('\t')
+                    .append(ContentHash.of(filePath)).append('\n');
+        }
+    }
+
+    /**
+     * Open the jar file that the directory is inside, such as this
+     * program's own, so that its entries can be copied.
+     *
+     * @return the reader, or {@code null} if the directory is not inside a
+     *         jar file, or it can not be read.
+     */
+    static ZipReader openBundled(final Path dirPath)
+    {
+        if (dirPath == null || !"jar".equals(dirPath.getFileSystem().provider().getScheme()))
+        {
+            return null;
+        }
+
+        // "jar:file:///path/to/the.jar!/docs/jar"
+        String uri = dirPath.toUri().getRawSchemeSpecificPart();
+        int separator = uri.indexOf("!/");
+
+        try
+        {
+            return new ZipReader(Path.of(URI.create(separator >= 0 ? uri.substring(0, separator) : uri)));
+        } catch (IOException | RuntimeException ex)
+        {
+            Log.println(2, () -> "jar: " + ex + " Compressing the bundled files again.");
+            return null;
+        }
+    }
+
+    /**
+     * Merge the manifest's attributes, and its sections, into those of the
+     * jar file's manifest, if it has one.
+     */
+    private static Manifest mergeManifest(final File jarFile, final Manifest manifest)
+            throws IOException
+    {
+        Manifest merged;
+
+        try ( JarFile jar = new JarFile(jarFile))
+        {
+            Manifest existing = jar.getManifest();
+            merged = existing != null ? new Manifest(existing) : new Manifest();
+        }
+
+        if (manifest != null)
+        {
+            merged.getMainAttributes().putAll(manifest.getMainAttributes());
+            merged.getEntries().putAll(manifest.getEntries());
+        }
+
+        return merged;
+    }
+
+    /**
+     * Open the previous version of the jar file.
+     *
+     * @return the reader, or {@code null} if there is no jar file, or it is
+     *         not one.
+     */
+    private static ZipReader openPrevious(final Path jarPath) throws IOException
+    {
+        if (!Files.isRegularFile(jarPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            return new ZipReader(jarPath);
+        } catch (ZipException ex)
+        {
+            Log.println(1, () -> "jar: " + ex.getMessage() + " Creating it again.");
+            return null;
+        }
+    }
+
+    /**
+     * Replace the jar file with the temporary file it was written to.
+     */
+    private static void replace(final Path temp, final Path jarPath) throws IOException
+    {
+        // The temporary file is only readable by its owner.
+        if (Files.getFileStore(jarPath).supportsFileAttributeView(PosixFileAttributeView.class))
+        {
+            Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(jarPath));
+        }
+
+        try
+        {
+            Files.move(temp, jarPath, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex)
+        {
+            Files.move(temp, jarPath, REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Get the last modified time for a reproducible jar file's entries.
+     */
+    private static FileTime reproducibleTime()
+    {
+        String epoch = System.getenv("SOURCE_DATE_EPOCH");
+
+        if (epoch != null && !epoch.isBlank())
+        {
+            try
+            {
+                return FileTime.from(Long.parseLong(epoch.trim()), TimeUnit.SECONDS);
+            } catch (NumberFormatException ex)
+            {
+                Log.println(1, () -> "jar: SOURCE_DATE_EPOCH is not a number: " + epoch);
+            }
+        }
+
+        return REPRODUCIBLE_TIME;
+    }
+
+    /**
+     * Sort the paths by the names of their entries, which do not depend on
+     * the file system.
+     */
+    private static void sortByName(final List<Path> paths, final Path dirPath)
+    {
+        paths.sort(Comparator.comparing(path -> entryName(dirPath, path)));
+    }
+
+    /**
+     * Print the packaging summary.
+     * <p>
+     * The time saved by storing entries is estimated from how fast the others
+     * were compressed.
+     */
+    static void printSummary(final ZipWriter zip, final long nanos)
     {
-        filePaths.stream()
-                .filter(
-                        name -> Files.exists(name)
-                        && !Files.isDirectory(name)
-                )
-                .forEachOrdered(
-                        filePath ->
+        Log.print(1, display ->
+        {
+            display.append("jar: ").append(zip.getCount()).append(" entries, ")
+                    .append(zip.getSize()).append(" bytes written as ")
+                    .append(zip.getCompressedSize()).append(" bytes (")
+                    .append(zip.getSize() - zip.getCompressedSize()).append(" saved), in ")
+                    .append(nanos / 1_000_000).appendln(" ms");
+
+            if (zip.getCopiedCount() > 0)
+            {
+                display.append("jar: ").append(zip.getCopiedCount())
+                        .append(" entries copied without compressing them again: ")
+                        .append(zip.getCopiedSize()).appendln(" bytes");
+            }
+
+            if (zip.getStoredCount() > 0)
+            {
+                display.append("jar: ").append(zip.getStoredCount()).append(" entries stored: ")
+                        .append(zip.getStoredSize()).append(" bytes");
+
+                if (zip.getDeflatedSize() > 0)
                 {
-                    try
-                    {
-                        jos.putNextEntry(
-                                new JarEntry(
-                                        fileDirPath
-                                                .relativize(filePath)
-                                                .toString()
-                                )
-                        );
-
-                        addEntryContent(jos, filePath);
-                        jos.closeEntry();
-                    } catch (IOException ex)
-                    {
-                        exceptions.add(ex);
-                    }
-                });
+                    // In double, as the product of the bytes and the nanoseconds
+                    // can be more than a long can hold.
+                    double nanosPerByte = (double) zip.getDeflateNanos() / zip.getDeflatedSize();
+
+                    display.append(", saving about ")
+                            .append(Math.round(nanosPerByte * zip.getStoredSize() / 1e6))
+                            .append(" ms of compression");
+                }
+
+                display.appendln("");
+            }
+        });
+    }
+
+    /**
+     * Check whether the file is in a {@link ConvertCache} directory.
+     */
+    private static boolean isInCacheDir(final Path path)
+    {
+        for (Path name : path)
+        {
+            if (name.toString().equals(ConvertCache.DIRNAME))
+            {
+                return true;
+            }
+        }
+
+        return false;
     }
 }
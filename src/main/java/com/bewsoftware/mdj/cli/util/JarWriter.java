@@ -0,0 +1,195 @@
+/*
+ *  File Name:    JarWriter.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.jar.Manifest;
+import java.util.zip.Deflater;
+
+import static com.bewsoftware.fileio.BEWFiles.getResource;
+import static com.bewsoftware.mdj.cli.util.Find.getFileList;
+
+/**
+ * Writes a new 'jar' file, holding the HTTP Server, that the HTML files are
+ * added to as they are produced, instead of being written to a directory
+ * first.
+ * <p>
+ * The manifest and the HTTP Server are added when it is created.  Each
+ * entry is compressed on the {@link ZipWriter}'s threads, while the next
+ * ones are being produced.  If it is closed before being
+ * {@linkplain #finish() finished}, the file is deleted.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class JarWriter implements Closeable
+{
+    private final ZipReader bundled;
+
+    private boolean finished;
+
+    private final Path jarPath;
+
+    private final CompressionPolicy policy;
+
+    private final long start;
+
+    private final ZipWriter zip;
+
+    /**
+     * Create a new instance of JarWriter, creating the jar file.
+     *
+     * @param jarFile  The new jar file.
+     * @param manifest The manifest to include.
+     * @param policy   Chooses the compression level of each entry.
+     * @param threads  The number of threads to compress the entries on.
+     *
+     * @throws IOException if any.
+     */
+    public JarWriter(
+            final File jarFile,
+            final Manifest manifest,
+            final CompressionPolicy policy,
+            final int threads
+    ) throws IOException
+    {
+        this.policy = policy;
+        this.start = System.nanoTime();
+        this.jarPath = jarFile.toPath();
+
+        Path jarDirPath;
+
+        try
+        {
+            jarDirPath = getResource(Jar.class, "/docs/jar").toAbsolutePath();
+        } catch (URISyntaxException ex)
+        {
+            throw new IOException(ex);
+        }
+
+        this.bundled = Jar.openBundled(jarDirPath);
+
+        try
+        {
+            this.zip = new ZipWriter(jarPath, Deflater.BEST_COMPRESSION, threads);
+        } catch (IOException | RuntimeException ex)
+        {
+            if (bundled != null)
+            {
+                bundled.close();
+            }
+
+            throw ex;
+        }
+
+        try
+        {
+            Jar.addManifest(zip, manifest, policy);
+            Jar.addFiles(zip, new ArrayList<>(getFileList(jarDirPath, "*", true)), jarDirPath,
+                    policy, bundled, null, new HashSet<>());
+        } catch (IOException | RuntimeException ex)
+        {
+            close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Add an entry, holding the bytes.
+     *
+     * @param name The entry's name.
+     * @param data The bytes.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final byte[] data) throws IOException
+    {
+        zip.add(name, data, policy.levelOf(name));
+    }
+
+    /**
+     * Add the files in a directory, and its sub-directories, as entries
+     * named by their paths relative to {@code dirPath}.
+     *
+     * @param dirPath The directory the entries' names are relative to.
+     * @param subDir  The directory to add, relative to {@code dirPath}.
+     *
+     * @throws IOException if any.
+     */
+    public void addTree(final Path dirPath, final String subDir) throws IOException
+    {
+        Path srcPath = dirPath.resolve(subDir);
+
+        if (Files.isDirectory(srcPath))
+        {
+            Jar.addFiles(zip, new ArrayList<>(getFileList(srcPath, "*", true)), dirPath,
+                    policy, null, null, new HashSet<>());
+        }
+    }
+
+    /**
+     * Close the file, deleting it if it has not been
+     * {@linkplain #finish() finished}.
+     *
+     * @throws IOException if any.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            zip.close();
+        } finally
+        {
+            if (bundled != null)
+            {
+                bundled.close();
+            }
+
+            if (!finished)
+            {
+                Files.deleteIfExists(jarPath);
+            }
+        }
+    }
+
+    /**
+     * Write the entries still being compressed, and the central directory,
+     * and print the packaging summary.
+     *
+     * @throws IOException if any.
+     */
+    public void finish() throws IOException
+    {
+        zip.finish();
+        finished = true;
+        Jar.printSummary(zip, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  File Name:    Log.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.utils.io.Display;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
+
+/**
+ * The diagnostic output, written to {@link Constants#DISPLAY DISPLAY}.
+ * <p>
+ * Each message has a level: 0 is always shown, and 1 to 3 only if the
+ * verbosity ('-v') is at least that high.  The level is checked before
+ * anything else is done, so a message that is not shown costs no more than
+ * the check.  Its text is only built, by the supplier or writer, once it is
+ * known to be needed.
+ * <p>
+ * Each message is written whole, while holding the lock on
+ * {@code DISPLAY}, so those from different threads do not interleave.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public final class Log
+{
+    private static volatile int verbosity;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private Log()
+    {
+    }
+
+    /**
+     * Check whether messages of a level are shown.
+     *
+     * @param level of the message.
+     *
+     * @return {@code true} if they are.
+     */
+    public static boolean isEnabled(final int level)
+    {
+        return level <= verbosity;
+    }
+
+    /**
+     * Write a message, made up of several parts.
+     * <p>
+     * The {@code writer} is only called if the message is to be shown.  It
+     * is given {@code DISPLAY}, already set to the level, and the output is
+     * flushed once it returns.
+     *
+     * @param level  of the message.
+     * @param writer appends the message to the display.
+     */
+    public static void print(final int level, final Consumer<Display> writer)
+    {
+        if (isEnabled(level))
+        {
+            synchronized (DISPLAY)
+            {
+                writer.accept(DISPLAY.level(level));
+                DISPLAY.flush();
+            }
+        }
+    }
+
+    /**
+     * Write a message that needs no work to build, such as a constant.
+     *
+     * @param level   of the message.
+     * @param message to write.
+     */
+    public static void println(final int level, final String message)
+    {
+        if (isEnabled(level))
+        {
+            synchronized (DISPLAY)
+            {
+                DISPLAY.level(level).println(message);
+            }
+        }
+    }
+
+    /**
+     * Write a message.
+     *
+     * @param level   of the message.
+     * @param message supplies the message, only if it is to be shown.
+     */
+    public static void println(final int level, final Supplier<?> message)
+    {
+        if (isEnabled(level))
+        {
+            Object text = message.get();
+
+            synchronized (DISPLAY)
+            {
+                DISPLAY.level(level).println(text);
+            }
+        }
+    }
+
+    /**
+     * Set the verbosity.
+     *
+     * @param verbosity the highest level of message to be shown.
+     */
+    public static void setVerbosity(final int verbosity)
+    {
+        Log.verbosity = verbosity;
+        DISPLAY.debugLevel(verbosity);
+    }
+}
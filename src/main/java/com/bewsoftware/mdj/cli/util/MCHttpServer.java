@@ -36,7 +36,6 @@ import static com.bewsoftware.httpserver.HTTPServer.TITLE;
 import static com.bewsoftware.httpserver.HTTPServer.VERSION;
 import static com.bewsoftware.httpserver.HTTPServer.addContentTypes;
 import static com.bewsoftware.httpserver.Utils.openURL;
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.GlobalVariables.exception;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.nio.file.Path.of;
@@ -47,7 +46,7 @@ import static java.nio.file.Path.of;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.0.28
- * @version 2.0.0
+ * @version 2.1.4
  */
 public class MCHttpServer extends HTTPServer
 {
@@ -98,7 +97,7 @@ public class MCHttpServer extends HTTPServer
 
             server.start();
             String msg = TITLE + " (" + VERSION + ") is listening on port " + server.port;
-            DISPLAY.level(0).println(msg);
+            Log.println(0, msg);
 
             openURL(new URI("http", "", "localhost", server.port, context, "", "").toURL());
 
@@ -117,7 +116,7 @@ public class MCHttpServer extends HTTPServer
 
             server.stop();
             msg = TITLE + " (" + VERSION + ") on port " + server.port + " has terminated.";
-            DISPLAY.level(0).println(msg);
+            Log.println(0, msg);
         } catch (HeadlessException | IOException | InterruptedException | URISyntaxException | MissingArgumentException ex)
         {
             exception = ex;
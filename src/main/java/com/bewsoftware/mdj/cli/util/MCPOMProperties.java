@@ -22,7 +22,6 @@ package com.bewsoftware.mdj.cli.util;
 import java.io.IOException;
 import java.util.Properties;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static com.bewsoftware.mdj.cli.util.Keys.*;
 
 /**
@@ -85,7 +84,7 @@ import static com.bewsoftware.mdj.cli.util.Keys.*;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 0.1
- * @version 1.0
+ * @version 2.1.4
  */
 public final class MCPOMProperties
 {
@@ -150,7 +149,7 @@ public final class MCPOMProperties
 
     public static void main(String[] args)
     {
-        DISPLAY.level(0).println(MCPOMProperties.INSTANCE);
+        Log.println(0, () -> MCPOMProperties.INSTANCE);
     }
 
     @Override
@@ -25,10 +25,11 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 import org.apache.commons.cli.*;
 
-import static com.bewsoftware.mdj.cli.util.Constants.DISPLAY;
 import static java.nio.file.Path.of;
 import static org.apache.commons.cli.Option.builder;
 
@@ -38,7 +39,7 @@ import static org.apache.commons.cli.Option.builder;
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  *
  * @since 1.0.7
- * @version 2.0.0
+ * @version 2.1.4
  */
 public final class MyCmdLine implements CmdLine
 {
@@ -48,6 +49,11 @@ public final class MyCmdLine implements CmdLine
 
     private static final int J_JARSOURCEPATH = 1;
 
+    /**
+     * The directory to keep the converted markdown in.
+     */
+    private Path cacheDir;
+
     /**
      * The CommandLine instance.
      */
@@ -73,6 +79,11 @@ public final class MyCmdLine implements CmdLine
      */
     private File inputFile;
 
+    /**
+     * The glob patterns of the markdown files to process.
+     */
+    private List<String> inputGlobs;
+
     /**
      * Jar file.
      */
@@ -88,6 +99,21 @@ public final class MyCmdLine implements CmdLine
      */
     private final Options options;
 
+    /**
+     * The compression levels of the jar file's entries, by file extension.
+     */
+    private Map<String, Integer> jarCompression;
+
+    /**
+     * The compression level of the jar file's entries.
+     */
+    private int jarLevel;
+
+    /**
+     * The jar file to write the HTML files to.
+     */
+    private File jarOutput;
+
     /**
      * The output filename.
      */
@@ -108,6 +134,16 @@ public final class MyCmdLine implements CmdLine
      */
     private Path source;
 
+    /**
+     * The file to write the build statistics to.
+     */
+    private Path statsFile;
+
+    /**
+     * The number of threads used to process the markdown files.
+     */
+    private int threads;
+
     /**
      * The state of verbosity.
      */
@@ -146,6 +182,13 @@ public final class MyCmdLine implements CmdLine
             processOption_v();
             processOption_W();
             processOption_P();
+            processOption_threads();
+            processOption_stats();
+            processOption_cache();
+            processOption_inputGlob();
+            processOption_jarLevel();
+            processOption_jarCompression();
+            processOption_jarOutput();
 
         } catch (InvalidParameterValueException | NumberFormatException | MissingOptionException ex)
         {
@@ -291,6 +334,149 @@ public final class MyCmdLine implements CmdLine
                 .longOpt("disallowBrowserFileCaching")
                 .build());
 
+        // Add "--cache"
+        options.addOption(builder()
+                .desc("Keep the HTML converted from each markdown fragment, so that it is only\n"
+                        + "converted once, across pages and builds.\n"
+                        + "(default: 'cacheDir' = '<destination>/.mdj-cache')")
+                .longOpt("cache")
+                .hasArg()
+                .optionalArg(true)
+                .argName("cacheDir")
+                .build());
+
+        // Add "--incremental"
+        options.addOption(builder()
+                .desc("Only process the markdown files whose source, template or configuration data\n"
+                        + "has changed since the last build.\n"
+                        + "(default: 'false')")
+                .longOpt("incremental")
+                .build());
+
+        // Add "--index"
+        options.addOption(builder()
+                .desc("Keep an index of the source directory tree, so that only the directories\n"
+                        + "and files that have changed since the last build are read again.\n"
+                        + "(default: 'false')")
+                .longOpt("index")
+                .build());
+
+        // Add "--inputGlob"
+        options.addOption(builder()
+                .desc("A glob pattern of the markdown files to process, instead of: '*.md'.\n"
+                        + "If it has a '/', it is matched against the path relative to the source\n"
+                        + "directory. Otherwise, against the file name.\n"
+                        + "Can be used multiple times.")
+                .longOpt("inputGlob")
+                .hasArg()
+                .argName("glob")
+                .build());
+
+        // Add "--jarCompression"
+        options.addOption(builder()
+                .desc("The compression level of the 'jar' file's entries with the file extension\n"
+                        + "'extn' [0-9], instead of the '--jarLevel'.\n"
+                        + "Files that are already compressed, such as 'png', 'jpg', 'woff2' and 'zip',\n"
+                        + "are stored without compressing them, unless set here.\n"
+                        + "Can be used multiple times.\n"
+                        + "Use with options: '-j' or '--jarOutput'.")
+                .longOpt("jarCompression")
+                .numberOfArgs(2)
+                .valueSeparator()
+                .argName("extn=level")
+                .build());
+
+        // Add "--jarLevel"
+        options.addOption(builder()
+                .desc("The compression level of the 'jar' file's entries [0-9].\n"
+                        + "'0' stores them without compressing them.\n"
+                        + "Use with options: '-j' or '--jarOutput'.\n"
+                        + "(default: '9')")
+                .longOpt("jarLevel")
+                .hasArg()
+                .argName("level")
+                .build());
+
+        // Add "--jarOutput"
+        options.addOption(builder()
+                .desc("Write the HTML files, and the files in the '[includeDirs]' directories,\n"
+                        + "straight into a new 'jar' file, instead of into the destination directory.\n"
+                        + "Can be used with the options: '--jarCompression' and '--jarLevel'.")
+                .longOpt("jarOutput")
+                .hasArg()
+                .argName("jarFile")
+                .build());
+
+        // Add "--jarReproducible"
+        options.addOption(builder()
+                .desc("Make the 'jar' file reproducible: the same files always give the same bytes.\n"
+                        + "The entries are in order of their names, with a fixed time, set by the\n"
+                        + "'SOURCE_DATE_EPOCH' environment variable (default: '1980-02-01T00:00:00Z').\n"
+                        + "The 'jar' file is not written, if its files have not changed.\n"
+                        + "Use with option: '-j'.\n"
+                        + "(default: 'false')")
+                .longOpt("jarReproducible")
+                .build());
+
+        // Add "--jarUpdate"
+        options.addOption(builder()
+                .desc("Update the 'jar' file, if it exists, instead of creating it again.\n"
+                        + "Only the files that have changed are compressed. The others are copied\n"
+                        + "from the existing 'jar' file.\n"
+                        + "Use with option: '-j'.\n"
+                        + "(default: 'false')")
+                .longOpt("jarUpdate")
+                .build());
+
+        // Add "--linkIncludeDirs"
+        options.addOption(builder()
+                .desc("Hard link the files in the '[includeDirs]' directories into the destination\n"
+                        + "directory, instead of copying them, where the file system allows it.\n"
+                        + "Use with option: '-w'.\n"
+                        + "(default: 'false')")
+                .longOpt("linkIncludeDirs")
+                .build());
+
+        // Add "--pruneIncludeDirs"
+        options.addOption(builder()
+                .desc("Remove the files from the destination copies of the '[includeDirs]'\n"
+                        + "directories, that are no longer in the source directories.\n"
+                        + "Use with option: '-w'.\n"
+                        + "(default: 'false')")
+                .longOpt("pruneIncludeDirs")
+                .build());
+
+        // Add "--threads"
+        options.addOption(builder()
+                .desc("The number of threads to use when processing the markdown files,\n"
+                        + "copying the '[includeDirs]' directories, and compressing the 'jar' file's\n"
+                        + "entries.\n"
+                        + "(default: '1')")
+                .longOpt("threads")
+                .hasArg()
+                .argName("count")
+                .build());
+
+        // Add "--stats"
+        options.addOption(builder()
+                .desc("Print the time spent in each stage of processing the markdown files,\n"
+                        + "and the slowest files.\n"
+                        + "If 'jsonFile' is given, the report is also written to it, as JSON.")
+                .longOpt("stats")
+                .hasArg()
+                .optionalArg(true)
+                .argName("jsonFile")
+                .build());
+
+        // Add "--watch"
+        options.addOption(builder()
+                .desc("Keep running, and process the markdown files again whenever they, the\n"
+                        + "templates, the stylesheets or the configuration file are changed.\n"
+                        + "Implies: '--incremental'.\n"
+                        + "(default: 'false')")
+                .longOpt("watch")
+                .build());
+
         // Add help: '-h' or '--help'
         options.addOption(builder("h")
                 .desc("Display this help.")
@@ -300,6 +486,12 @@ public final class MyCmdLine implements CmdLine
         return options;
     }
 
+    @Override
+    public Path cacheDir()
+    {
+        return cacheDir;
+    }
+
     @Override
     public Path destination()
     {
@@ -367,12 +559,36 @@ public final class MyCmdLine implements CmdLine
         inputFile = file;
     }
 
+    @Override
+    public List<String> inputGlobs()
+    {
+        return inputGlobs;
+    }
+
     @Override
     public File jarFile()
     {
         return jarFile;
     }
 
+    @Override
+    public Map<String, Integer> jarCompression()
+    {
+        return jarCompression;
+    }
+
+    @Override
+    public int jarLevel()
+    {
+        return jarLevel;
+    }
+
+    @Override
+    public File jarOutput()
+    {
+        return jarOutput;
+    }
+
     @Override
     public Path jarSourcePath()
     {
@@ -432,20 +648,39 @@ public final class MyCmdLine implements CmdLine
         source = path;
     }
 
+    @Override
+    public Path statsFile()
+    {
+        return statsFile;
+    }
+
     @Override
     public boolean success()
     {
         return exceptions.isEmpty();
     }
 
+    @Override
+    public int threads()
+    {
+        return threads;
+    }
+
     @Override
     public String toString()
     {
         return "MyCmdLine{"
+                + "\n\tcacheDir = " + cacheDir + ","
                 + "\n\tdestination = " + destination + ","
                 + "\n\tinputFile = " + inputFile + ","
+                + "\n\tinputGlobs = " + inputGlobs + ","
+                + "\n\tjarCompression = " + jarCompression + ","
+                + "\n\tjarLevel = " + jarLevel + ","
+                + "\n\tjarOutput = " + jarOutput + ","
                 + "\n\toutputFile = " + outputFile + ","
                 + "\n\tsource = " + source + ","
+                + "\n\tstatsFile = " + statsFile + ","
+                + "\n\tthreads = " + threads + ","
                 + "\n\tverbosity = " + verbosity
                 + "\n}";
     }
@@ -491,9 +726,9 @@ public final class MyCmdLine implements CmdLine
     {
         if (hasOption('W'))
         {
-            DISPLAY.level(2)
+            Log.print(2, display -> display
                     .appendln("docRootPath:\n" + docRootPath)
-                    .println("-W: " + of(cmdLine.getOptionValue('W')));
+                    .appendln("-W: " + of(cmdLine.getOptionValue('W'))));
         }
     }
 
@@ -503,6 +738,12 @@ public final class MyCmdLine implements CmdLine
                 : hasOption('j') ? new File(cmdLine.getOptionValues('j')[J_JARFILE].replace('\\', '/')) : null;
     }
 
+    private void processOption_cache()
+    {
+        String value = hasOption("cache") ? cmdLine.getOptionValue("cache") : null;
+        cacheDir = value != null ? of(value.replace('\\', '/')).normalize().toAbsolutePath() : null;
+    }
+
     private void processOption_d()
     {
         destination = hasOption('d')
@@ -515,6 +756,49 @@ public final class MyCmdLine implements CmdLine
         inputFile = hasOption('i') ? new File(cmdLine.getOptionValue('i').replace('\\', '/')) : null;
     }
 
+    private void processOption_inputGlob()
+    {
+        String[] values = hasOption("inputGlob") ? cmdLine.getOptionValues("inputGlob") : null;
+        inputGlobs = values != null ? List.of(values) : List.of();
+    }
+
+    private void processOption_jarCompression() throws NumberFormatException, InvalidParameterValueException
+    {
+        Map<String, Integer> levels = new TreeMap<>();
+
+        for (Map.Entry<Object, Object> entry : cmdLine.getOptionProperties("jarCompression").entrySet())
+        {
+            int level = Integer.parseInt(entry.getValue().toString());
+
+            if (level < 0 || level > 9)
+            {
+                throw new InvalidParameterValueException(
+                        "Jar compression level out of range [0-9]: " + entry.getKey() + "=" + level);
+            }
+
+            levels.put(entry.getKey().toString(), level);
+        }
+
+        jarCompression = Collections.unmodifiableMap(levels);
+    }
+
+    private void processOption_jarLevel() throws NumberFormatException, InvalidParameterValueException
+    {
+        jarLevel = hasOption("jarLevel") ? Integer.parseInt(cmdLine.getOptionValue("jarLevel")) : 9;
+
+        if (jarLevel < 0 || jarLevel > 9)
+        {
+            throw new InvalidParameterValueException("Jar compression level out of range [0-9]: " + jarLevel);
+        }
+    }
+
+    private void processOption_jarOutput()
+    {
+        jarOutput = hasOption("jarOutput")
+                ? new File(cmdLine.getOptionValue("jarOutput").replace('\\', '/'))
+                : null;
+    }
+
     private void processOption_jOrW()
     {
         docRootPath = hasOption('j')
@@ -530,7 +814,7 @@ public final class MyCmdLine implements CmdLine
     private void processOption_o()
     {
         outputFile = hasOption('o') ? new File(cmdLine.getOptionValue('o').replace('\\', '/')) : null;
-        DISPLAY.level(1).appendln(outputFile).flush();
+        Log.print(1, display -> display.appendln(outputFile));
     }
 
     private void processOption_p()
@@ -545,6 +829,22 @@ public final class MyCmdLine implements CmdLine
                 : null;
     }
 
+    private void processOption_stats()
+    {
+        String value = hasOption("stats") ? cmdLine.getOptionValue("stats") : null;
+        statsFile = value != null ? of(value.replace('\\', '/')).toAbsolutePath() : null;
+    }
+
+    private void processOption_threads() throws NumberFormatException, InvalidParameterValueException
+    {
+        threads = hasOption("threads") ? Integer.parseInt(cmdLine.getOptionValue("threads")) : 1;
+
+        if (threads < 1)
+        {
+            throw new InvalidParameterValueException("Number of threads out of range [1-]: " + threads);
+        }
+    }
+
     private void processOption_v() throws NumberFormatException, InvalidParameterValueException
     {
         verbose = hasOption('v');
@@ -0,0 +1,291 @@
+/*
+ *  File Name:    OutputWriter.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes the output files, but only if their contents have changed.
+ * <p>
+ * The new contents are compared with the existing file: first by size, then
+ * by hash.  If they are the same, the file is left alone, so its last
+ * modified time is not changed.  Otherwise, the new contents are written to
+ * a temporary file, which is then renamed over the old one.
+ * <p>
+ * The date stamp of the build, which changes with every build, can be left
+ * out of the comparison.  It is the rest of the line, after a fixed marker
+ * near the start of the file.  As the stamp is always the same length, the
+ * sizes are still compared first.  If only the stamp differs, then the
+ * existing file is kept as it is.
+ * <p>
+ * Keeps count of the files written and unchanged.  Instances may be shared
+ * between threads.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class OutputWriter
+{
+    /**
+     * How far into the file, in bytes, the marker is looked for.
+     */
+    private static final int HEAD_LENGTH = 512;
+
+    private final byte[] marker;
+
+    private final AtomicInteger skipped;
+
+    private final AtomicInteger unchanged;
+
+    private final AtomicInteger written;
+
+    /**
+     * Create a new instance of OutputWriter, that compares the whole of each
+     * file.
+     */
+    public OutputWriter()
+    {
+        this(null);
+    }
+
+    /**
+     * Create a new instance of OutputWriter, that leaves the date stamp
+     * following the {@code marker} out of the comparisons.
+     *
+     * @param marker The text just before the date stamp. May be
+     *               {@code null}.
+     */
+    public OutputWriter(final String marker)
+    {
+        this.marker = marker != null ? marker.getBytes(UTF_8) : null;
+        this.skipped = new AtomicInteger();
+        this.unchanged = new AtomicInteger();
+        this.written = new AtomicInteger();
+    }
+
+    /**
+     * Add to the count of files that did not need to be processed.
+     *
+     * @param count of files.
+     */
+    public void addSkipped(final int count)
+    {
+        skipped.addAndGet(count);
+    }
+
+    /**
+     * Check whether or not the file already has these contents.
+     * <p>
+     * The sizes are compared first, and the file is only read if they are
+     * the same.
+     *
+     * @param path      of the file.
+     * @param bytes     The new contents.
+     * @param knownHash The {@linkplain #hashOf(byte[]) hash} of the file's
+     *                  current contents, if known. Otherwise {@code null}.
+     *
+     * @return {@code true} if it has.
+     *
+     * @throws IOException if any.
+     */
+    public boolean hasSameContents(final Path path, final byte[] bytes, final String knownHash)
+            throws IOException
+    {
+        if (Files.notExists(path) || Files.size(path) != bytes.length)
+        {
+            return false;
+        }
+
+        if (knownHash != null)
+        {
+            return knownHash.equals(hashOf(bytes));
+        }
+
+        if (marker == null)
+        {
+            return ContentHash.of(path).equals(ContentHash.of(bytes));
+        }
+
+        return hashOf(Files.readAllBytes(path)).equals(hashOf(bytes));
+    }
+
+    /**
+     * Hash the contents, leaving out the date stamp, if any.
+     *
+     * @param bytes The contents.
+     *
+     * @return the hash.
+     */
+    public String hashOf(final byte[] bytes)
+    {
+        int start = stampStart(bytes);
+
+        if (start < 0)
+        {
+            return ContentHash.of(bytes);
+        }
+
+        int end = start;
+
+        while (end < bytes.length && bytes[end] != '\n')
+        {
+            end++;
+        }
+
+        MessageDigest digest = ContentHash.newDigest();
+        digest.update(bytes, 0, start);
+        digest.update(bytes, end, bytes.length - end);
+
+        return ContentHash.toHex(digest.digest());
+    }
+
+    /**
+     * Print the counts.
+     */
+    public void printSummary()
+    {
+        Log.print(1, display -> display
+                .append("Files: ")
+                .append(written.get()).append(" written, ")
+                .append(unchanged.get()).append(" unchanged, ")
+                .append(skipped.get()).appendln(" skipped"));
+    }
+
+    /**
+     * The number of files that did not need to be processed.
+     *
+     * @return the count.
+     */
+    public int skipped()
+    {
+        return skipped.get();
+    }
+
+    /**
+     * Find the date stamp, just after the marker, in the head of the
+     * contents.
+     *
+     * @return the index of the stamp, or -1 if there is none.
+     */
+    private int stampStart(final byte[] bytes)
+    {
+        if (marker == null)
+        {
+            return -1;
+        }
+
+        int last = Math.min(bytes.length, HEAD_LENGTH) - marker.length;
+
+        for (int i = 0; i <= last; i++)
+        {
+            int j = 0;
+
+            while (j < marker.length && bytes[i + j] == marker[j])
+            {
+                j++;
+            }
+
+            if (j == marker.length)
+            {
+                return i + j;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * The number of files that were processed, but whose contents did not
+     * change.
+     *
+     * @return the count.
+     */
+    public int unchanged()
+    {
+        return unchanged.get();
+    }
+
+    /**
+     * Write the contents to the file, unless it already has them.
+     *
+     * @param path      of the file.
+     * @param bytes     The new contents.
+     * @param knownHash The {@linkplain #hashOf(byte[]) hash} of the file's
+     *                  current contents, if known. Otherwise {@code null}.
+     *
+     * @return {@code true} if the file was written.
+     *
+     * @throws IOException if any.
+     */
+    public boolean write(final Path path, final byte[] bytes, final String knownHash)
+            throws IOException
+    {
+        if (hasSameContents(path, bytes, knownHash))
+        {
+            Log.print(2, display -> display.append("unchanged: ").appendln(path));
+            unchanged.incrementAndGet();
+            return false;
+        }
+
+        Path tempPath = path.resolveSibling("." + path.getFileName() + ".tmp");
+
+        try ( OutputStream out = Files.newOutputStream(tempPath, CREATE, TRUNCATE_EXISTING, WRITE))
+        {
+            out.write(bytes);
+        }
+
+        try
+        {
+            Files.move(tempPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex)
+        {
+            Files.move(tempPath, path, REPLACE_EXISTING);
+        }
+
+        written.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * The number of files written.
+     *
+     * @return the count.
+     */
+    public int written()
+    {
+        return written.get();
+    }
+}
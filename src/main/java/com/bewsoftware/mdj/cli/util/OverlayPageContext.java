@@ -0,0 +1,181 @@
+/*
+ *  File Name:    OverlayPageContext.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.bewsoftware.mdj.cli.util.BuildManifest.WHOLE_SECTION;
+import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
+
+/**
+ * A {@link PageContext} for a single page, layered over a shared
+ * {@link ConfSnapshot}.
+ * <p>
+ * All writes go into this page's own overlay, and are never seen by any
+ * other page.  Reads check the overlay first, then the snapshot.
+ * <p>
+ * Each instance is only meant to be used by one thread at a time.
+ * <p>
+ * If requested, every value read from the snapshot is recorded, so that the
+ * {@link BuildManifest} can tell which pages depend on which values.  The
+ * "system" section is not recorded, as its "date" changes with every run.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class OverlayPageContext implements PageContext
+{
+    private static final String SYSTEM = "system";
+
+    private final Map<String, Map<String, String>> overlay;
+
+    private final Map<String, Map<String, String>> resolved;
+
+    private final ConfSnapshot snapshot;
+
+    /**
+     * Create a new instance of OverlayPageContext.
+     *
+     * @param snapshot The shared configuration data.
+     */
+    public OverlayPageContext(final ConfSnapshot snapshot)
+    {
+        this(snapshot, false);
+    }
+
+    /**
+     * Create a new instance of OverlayPageContext.
+     *
+     * @param snapshot    The shared configuration data.
+     * @param recordReads {@code true} to record the values read from the
+     *                    snapshot.
+     */
+    public OverlayPageContext(final ConfSnapshot snapshot, final boolean recordReads)
+    {
+        this.snapshot = snapshot;
+        this.overlay = new HashMap<>();
+        this.resolved = recordReads ? new LinkedHashMap<>() : null;
+    }
+
+    /**
+     * Get the values read from the snapshot.
+     * <p>
+     * Where a whole section was read, its key is
+     * {@value BuildManifest#WHOLE_SECTION}, and its value is the
+     * {@linkplain BuildManifest#hashSection(Map) section's hash}.
+     *
+     * @return "section" -&gt; "key" -&gt; "value". Empty, if the reads are not
+     *         being recorded.
+     */
+    public Map<String, Map<String, String>> getResolved()
+    {
+        return resolved != null ? resolved : Map.of();
+    }
+
+    /**
+     * Get the key/value pairs in a section.
+     * <p>
+     * If this page has no values of its own for the section, then the
+     * snapshot's unmodifiable map is returned, rather than a copy.
+     *
+     * @param section label.
+     *
+     * @return the properties in their original order. If the section does
+     *         not exist, then the map will be empty.
+     */
+    @Override
+    public Map<String, String> getSection(final String section)
+    {
+        Map<String, String> props = snapshot.getSection(section);
+
+        if (resolved != null)
+        {
+            record(section, WHOLE_SECTION, snapshot.getSectionHash(section));
+        }
+
+        Map<String, String> pageProps = overlay.get(section);
+
+        if (pageProps == null)
+        {
+            return props;
+        }
+
+        Map<String, String> rtn = new LinkedHashMap<>(props);
+        rtn.putAll(pageProps);
+
+        return rtn;
+    }
+
+    @Override
+    public String getString(final String section, final String key, final String defaultValue)
+    {
+        Map<String, String> props = overlay.get(section);
+        String rtn = props != null ? props.get(key) : null;
+
+        if (rtn == null)
+        {
+            rtn = snapshot.getString(section, key, null);
+            record(section, key, rtn);
+        }
+
+        return rtn != null ? rtn : defaultValue;
+    }
+
+    /**
+     * Removes this page's values for the section.
+     * <p>
+     * The snapshot is read-only, so any values it holds for the section will
+     * still be visible.
+     *
+     * @param section label.
+     */
+    @Override
+    public void removeSection(final String section)
+    {
+        overlay.remove(section);
+    }
+
+    @Override
+    public void setString(final String section, final String key, final String value)
+    {
+        overlay.computeIfAbsent(section, s -> new LinkedHashMap<>())
+                .put(key, value);
+    }
+
+    @Override
+    public ConfSnapshot snapshot()
+    {
+        return snapshot;
+    }
+
+    private void record(final String section, final String key, final String value)
+    {
+        if (resolved != null && !SYSTEM.equals(section) && !PAGE.equals(section))
+        {
+            resolved.computeIfAbsent(section != null ? section : "", s -> new LinkedHashMap<>())
+                    .putIfAbsent(key, value);
+        }
+    }
+}
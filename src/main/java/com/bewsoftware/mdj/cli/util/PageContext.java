@@ -0,0 +1,102 @@
+/*
+ *  File Name:    PageContext.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.util.Map;
+
+/**
+ * The configuration data seen by a single page, while it is being processed.
+ * <p>
+ * The plugins and the substitution code read and write through this
+ * interface, instead of going directly to the global
+ * {@link GlobalVariables#conf conf}.  This allows each page to have its own
+ * "page" section, and so allows pages to be processed concurrently.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public interface PageContext
+{
+    /**
+     * Get the key/value pairs in a section.
+     * <p>
+     * Changes are made with {@link #setString(String, String, String)
+     * setString()}, not through the returned map, which may be unmodifiable.
+     *
+     * @param section label.
+     *
+     * @return the properties in their original order. If the section does
+     *         not exist, then the map will be empty.
+     */
+    public Map<String, String> getSection(String section);
+
+    /**
+     * Get the value of a key.
+     *
+     * @param section      label.
+     * @param key          name.
+     * @param defaultValue returned if the key is not found.
+     *
+     * @return the value, or {@code defaultValue}.
+     */
+    public String getString(String section, String key, String defaultValue);
+
+    /**
+     * Remove a section.
+     *
+     * @param section label.
+     */
+    public void removeSection(String section);
+
+    /**
+     * Set the value of a key.
+     *
+     * @param section label.
+     * @param key     name.
+     * @param value   to store.
+     */
+    public void setString(String section, String key, String value);
+
+    /**
+     * The shared configuration data beneath this page's own values, if any.
+     *
+     * @return the snapshot, or {@code null}.
+     */
+    public default ConfSnapshot snapshot()
+    {
+        return null;
+    }
+
+    /**
+     * Set the value of a key, along with its comment.
+     *
+     * @param section label.
+     * @param key     name.
+     * @param value   to store.
+     * @param comment to store, if supported.
+     */
+    public default void setString(String section, String key, String value, String comment)
+    {
+        setString(section, key, value);
+    }
+}
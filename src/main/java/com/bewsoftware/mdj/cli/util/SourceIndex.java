@@ -0,0 +1,515 @@
+/*
+ *  File Name:    SourceIndex.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * An index of the source directory tree, kept between builds, so that a
+ * build with nothing changed does as little file system work as possible.
+ * <p>
+ * Stored in the destination directory as: {@value #FILENAME}.  It holds:
+ * <ul>
+ * <li>each source directory's last modified time and entries.  A directory
+ * whose last modified time has not changed, has had no entries added,
+ * removed or renamed, so it is not read again.</li>
+ * <li>each markdown file's size, last modified time and file key (inode),
+ * along with whether or not its output file was up to date.</li>
+ * <li>each destination directory's last modified time.  If it has not
+ * changed, none of its output files have been removed or replaced.</li>
+ * </ul>
+ * Editing a file in place does not change its directory's last modified
+ * time, so each markdown file is still checked.  But the output file of an
+ * unchanged markdown file, in an unchanged destination directory, is not.
+ * <p>
+ * A time too close to when it was read, might not yet show a change made in
+ * the same tick of the file system's clock.  So it is not trusted, and the
+ * directory is checked again next time.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class SourceIndex
+{
+    /**
+     * The name of the index file.
+     */
+    public static final String FILENAME = ".mdj-index";
+
+    private static final String END = "end";
+
+    private static final String HEADER = "mdj-index\t1";
+
+    /**
+     * How recent, in milliseconds, a time must be, to not be trusted.
+     */
+    private static final long RACY_MILLIS = 2000;
+
+    /**
+     * A time that never matches.
+     */
+    private static final long UNKNOWN = -1;
+
+    /**
+     * The destination directories, as of this build.
+     */
+    private final Map<String, Long> currentDestDirs;
+
+    /**
+     * The source directories, as of this build.
+     */
+    private final Map<String, DirRecord> currentDirs;
+
+    /**
+     * The markdown files, as of this build.
+     */
+    private final Map<String, FileRecord> currentFiles;
+
+    private final Map<String, Long> destDirs;
+
+    private final Map<String, DirRecord> dirs;
+
+    private final Map<String, FileRecord> files;
+
+    private final Path indexPath;
+
+    private int listed;
+
+    private final String options;
+
+    private SourceIndex(final Path indexPath, final String options)
+    {
+        this.indexPath = indexPath;
+        this.options = "options\t" + options;
+        this.dirs = new HashMap<>();
+        this.files = new HashMap<>();
+        this.destDirs = new HashMap<>();
+        this.currentDirs = new ConcurrentHashMap<>();
+        this.currentFiles = new ConcurrentHashMap<>();
+        this.currentDestDirs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Load the index from the destination directory.
+     * <p>
+     * If there is no index, or it is from a different version, or for a
+     * different source directory, or was not completely written, then an
+     * empty one is returned.
+     *
+     * @param destDirPath The destination directory.
+     * @param srcPath     The source directory.
+     *
+     * @return the index.
+     *
+     * @throws IOException if any.
+     */
+    public static SourceIndex load(final Path destDirPath, final Path srcPath)
+            throws IOException
+    {
+        SourceIndex index = new SourceIndex(
+                destDirPath.resolve(FILENAME),
+                srcPath.toAbsolutePath().normalize().toString()
+        );
+
+        if (Files.exists(index.indexPath))
+        {
+            try ( BufferedReader reader = Files.newBufferedReader(index.indexPath))
+            {
+                if (HEADER.equals(reader.readLine())
+                        && index.options.equals(reader.readLine())
+                        && !index.read(reader))
+                {
+                    index.dirs.clear();
+                    index.files.clear();
+                    index.destDirs.clear();
+                }
+            }
+        }
+
+        Log.print(2, display -> display
+                .append("index: ").append(index.indexPath)
+                .append(" (").append(index.dirs.size()).append(" directories, ")
+                .append(index.files.size()).appendln(" files)"));
+
+        return index;
+    }
+
+    private static boolean isRacy(final long modified)
+    {
+        return System.currentTimeMillis() - modified < RACY_MILLIS;
+    }
+
+    private static String keyOf(final BasicFileAttributes attrs)
+    {
+        return Objects.toString(attrs.fileKey(), "");
+    }
+
+    private static long lastModified(final Path dir)
+    {
+        try
+        {
+            long modified = Files.getLastModifiedTime(dir).toMillis();
+
+            return isRacy(modified) ? UNKNOWN : modified;
+        } catch (IOException ex)
+        {
+            return UNKNOWN;
+        }
+    }
+
+    private static Path parentOf(final Path path)
+    {
+        Path parent = path.getParent();
+
+        return parent != null ? parent : Path.of("");
+    }
+
+    /**
+     * Get the number of source directories that had to be read, in this
+     * build.
+     *
+     * @return the count.
+     */
+    public int getListed()
+    {
+        return listed;
+    }
+
+    /**
+     * Check whether or not a markdown file's output file is still up to
+     * date, without reading the output file's attributes.
+     *
+     * @param source The markdown file.
+     * @param attrs  The markdown file's attributes.
+     * @param output The output file.
+     *
+     * @return {@code true} if the markdown file, and the output file's
+     *         directory, have not changed since the output file was last
+     *         found to be up to date.  {@code false} if the output file needs
+     *         to be checked.
+     */
+    public boolean isUpToDate(final Path source, final BasicFileAttributes attrs, final Path output)
+    {
+        String key = source.toString();
+        FileRecord file = files.get(key);
+
+        if (file != null
+                && file.upToDate()
+                && file.matches(attrs)
+                && file.output().equals(output.toString()))
+        {
+            String dir = parentOf(output).toString();
+            long modified = currentDestDirs.computeIfAbsent(dir, d -> lastModified(Path.of(d)));
+
+            if (modified != UNKNOWN && destDirs.getOrDefault(dir, UNKNOWN) == modified)
+            {
+                currentFiles.put(key, file);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the entries of a source directory.
+     * <p>
+     * They are only read from the file system, if the directory has changed
+     * since the last build.
+     *
+     * @param dir The directory.
+     *
+     * @return the entries, in no particular order.
+     *
+     * @throws IOException if any.
+     */
+    public List<Entry> list(final Path dir) throws IOException
+    {
+        String key = dir.toString();
+        long modified = Files.getLastModifiedTime(dir).toMillis();
+        DirRecord record = dirs.get(key);
+
+        if (record == null || record.modified() != modified)
+        {
+            List<Entry> entries = new ArrayList<>();
+
+            try ( DirectoryStream<Path> stream = Files.newDirectoryStream(dir))
+            {
+                for (Path path : stream)
+                {
+                    entries.add(new Entry(
+                            path.getFileName().toString(),
+                            Files.isDirectory(path, NOFOLLOW_LINKS)
+                    ));
+                }
+            }
+
+            record = new DirRecord(isRacy(modified) ? UNKNOWN : modified, List.copyOf(entries));
+            listed++;
+        }
+
+        currentDirs.put(key, record);
+        return record.entries();
+    }
+
+    /**
+     * Record what was found out about a markdown file's output file.
+     *
+     * @param source   The markdown file.
+     * @param attrs    The markdown file's attributes.
+     * @param output   The output file.
+     * @param upToDate {@code true} if the output file is up to date.
+     */
+    public void put(
+            final Path source,
+            final BasicFileAttributes attrs,
+            final Path output,
+            final boolean upToDate
+    )
+    {
+        currentFiles.put(source.toString(), new FileRecord(
+                attrs.size(),
+                attrs.lastModifiedTime().toMillis(),
+                keyOf(attrs),
+                output.toString(),
+                upToDate
+        ));
+    }
+
+    /**
+     * Save the index to the destination directory, once the output files
+     * have been written.
+     * <p>
+     * Only the output files that were out of date are checked again.  The
+     * index is only written if something has changed.  It is written in
+     * place, so that doing so does not change the destination directory's
+     * last modified time.
+     *
+     * @throws IOException if any.
+     */
+    public void save() throws IOException
+    {
+        if (Files.notExists(indexPath))
+        {
+            Files.createFile(indexPath);
+        }
+
+        Map<String, FileRecord> built = new HashMap<>();
+
+        currentFiles.forEach((key, file) ->
+        {
+            if (!file.upToDate())
+            {
+                built.put(key, file.built());
+                currentDestDirs.remove(parentOf(Path.of(file.output())).toString());
+            }
+        });
+
+        currentFiles.putAll(built);
+        currentFiles.values().forEach(file -> currentDestDirs.computeIfAbsent(
+                parentOf(Path.of(file.output())).toString(),
+                dir -> lastModified(Path.of(dir))
+        ));
+
+        currentDestDirs.values().removeIf(modified -> modified == UNKNOWN);
+
+        Log.print(2, display -> display
+                .append("index: ").append(listed).append(" of ")
+                .append(currentDirs.size()).appendln(" directories read"));
+
+        if (currentDirs.equals(dirs) && currentFiles.equals(files) && currentDestDirs.equals(destDirs))
+        {
+            return;
+        }
+
+        try ( BufferedWriter writer = Files.newBufferedWriter(indexPath))
+        {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(options);
+            writer.newLine();
+
+            for (Map.Entry<String, DirRecord> dir : new TreeMap<>(currentDirs).entrySet())
+            {
+                dir.getValue().write(writer, dir.getKey());
+            }
+
+            for (Map.Entry<String, FileRecord> file : new TreeMap<>(currentFiles).entrySet())
+            {
+                file.getValue().write(writer, file.getKey());
+            }
+
+            for (Map.Entry<String, Long> dir : new TreeMap<>(currentDestDirs).entrySet())
+            {
+                writer.write("dest\t" + dir.getKey() + "\t" + dir.getValue());
+                writer.newLine();
+            }
+
+            writer.write(END);
+            writer.newLine();
+        }
+    }
+
+    /**
+     * Read the records, after the header.
+     *
+     * @return {@code true} if the index was completely written.
+     */
+    private boolean read(final BufferedReader reader) throws IOException
+    {
+        List<Entry> entries = null;
+        String line;
+
+        try
+        {
+            while ((line = reader.readLine()) != null)
+            {
+                String[] fields = line.split("\t", -1);
+
+                switch (fields[0])
+                {
+                    case "dir" ->
+                    {
+                        entries = new ArrayList<>();
+                        dirs.put(fields[1], new DirRecord(Long.parseLong(fields[2]), entries));
+                    }
+                    case "entry" ->
+                        entries.add(new Entry(fields[1], "d".equals(fields[2])));
+                    case "file" ->
+                        files.put(fields[1], new FileRecord(
+                                Long.parseLong(fields[2]),
+                                Long.parseLong(fields[3]),
+                                fields[4],
+                                fields[5],
+                                "1".equals(fields[6])
+                        ));
+                    case "dest" ->
+                        destDirs.put(fields[1], Long.parseLong(fields[2]));
+                    case END ->
+                    {
+                        return true;
+                    }
+                    default ->
+                    {
+                        // Ignore unknown lines.
+                    }
+                }
+            }
+        } catch (RuntimeException ex)
+        {
+            // A line cut short, by a write that did not finish.
+            Log.println(1, () -> "index: " + ex);
+        }
+
+        return false;
+    }
+
+    /**
+     * An entry in a source directory.
+     *
+     * @param name      of the file, or directory.
+     * @param directory {@code true} if it is a directory, and not a link to
+     *                  one.
+     */
+    public record Entry(String name, boolean directory)
+    {
+    }
+
+    /**
+     * A source directory.
+     *
+     * @param modified time, in milliseconds.
+     * @param entries  of the directory.
+     */
+    private record DirRecord(long modified, List<Entry> entries)
+    {
+        void write(final BufferedWriter writer, final String dir) throws IOException
+        {
+            writer.write("dir\t" + dir + "\t" + modified);
+            writer.newLine();
+
+            for (Entry entry : entries)
+            {
+                writer.write("entry\t" + entry.name() + "\t" + (entry.directory() ? "d" : "f"));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * A markdown file, and its output file.
+     *
+     * @param size     of the markdown file.
+     * @param modified time of the markdown file, in milliseconds.
+     * @param key      of the markdown file, such as its inode.
+     * @param output   file.
+     * @param upToDate {@code true} if the output file was up to date.
+     */
+    private record FileRecord(long size, long modified, String key, String output, boolean upToDate)
+    {
+        /**
+         * Check the output file again, now that it has been written.
+         */
+        FileRecord built()
+        {
+            try
+            {
+                long outputModified = Files.getLastModifiedTime(Path.of(output)).toMillis();
+
+                return new FileRecord(size, modified, key, output, outputModified >= modified);
+            } catch (IOException ex)
+            {
+                return this;
+            }
+        }
+
+        boolean matches(final BasicFileAttributes attrs)
+        {
+            return attrs.size() == size
+                    && attrs.lastModifiedTime().toMillis() == modified
+                    && keyOf(attrs).equals(key);
+        }
+
+        void write(final BufferedWriter writer, final String file) throws IOException
+        {
+            writer.write("file\t" + file + "\t" + size + "\t" + modified + "\t" + key
+                    + "\t" + output + "\t" + (upToDate ? "1" : "0"));
+            writer.newLine();
+        }
+    }
+}
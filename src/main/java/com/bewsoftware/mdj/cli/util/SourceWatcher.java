@@ -0,0 +1,244 @@
+/*
+ *  File Name:    SourceWatcher.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches directories for changes to their files.
+ * <p>
+ * A {@link WatchService} only watches a single directory, so directory trees
+ * are registered one directory at a time.  The directories ignored by a
+ * tree's {@link IgnoreRules} are not registered, nor are any below them.  Any
+ * new directories created within a registered tree are registered as they
+ * appear, unless they are ignored.
+ * <p>
+ * The events are debounced and coalesced: an editor's save will often
+ * produce several events for the same file, and a bulk copy produces events
+ * for many files.  All of these are returned together, as one set of
+ * changes.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class SourceWatcher implements Closeable
+{
+    private final Map<WatchKey, Path> keys;
+
+    private boolean overflowed;
+
+    private final Map<Path, IgnoreRules> trees;
+
+    private final WatchService watchService;
+
+    private final Set<Path> watched;
+
+    /**
+     * Create a new instance of SourceWatcher.
+     *
+     * @throws IOException if any.
+     */
+    public SourceWatcher() throws IOException
+    {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.keys = new HashMap<>();
+        this.trees = new HashMap<>();
+        this.watched = new HashSet<>();
+    }
+
+    /**
+     * Wait for the next set of changes.
+     * <p>
+     * Blocks until the first event arrives, then keeps collecting events
+     * until none have arrived for {@code debounceMillis}.
+     *
+     * @param debounceMillis The quiet period, in milliseconds.
+     *
+     * @return the absolute paths of the changed files and directories.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     * @throws IOException          if any.
+     */
+    public Set<Path> awaitChanges(final long debounceMillis)
+            throws InterruptedException, IOException
+    {
+        Set<Path> changes = new TreeSet<>();
+        overflowed = false;
+
+        WatchKey key = watchService.take();
+
+        while (key != null)
+        {
+            processEvents(key, changes);
+            key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+        }
+
+        Log.print(2, display -> display
+                .append("changes: ").appendln(changes));
+
+        return changes;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        watchService.close();
+    }
+
+    /**
+     * Check whether or not any events were lost during the last call to
+     * {@link #awaitChanges(long)}.
+     *
+     * @return {@code true} if events were lost. Then, the set of changes is
+     *         incomplete.
+     */
+    public boolean overflowed()
+    {
+        return overflowed;
+    }
+
+    /**
+     * Watch a single directory.
+     *
+     * @param dir The directory to watch.  Ignored if it does not exist, or is
+     *            already being watched.
+     *
+     * @throws IOException if any.
+     */
+    public void register(final Path dir) throws IOException
+    {
+        Path absDir = dir.toAbsolutePath().normalize();
+
+        if (!watched.contains(absDir) && Files.isDirectory(absDir))
+        {
+            Log.print(2, display -> display
+                    .append("watch: ").appendln(absDir));
+
+            keys.put(absDir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), absDir);
+            watched.add(absDir);
+        }
+    }
+
+    /**
+     * Watch a directory and all of its sub-directories.
+     *
+     * @param start The top directory.
+     *
+     * @throws IOException if any.
+     */
+    public void registerTree(final Path start) throws IOException
+    {
+        registerTree(start, IgnoreRules.NONE);
+    }
+
+    /**
+     * Watch a directory and all of its sub-directories, except those that
+     * are ignored.
+     *
+     * @param start       The top directory.
+     * @param ignoreRules The rules for the tree, relative to {@code start}.
+     *
+     * @throws IOException if any.
+     */
+    public void registerTree(final Path start, final IgnoreRules ignoreRules) throws IOException
+    {
+        Path absStart = start.toAbsolutePath().normalize();
+
+        if (Files.isDirectory(absStart))
+        {
+            trees.put(absStart, ignoreRules);
+            walk(absStart, absStart, ignoreRules);
+        }
+    }
+
+    private void processEvents(final WatchKey key, final Set<Path> changes) throws IOException
+    {
+        Path dir = keys.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == OVERFLOW)
+            {
+                overflowed = true;
+                continue;
+            }
+
+            Path path = dir.resolve((Path) event.context());
+            changes.add(path);
+
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path))
+            {
+                for (Map.Entry<Path, IgnoreRules> tree : trees.entrySet())
+                {
+                    if (dir.startsWith(tree.getKey()))
+                    {
+                        walk(path, tree.getKey(), tree.getValue());
+                    }
+                }
+            }
+        }
+
+        if (!key.reset())
+        {
+            keys.remove(key);
+            watched.remove(dir);
+        }
+    }
+
+    /**
+     * Register the directory, and those below it, skipping the ignored ones.
+     */
+    private void walk(final Path start, final Path top, final IgnoreRules ignoreRules)
+            throws IOException
+    {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                    throws IOException
+            {
+                if (Find.isIgnored(ignoreRules, top, dir, true))
+                {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  File Name:    SubstitutionCycleException.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.util.List;
+
+/**
+ * Thrown when a substitution variable refers back to itself, either directly
+ * or through other variables.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class SubstitutionCycleException extends IllegalStateException
+{
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> chain;
+
+    /**
+     * Create a new instance of SubstitutionCycleException.
+     *
+     * @param chain The variables: "section.key", in the order they refer to
+     *              each other.  The first and last are the same.
+     */
+    public SubstitutionCycleException(final List<String> chain)
+    {
+        super("Substitution cycle: ${" + String.join("} -> ${", chain) + "}");
+        this.chain = List.copyOf(chain);
+    }
+
+    /**
+     * The variables: "section.key", in the order they refer to each other.
+     *
+     * @return an unmodifiable list.
+     */
+    public List<String> getChain()
+    {
+        return chain;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ *  File Name:    SubstitutionGraph.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniDocument;
+import com.bewsoftware.property.IniProperty;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+import static com.bewsoftware.mdj.cli.util.SubstitutionResolver.SUBSTITUTION_PATTERN;
+
+/**
+ * The substitutions: <code>${section.key}</code>, held in the properties of
+ * an {@link IniDocument}, as a dependency graph.
+ * <p>
+ * Each property is a node, with an edge to each of the variables its value
+ * refers to.  The values are resolved once each, in topological order, so
+ * every variable is fully resolved before any value that refers to it.
+ * <p>
+ * A variable that is not in its own section, is looked for in the global
+ * section.  If not there either, it is replaced with "".
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class SubstitutionGraph
+{
+    private final IniDocument iniDoc;
+
+    /**
+     * The nodes, by name: "section.key".
+     */
+    private final Map<String, Node> nodes;
+
+    private SubstitutionGraph(final IniDocument iniDoc)
+    {
+        this.iniDoc = iniDoc;
+        this.nodes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Process the substitutions in all of the properties of the document,
+     * and store the results back into it.
+     *
+     * @param iniDoc The document to process.
+     *
+     * @throws SubstitutionCycleException if a variable refers back to
+     *                                    itself.
+     */
+    public static void resolveAll(final IniDocument iniDoc)
+    {
+        SubstitutionGraph graph = new SubstitutionGraph(iniDoc);
+        graph.build();
+        graph.resolve();
+        graph.store();
+    }
+
+    /**
+     * Add a node for each property, and for each variable they refer to.
+     */
+    private void build()
+    {
+        Deque<Node> pending = new ArrayDeque<>();
+
+        for (String section : iniDoc.getSections())
+        {
+            List<IniProperty<String>> props = iniDoc.getSection(section);
+
+            if (props != null)
+            {
+                for (IniProperty<String> prop : props)
+                {
+                    if (prop.value() != null)
+                    {
+                        Node node = new Node(section, prop.key(), prop.value(), prop.comment(), true);
+                        nodes.put(node.name(), node);
+                        pending.add(node);
+                    }
+                }
+            }
+        }
+
+        while (!pending.isEmpty())
+        {
+            Node node = pending.remove();
+            Matcher m = SUBSTITUTION_PATTERN.matcher(node.raw);
+
+            while (m.find())
+            {
+                String section = m.group("group");
+                String key = m.group("key");
+                String name = section + "." + key;
+                Node dependency = nodes.get(name);
+
+                if (dependency == null)
+                {
+                    String raw = iniDoc.getString(section, key, null);
+
+                    if (raw == null)
+                    {
+                        raw = iniDoc.getString(null, key, "");
+                    }
+
+                    dependency = new Node(section, key, raw, null, false);
+                    nodes.put(name, dependency);
+                    pending.add(dependency);
+                }
+
+                if (node.dependencies.add(dependency))
+                {
+                    dependency.dependents.add(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Find a cycle amongst the nodes that could not be resolved.
+     * <p>
+     * Each of them still has at least one dependency that could not be
+     * resolved, so following those must eventually lead back to one already
+     * visited.
+     */
+    private List<String> findCycle()
+    {
+        Set<Node> path = new LinkedHashSet<>();
+        Node node = nodes.values().stream()
+                .filter(n -> n.value == null)
+                .findFirst()
+                .orElseThrow();
+
+        while (path.add(node))
+        {
+            node = node.dependencies.stream()
+                    .filter(n -> n.value == null)
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        List<String> chain = new ArrayList<>();
+        boolean inCycle = false;
+
+        for (Node link : path)
+        {
+            inCycle |= link == node;
+
+            if (inCycle)
+            {
+                chain.add(link.name());
+            }
+        }
+
+        chain.add(node.name());
+        return chain;
+    }
+
+    /**
+     * Resolve each node, once all of its dependencies have been.
+     */
+    private void resolve()
+    {
+        Map<Node, Integer> remaining = new LinkedHashMap<>();
+        Deque<Node> ready = new ArrayDeque<>();
+
+        for (Node node : nodes.values())
+        {
+            if (node.dependencies.isEmpty())
+            {
+                ready.add(node);
+            } else
+            {
+                remaining.put(node, node.dependencies.size());
+            }
+        }
+
+        int resolved = 0;
+
+        while (!ready.isEmpty())
+        {
+            Node node = ready.remove();
+            node.value = substitute(node.raw);
+            resolved++;
+
+            for (Node dependent : node.dependents)
+            {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0)
+                {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (resolved < nodes.size())
+        {
+            throw new SubstitutionCycleException(findCycle());
+        }
+    }
+
+    /**
+     * Store the properties whose values have changed.
+     */
+    private void store()
+    {
+        for (Node node : nodes.values())
+        {
+            if (node.property && !node.value.equals(node.raw))
+            {
+                Log.print(3, display -> display
+                        .append("${").append(node.name()).append("}: ")
+                        .appendln(node.value));
+                iniDoc.setString(node.section, node.key, node.value, node.comment);
+            }
+        }
+    }
+
+    private String substitute(final String raw)
+    {
+        Matcher m = SUBSTITUTION_PATTERN.matcher(raw);
+
+        if (!m.find())
+        {
+            return raw;
+        }
+
+        StringBuilder sb = new StringBuilder(raw.length() + 64);
+        int last = 0;
+
+        do
+        {
+            sb.append(raw, last, m.start())
+                    .append(nodes.get(m.group("group") + "." + m.group("key")).value);
+            last = m.end();
+        } while (m.find());
+
+        return sb.append(raw, last, raw.length()).toString();
+    }
+
+    /**
+     * A variable.
+     */
+    private static class Node
+    {
+        final String comment;
+
+        final Set<Node> dependencies;
+
+        final Set<Node> dependents;
+
+        final String key;
+
+        /**
+         * {@code true} if this is one of the document's properties.
+         * Otherwise, its value was found in the global section, or not at
+         * all.
+         */
+        final boolean property;
+
+        final String raw;
+
+        final String section;
+
+        /**
+         * The resolved value, once known.
+         */
+        String value;
+
+        Node(
+                final String section,
+                final String key,
+                final String raw,
+                final String comment,
+                final boolean property
+        )
+        {
+            this.section = section;
+            this.key = key;
+            this.raw = raw;
+            this.comment = comment;
+            this.property = property;
+            this.dependencies = new LinkedHashSet<>();
+            this.dependents = new LinkedHashSet<>();
+        }
+
+        String name()
+        {
+            // The global section can not be referred to, so must not clash.
+            return (section != null ? section : "") + "." + key;
+        }
+    }
+}
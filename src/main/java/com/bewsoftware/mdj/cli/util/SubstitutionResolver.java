@@ -0,0 +1,301 @@
+/*
+ *  File Name:    SubstitutionResolver.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.utils.struct.Ref;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Processes the substitutions: <code>${section.key}</code>, in a single scan
+ * of the text.
+ * <p>
+ * Each variable's value is resolved recursively, so any substitutions it
+ * holds are processed before it is inserted, and it is not scanned again.
+ * Each variable is only resolved once per instance.  An escaped variable:
+ * <code>\${section.key}</code>, is left as it is.
+ * <p>
+ * A variable that refers back to itself, either directly or through others,
+ * causes a {@link SubstitutionCycleException}, naming the variables
+ * involved.
+ * <p>
+ * Values that only depend on the {@link ConfSnapshot}, are also kept in the
+ * snapshot, so they are resolved only once per build.  Before such a value
+ * is reused, each of the variables it was resolved from is read from the
+ * page's context, and checked to be unchanged.  Those reads also let the
+ * {@link BuildManifest} see what the page depends on.
+ * <p>
+ * Instances are <b>not</b> thread-safe.  Use one per page, or per call.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class SubstitutionResolver
+{
+    /**
+     * A variable: <code>${section.key}</code>, that is not escaped.
+     */
+    static final Pattern SUBSTITUTION_PATTERN
+            = Pattern.compile("(?<!\\\\)(?:\\$\\{(?<group>\\w+)[.](?<key>\\w+)\\})");
+
+    /**
+     * The variables being resolved, in order.
+     */
+    private final Set<String> chain;
+
+    private final PageContext context;
+
+    private final Map<String, Resolved> memo;
+
+    private final ConfSnapshot snapshot;
+
+    private final String use;
+
+    /**
+     * Create a new instance of SubstitutionResolver.
+     *
+     * @param context The page's context.
+     * @param use     Alternate section to use, if a key is not found in its
+     *                own section. May be {@code null}.
+     */
+    public SubstitutionResolver(final PageContext context, final String use)
+    {
+        this.context = context;
+        this.use = use;
+        this.snapshot = context.snapshot();
+        this.memo = new HashMap<>();
+        this.chain = new LinkedHashSet<>();
+    }
+
+    /**
+     * Process the substitutions in the text.
+     *
+     * @param text  Text to be processed.
+     * @param found Set to {@code true} if any were found.
+     *
+     * @return result.
+     *
+     * @throws SubstitutionCycleException if a variable refers back to
+     *                                    itself.
+     */
+    public String resolve(final String text, final Ref<Boolean> found)
+    {
+        Matcher m = SUBSTITUTION_PATTERN.matcher(text);
+        found.val = m.find();
+
+        return found.val ? substitute(text, m, null) : text;
+    }
+
+    /**
+     * Get the value of a variable, with its own substitutions processed.
+     *
+     * @param section label.
+     * @param key     name.
+     *
+     * @return the value, or "" if not found.
+     *
+     * @throws SubstitutionCycleException if the variable refers back to
+     *                                    itself.
+     */
+    public String valueOf(final String section, final String key)
+    {
+        return lookup(section, key).value;
+    }
+
+    private Resolved lookup(final String section, final String key)
+    {
+        String name = section + "." + key;
+        Resolved rtn = memo.get(name);
+
+        if (rtn != null)
+        {
+            return rtn;
+        }
+
+        if (snapshot != null)
+        {
+            rtn = snapshot.substitutions().get(name);
+
+            if (rtn != null && rtn.isValidFor(context))
+            {
+                memo.put(name, rtn);
+                return rtn;
+            }
+        }
+
+        if (!chain.add(name))
+        {
+            List<String> names = new ArrayList<>(chain.size() + 1);
+            boolean inCycle = false;
+
+            for (String link : chain)
+            {
+                inCycle |= link.equals(name);
+
+                if (inCycle)
+                {
+                    names.add(link);
+                }
+            }
+
+            names.add(name);
+            throw new SubstitutionCycleException(names);
+        }
+
+        try
+        {
+            rtn = compute(section, key);
+        } finally
+        {
+            chain.remove(name);
+        }
+
+        memo.put(name, rtn);
+
+        if (rtn.dependencies != null)
+        {
+            snapshot.substitutions().putIfAbsent(name, rtn);
+        }
+
+        return rtn;
+    }
+
+    private Resolved compute(final String section, final String key)
+    {
+        String raw = context.getString(section, key, null);
+
+        // Only shared, if read from the snapshot, and not from the 'use' section.
+        List<Dependency> dependencies = raw != null && snapshot != null
+                && raw.equals(snapshot.getString(section, key, null))
+                ? new ArrayList<>() : null;
+
+        if (raw == null)
+        {
+            raw = context.getString(use, key, "");
+        }
+
+        if (dependencies != null)
+        {
+            dependencies.add(new Dependency(section, key, raw));
+        }
+
+        Matcher m = SUBSTITUTION_PATTERN.matcher(raw);
+        String value = raw;
+
+        if (m.find())
+        {
+            List<Resolved> nested = dependencies != null ? new ArrayList<>() : null;
+            value = substitute(raw, m, nested);
+
+            if (nested != null)
+            {
+                for (Resolved resolved : nested)
+                {
+                    if (resolved.dependencies == null)
+                    {
+                        dependencies = null;
+                        break;
+                    }
+
+                    dependencies.addAll(resolved.dependencies);
+                }
+            }
+        }
+
+        Resolved rtn = new Resolved(value, dependencies);
+
+        Log.print(3, display -> display
+                .append("${").append(section).append(".").append(key).append("}: ")
+                .appendln(rtn.value));
+
+        return rtn;
+    }
+
+    /**
+     * Substitute the variables, starting with the one already found by
+     * {@code m}.
+     *
+     * @param nested To add each variable's resolved value to, if not
+     *               {@code null}.
+     */
+    private String substitute(final String text, final Matcher m, final List<Resolved> nested)
+    {
+        StringBuilder sb = new StringBuilder(text.length() + 64);
+        int last = 0;
+
+        do
+        {
+            Resolved resolved = lookup(m.group("group"), m.group("key"));
+
+            sb.append(text, last, m.start()).append(resolved.value);
+            last = m.end();
+
+            if (nested != null)
+            {
+                nested.add(resolved);
+            }
+        } while (m.find());
+
+        return sb.append(text, last, text.length()).toString();
+    }
+
+    /**
+     * A variable, and the value it had when another was resolved from it.
+     */
+    private record Dependency(String section, String key, String raw)
+    {
+    }
+
+    /**
+     * A variable's resolved value.
+     *
+     * @param value        with its substitutions processed.
+     * @param dependencies The variables it was resolved from, including
+     *                     itself. {@code null}, if it depends on more than
+     *                     the snapshot.
+     */
+    record Resolved(String value, List<Dependency> dependencies)
+    {
+        private boolean isValidFor(final PageContext context)
+        {
+            for (Dependency dependency : dependencies)
+            {
+                if (!Objects.equals(dependency.raw,
+                        context.getString(dependency.section, dependency.key, null)))
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  File Name:    Template.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled html template.
+ * <p>
+ * The template text is parsed once into literal segments and variable
+ * slots: <code>${section.key}</code>.  The escapes "{@code \$}" and
+ * "{@code \[}" are resolved in the literal segments at compile time.
+ * <p>
+ * Instances are immutable, and so can be shared between threads.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public final class Template
+{
+    private static final Pattern SLOT_PATTERN
+            = Pattern.compile("(?<!\\\\)(?:\\$\\{(?<group>\\w+)[.](?<key>\\w+)\\})");
+
+    /**
+     * Alternating literals and slots.  {@code literals.length ==
+     * sections.length + 1}.
+     */
+    private final String[] literals;
+
+    private final String[] keys;
+
+    private final String[] sections;
+
+    private final int literalsLength;
+
+    private Template(final List<String> literals, final List<String> sections, final List<String> keys)
+    {
+        this.literals = literals.toArray(String[]::new);
+        this.sections = sections.toArray(String[]::new);
+        this.keys = keys.toArray(String[]::new);
+        this.literalsLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Compile the template text.
+     *
+     * @param text The template text.
+     *
+     * @return the compiled template.
+     */
+    public static Template compile(final String text)
+    {
+        List<String> literals = new ArrayList<>();
+        List<String> sections = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        Matcher m = SLOT_PATTERN.matcher(text);
+        int last = 0;
+
+        while (m.find())
+        {
+            literals.add(unescape(text.substring(last, m.start())));
+            sections.add(m.group("group"));
+            keys.add(m.group("key"));
+            last = m.end();
+        }
+
+        literals.add(unescape(text.substring(last)));
+
+        return new Template(literals, sections, keys);
+    }
+
+    /**
+     * Resolve the escapes: "{@code \$}" and "{@code \[}".
+     *
+     * @param text to process.
+     *
+     * @return the text with its escapes resolved.
+     */
+    public static String unescape(final String text)
+    {
+        if (text.indexOf('\\') == -1)
+        {
+            return text;
+        }
+
+        return text.replace("\\$", "$").replace("\\[", "[");
+    }
+
+    /**
+     * Render the template in a single pass, filling in each slot.
+     * <p>
+     * The escapes in the values returned by the {@code resolver} are also
+     * resolved.
+     *
+     * @param resolver Supplies the value for each slot.
+     *
+     * @return the rendered text.
+     */
+    public String render(final Resolver resolver)
+    {
+        String[] values = new String[sections.length];
+        int length = literalsLength;
+
+        for (int i = 0; i < sections.length; i++)
+        {
+            values[i] = unescape(resolver.resolve(sections[i], keys[i]));
+            length += values[i].length();
+        }
+
+        StringBuilder sb = new StringBuilder(length);
+
+        for (int i = 0; i < values.length; i++)
+        {
+            sb.append(literals[i]).append(values[i]);
+        }
+
+        return sb.append(literals[values.length]).toString();
+    }
+
+    /**
+     * The number of variable slots in this template.
+     *
+     * @return the count.
+     */
+    public int slotCount()
+    {
+        return sections.length;
+    }
+
+    /**
+     * Supplies the value for a variable slot.
+     */
+    @FunctionalInterface
+    public interface Resolver
+    {
+        /**
+         * Get the value for the slot: <code>${section.key}</code>.
+         *
+         * @param section label.
+         * @param key     name.
+         *
+         * @return the value. Never {@code null}.
+         */
+        public String resolve(String section, String key);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  File Name:    TemplateCache.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Holds the compiled templates, keyed by their path and last modified time.
+ * <p>
+ * A template is only read and compiled again if its file has been modified.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class TemplateCache
+{
+    private static final ConcurrentHashMap<Path, Entry> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private TemplateCache()
+    {
+    }
+
+    /**
+     * Remove all the compiled templates.
+     */
+    public static void clear()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Get the compiled template.
+     *
+     * @param templatePath The template file.
+     * @param header       Text to prepend to the file's contents.
+     *
+     * @return the compiled template.
+     *
+     * @throws IOException if any.
+     */
+    public static Template get(final Path templatePath, final String header) throws IOException
+    {
+        FileTime lastModified = Files.getLastModifiedTime(templatePath);
+        Entry entry = CACHE.get(templatePath);
+
+        if (entry == null || !entry.lastModified.equals(lastModified))
+        {
+            entry = new Entry(lastModified, compile(templatePath, header));
+            CACHE.put(templatePath, entry);
+        }
+
+        return entry.template;
+    }
+
+    private static Template compile(final Path templatePath, final String header) throws IOException
+    {
+        Log.print(2, display -> display
+                .append("compile template: ")
+                .appendln(templatePath));
+
+        StringBuilder sb = new StringBuilder(header);
+
+        try ( BufferedReader inReader = Files.newBufferedReader(templatePath))
+        {
+            String line;
+
+            while ((line = inReader.readLine()) != null)
+            {
+                sb.append(line).append("\n");
+            }
+        }
+
+        return Template.compile(sb.toString());
+    }
+
+    private static final class Entry
+    {
+        private final FileTime lastModified;
+
+        private final Template template;
+
+        private Entry(final FileTime lastModified, final Template template)
+        {
+            this.lastModified = lastModified;
+            this.template = template;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ *  File Name:    ZipReader.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipException;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the central directory of a zip, or jar, file, so that the
+ * compressed data of its entries can be copied into another one, by a
+ * {@link ZipWriter}, without being decompressed and compressed again.
+ * <p>
+ * The data is read with positional reads, so it can be read on several
+ * threads at once.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class ZipReader implements Closeable
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int CENTRAL_HEADER = 0x02014b50;
+
+    private static final int END_HEADER = 0x06054b50;
+
+    private static final int END_LENGTH = 22;
+
+    private static final int DEFLATED = 8;
+
+    private static final int ENCRYPTED_FLAG = 0x0001;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+
+    private static final int MAX_COMMENT = 0xFFFF;
+
+    private static final int STORED = 0;
+
+    private static final int ZIP64_END_HEADER = 0x06064b50;
+
+    private static final int ZIP64_EXTRA = 0x0001;
+
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private final FileChannel channel;
+
+    private final Map<String, Entry> entries;
+
+    private final Path zipPath;
+
+    /**
+     * Create a new instance of ZipReader, reading the central directory.
+     *
+     * @param zipPath The file to read.
+     *
+     * @throws ZipException if it is not a zip file.
+     * @throws IOException  if any.
+     */
+    public ZipReader(final Path zipPath) throws IOException
+    {
+        this.zipPath = zipPath;
+        this.channel = FileChannel.open(zipPath);
+
+        try
+        {
+            this.entries = Collections.unmodifiableMap(readCentral());
+        } catch (IOException | RuntimeException ex)
+        {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    /**
+     * Copy the compressed data of an entry.
+     *
+     * @param entry The entry.
+     * @param out   Where to copy it to.
+     *
+     * @throws IOException if any.
+     */
+    public void copy(final Entry entry, final OutputStream out) throws IOException
+    {
+        long position = dataOffset(entry);
+        long remaining = entry.compressedSize();
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(remaining, 1)));
+
+        while (remaining > 0)
+        {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = channel.read(buffer, position);
+
+            if (read < 0)
+            {
+                throw new ZipException(zipPath + ": " + entry.name() + ": truncated.");
+            }
+
+            out.write(buffer.array(), 0, read);
+            position += read;
+            remaining -= read;
+        }
+    }
+
+    /**
+     * Get an entry.
+     *
+     * @param name The entry's name.
+     *
+     * @return the entry, or {@code null} if there is no such entry.
+     */
+    public Entry getEntry(final String name)
+    {
+        return entries.get(name);
+    }
+
+    /**
+     * Get the entries, in the order of the central directory.
+     *
+     * @return the entries, by name.
+     */
+    public Map<String, Entry> getEntries()
+    {
+        return entries;
+    }
+
+    /**
+     * Get the file being read.
+     *
+     * @return the path.
+     */
+    public Path getPath()
+    {
+        return zipPath;
+    }
+
+    /**
+     * Work out where an entry's data starts, from its local header.
+     */
+    private long dataOffset(final Entry entry) throws IOException
+    {
+        ByteBuffer header = read(entry.offset(), 30);
+
+        if (header.getInt(0) != LOCAL_HEADER)
+        {
+            throw new ZipException(zipPath + ": " + entry.name() + ": bad local header.");
+        }
+
+        return entry.offset() + 30
+                + Short.toUnsignedInt(header.getShort(26))
+                + Short.toUnsignedInt(header.getShort(28));
+    }
+
+    /**
+     * Find the end of central directory record, searching back over any
+     * comment.
+     */
+    private long findEnd(final long fileSize) throws IOException
+    {
+        int length = (int) Math.min(fileSize, END_LENGTH + MAX_COMMENT);
+        ByteBuffer tail = read(fileSize - length, length);
+
+        for (int i = length - END_LENGTH; i >= 0; i--)
+        {
+            if (tail.getInt(i) == END_HEADER
+                    && i + END_LENGTH + Short.toUnsignedInt(tail.getShort(i + 20)) == length)
+            {
+                return fileSize - length + i;
+            }
+        }
+
+        throw new ZipException(zipPath + ": not a zip file.");
+    }
+
+    private ByteBuffer read(final long position, final int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(LITTLE_ENDIAN);
+
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new ZipException(zipPath + ": truncated.");
+            }
+        }
+
+        return buffer.flip();
+    }
+
+    private Map<String, Entry> readCentral() throws IOException
+    {
+        long endOffset = findEnd(channel.size());
+        ByteBuffer end = read(endOffset, END_LENGTH);
+        long count = Short.toUnsignedLong(end.getShort(10));
+        long centralSize = Integer.toUnsignedLong(end.getInt(12));
+        long centralOffset = Integer.toUnsignedLong(end.getInt(16));
+
+        if (count == ZIP64_MAGIC_COUNT || centralSize == ZIP64_MAGIC || centralOffset == ZIP64_MAGIC)
+        {
+            ByteBuffer locator = read(endOffset - 20, 20);
+
+            if (locator.getInt(0) == ZIP64_LOCATOR)
+            {
+                ByteBuffer end64 = read(locator.getLong(8), 56);
+
+                if (end64.getInt(0) != ZIP64_END_HEADER)
+                {
+                    throw new ZipException(zipPath + ": bad ZIP64 end header.");
+                }
+
+                count = end64.getLong(32);
+                centralSize = end64.getLong(40);
+                centralOffset = end64.getLong(48);
+            }
+        }
+
+        if (centralSize > Integer.MAX_VALUE || centralOffset + centralSize > endOffset)
+        {
+            throw new ZipException(zipPath + ": bad central directory.");
+        }
+
+        ByteBuffer central = read(centralOffset, (int) centralSize);
+        Map<String, Entry> rtn = new LinkedHashMap<>();
+
+        for (long i = 0; i < count; i++)
+        {
+            int at = central.position();
+
+            if (central.getInt(at) != CENTRAL_HEADER)
+            {
+                throw new ZipException(zipPath + ": bad central directory header.");
+            }
+
+            int nameLength = Short.toUnsignedInt(central.getShort(at + 28));
+            int extraLength = Short.toUnsignedInt(central.getShort(at + 30));
+            int commentLength = Short.toUnsignedInt(central.getShort(at + 32));
+            long compressedSize = Integer.toUnsignedLong(central.getInt(at + 20));
+            long size = Integer.toUnsignedLong(central.getInt(at + 24));
+            long offset = Integer.toUnsignedLong(central.getInt(at + 42));
+
+            byte[] name = new byte[nameLength];
+            central.position(at + 46);
+            central.get(name);
+
+            // The ZIP64 extra field holds the values too large for their
+            // fields, in this order.
+            int extra = at + 46 + nameLength;
+            int extraEnd = extra + extraLength;
+
+            while (extra + 4 <= extraEnd)
+            {
+                int id = Short.toUnsignedInt(central.getShort(extra));
+                int length = Short.toUnsignedInt(central.getShort(extra + 2));
+
+                if (id == ZIP64_EXTRA)
+                {
+                    int field = extra + 4;
+
+                    if (size == ZIP64_MAGIC)
+                    {
+                        size = central.getLong(field);
+                        field += 8;
+                    }
+
+                    if (compressedSize == ZIP64_MAGIC)
+                    {
+                        compressedSize = central.getLong(field);
+                        field += 8;
+                    }
+
+                    if (offset == ZIP64_MAGIC)
+                    {
+                        offset = central.getLong(field);
+                    }
+                }
+
+                extra += 4 + length;
+            }
+
+            Entry entry = new Entry(
+                    new String(name, UTF_8),
+                    Short.toUnsignedInt(central.getShort(at + 8)),
+                    Short.toUnsignedInt(central.getShort(at + 10)),
+                    Integer.toUnsignedLong(central.getInt(at + 16)),
+                    size,
+                    compressedSize,
+                    offset
+            );
+
+            rtn.put(entry.name(), entry);
+            central.position(extraEnd + commentLength);
+        }
+
+        return rtn;
+    }
+
+    /**
+     * An entry in the central directory.
+     *
+     * @param name           of the entry.
+     * @param flags          its general purpose flags.
+     * @param method         of compression.
+     * @param crc            of the uncompressed data.
+     * @param size           of the uncompressed data.
+     * @param compressedSize of the data.
+     * @param offset         of its local header.
+     */
+    public record Entry(
+            String name,
+            int flags,
+            int method,
+            long crc,
+            long size,
+            long compressedSize,
+            long offset
+            )
+    {
+        /**
+         * Check whether or not the entry's data can be copied into another
+         * zip file: it is stored or deflated, and not encrypted.
+         *
+         * @return {@code true} if it can.
+         */
+        public boolean isCopyable()
+        {
+            return !isEncrypted() && (method == STORED || method == DEFLATED);
+        }
+
+        /**
+         * Check whether or not the entry is encrypted.
+         *
+         * @return {@code true} if it is.
+         */
+        public boolean isEncrypted()
+        {
+            return (flags & ENCRYPTED_FLAG) != 0;
+        }
+    }
+}
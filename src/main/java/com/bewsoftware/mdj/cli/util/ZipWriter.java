@@ -0,0 +1,997 @@
+/*
+ *  File Name:    ZipWriter.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.bewsoftware.mdj.cli.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipException;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes a zip, or jar, file, compressing its entries on several threads.
+ * <p>
+ * Each entry is compressed, and its CRC worked out, on a worker thread.
+ * The finished entries are written to the file by the calling thread, in
+ * the order they were added, so the file is the same whatever the number of
+ * threads.  As the sizes are known by then, each local header holds them,
+ * and no data descriptors are needed.
+ * <p>
+ * Only a few entries, per thread, are compressed ahead of the one being
+ * written.  Each is held in memory, unless it is large, when it is held in a
+ * temporary file instead.
+ * <p>
+ * Each entry can have its own compression level.  A file that is to be
+ * stored, at level 0, is only read to work out its CRC, and then copied
+ * straight into the zip file.
+ * <p>
+ * An entry can also be copied from another zip file, still compressed, by
+ * way of a {@link ZipReader}.  A file is copied in this way, instead of
+ * being compressed again, when it has the same size and CRC as its entry in
+ * the previous version of the zip file.
+ * <p>
+ * Every entry has the same last modified time: the current time, unless
+ * another is given.  No file permissions are recorded.
+ * <p>
+ * The ZIP64 extensions are used, when the number of entries, or the sizes or
+ * offsets, are too large for the original format.
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ *
+ * @since 2.1.4
+ * @version 2.1.4
+ */
+public class ZipWriter implements Closeable
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int CENTRAL_HEADER = 0x02014b50;
+
+    private static final short DEFLATED = 8;
+
+    private static final int END_HEADER = 0x06054b50;
+
+    /**
+     * The extra field that marks a jar file.
+     */
+    private static final short JAR_MAGIC = (short) 0xCAFE;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+
+    /**
+     * The largest entry compressed into memory.  Larger ones are compressed
+     * into a temporary file.
+     */
+    private static final long MEMORY_LIMIT = 8L * 1024 * 1024;
+
+    private static final short STORED = 0;
+
+    private static final short UTF8_FLAG = 0x0800;
+
+    private static final short VERSION = 20;
+
+    private static final short VERSION_ZIP64 = 45;
+
+    private static final int ZIP64_END_HEADER = 0x06064b50;
+
+    private static final short ZIP64_EXTRA = 0x0001;
+
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private final List<Header> central;
+
+    private long compressedSize;
+
+    private int copiedCount;
+
+    private long copiedSize;
+
+    /**
+     * The time spent compressing the entries, in nanoseconds.
+     */
+    private long deflateNanos;
+
+    /**
+     * The total size of the entries that were compressed, before
+     * compression.
+     */
+    private long deflatedSize;
+
+    private final int dosTime;
+
+    private final ExecutorService executor;
+
+    private boolean finished;
+
+    private final int level;
+
+    private long offset;
+
+    private final OutputStream out;
+
+    private final Deque<Future<Entry>> pending;
+
+    private long size;
+
+    private int storedCount;
+
+    private long storedSize;
+
+    /**
+     * The number of entries that may be compressed ahead of the one being
+     * written.
+     */
+    private final int window;
+
+    /**
+     * Create a new instance of ZipWriter.
+     *
+     * @param zipPath The file to write.
+     * @param level   The default compression level [0-9].  0 stores the
+     *                entries without compressing them.
+     * @param threads The number of threads to compress the entries on.
+     *
+     * @throws IOException if any.
+     */
+    public ZipWriter(final Path zipPath, final int level, final int threads) throws IOException
+    {
+        this(zipPath, level, threads, null);
+    }
+
+    /**
+     * Create a new instance of ZipWriter, giving its entries a fixed last
+     * modified time.
+     *
+     * @param zipPath The file to write.
+     * @param level   The default compression level [0-9].  0 stores the
+     *                entries without compressing them.
+     * @param threads The number of threads to compress the entries on.
+     * @param time    The entries' last modified time, taken as UTC, or
+     *                {@code null} for the current local time.
+     *
+     * @throws IOException if any.
+     */
+    public ZipWriter(final Path zipPath, final int level, final int threads, final FileTime time)
+            throws IOException
+    {
+        this.level = checkLevel(level);
+        this.central = new ArrayList<>();
+        this.pending = new ArrayDeque<>();
+        this.dosTime = dosTime(time != null
+                ? LocalDateTime.ofInstant(time.toInstant(), ZoneOffset.UTC)
+                : LocalDateTime.now());
+        this.window = threads * 4;
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        this.out = new BufferedOutputStream(Files.newOutputStream(zipPath), BUFFER_SIZE);
+    }
+
+    private static int checkLevel(final int level)
+    {
+        if (level < 0 || level > 9)
+        {
+            throw new IllegalArgumentException("Compression level out of range [0-9]: " + level);
+        }
+
+        return level;
+    }
+
+    private static int dosTime(final LocalDateTime time)
+    {
+        if (time.getYear() < 1980)
+        {
+            return (1 << 21) | (1 << 16);
+        }
+
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    /**
+     * Add an entry, holding the contents of a file.
+     *
+     * @param name The entry's name.
+     * @param file The file.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final Path file) throws IOException
+    {
+        add(name, file, level);
+    }
+
+    /**
+     * Add an entry, holding the contents of a file, at its own compression
+     * level.
+     *
+     * @param name  The entry's name.
+     * @param file  The file.
+     * @param level The compression level [0-9].  0 stores the entry without
+     *              compressing it.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final Path file, final int level) throws IOException
+    {
+        checkLevel(level);
+
+        submit(() ->
+        {
+            if (level == 0)
+            {
+                return checksum(name, file);
+            }
+
+            try ( InputStream in = Files.newInputStream(file))
+            {
+                return compress(name, in, Files.size(file), level);
+            }
+        });
+    }
+
+    /**
+     * Add an entry, holding the contents of a file, at its own compression
+     * level, unless the file has not changed since the previous version of
+     * the zip file.  If it has not, its entry there is copied instead.
+     *
+     * @param name     The entry's name.
+     * @param file     The file.
+     * @param level    The compression level [0-9].  0 stores the entry
+     *                 without compressing it.
+     * @param previous The previous version of the zip file.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final Path file, final int level, final ZipReader previous)
+            throws IOException
+    {
+        checkLevel(level);
+
+        submit(() ->
+        {
+            ZipReader.Entry old = previous.getEntry(name);
+
+            if (old != null && old.isCopyable()
+                    && old.method() == (level > 0 ? DEFLATED : STORED)
+                    && old.size() == Files.size(file))
+            {
+                Entry stored = checksum(name, file);
+
+                if (stored.crc() == old.crc() && stored.size() == old.size())
+                {
+                    return copied(previous, old, name);
+                }
+
+                if (level == 0)
+                {
+                    return stored;
+                }
+            } else if (level == 0)
+            {
+                return checksum(name, file);
+            }
+
+            try ( InputStream in = Files.newInputStream(file))
+            {
+                return compress(name, in, Files.size(file), level);
+            }
+        });
+    }
+
+    /**
+     * Add an entry, holding the bytes.
+     *
+     * @param name The entry's name.
+     * @param data The bytes.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final byte[] data) throws IOException
+    {
+        add(name, data, level);
+    }
+
+    /**
+     * Add an entry, holding the bytes, at its own compression level.
+     *
+     * @param name  The entry's name.
+     * @param data  The bytes.
+     * @param level The compression level [0-9].  0 stores the entry without
+     *              compressing it.
+     *
+     * @throws IOException if any.
+     */
+    public void add(final String name, final byte[] data, final int level) throws IOException
+    {
+        checkLevel(level);
+        submit(() -> compress(name, new ByteArrayInputStream(data), data.length, level));
+    }
+
+    /**
+     * Copy an entry from another zip file, without decompressing it.
+     *
+     * @param reader The other zip file.
+     * @param entry  The entry to copy.
+     *
+     * @throws ZipException if it is encrypted, or compressed by a method
+     *                      other than stored or deflated.
+     * @throws IOException  if any.
+     */
+    public void copy(final ZipReader reader, final ZipReader.Entry entry) throws IOException
+    {
+        copy(reader, entry, entry.name());
+    }
+
+    /**
+     * Copy an entry from another zip file, without decompressing it, giving
+     * it another name.
+     *
+     * @param reader The other zip file.
+     * @param entry  The entry to copy.
+     * @param name   The entry's new name.
+     *
+     * @throws ZipException if it is encrypted, or compressed by a method
+     *                      other than stored or deflated.
+     * @throws IOException  if any.
+     */
+    public void copy(final ZipReader reader, final ZipReader.Entry entry, final String name)
+            throws IOException
+    {
+        if (!entry.isCopyable())
+        {
+            throw new ZipException(reader.getPath() + ": " + entry.name() + ": can not be copied.");
+        }
+
+        submit(() -> copied(reader, entry, name));
+    }
+
+    /**
+     * Close the file, without finishing it, if {@link #finish()} has not
+     * been called.
+     *
+     * @throws IOException if any.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            if (executor != null)
+            {
+                // The entries not yet started are dropped, and never done.
+                executor.shutdownNow();
+
+                try
+                {
+                    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                for (Future<Entry> future : pending)
+                {
+                    if (future.isDone())
+                    {
+                        try
+                        {
+                            future.get().delete();
+                        } catch (InterruptedException | ExecutionException | RuntimeException ex)
+                        {
+                            // Only the temporary file is of interest.
+                        }
+                    }
+                }
+
+                pending.clear();
+            }
+        } finally
+        {
+            out.close();
+        }
+    }
+
+    /**
+     * Write the entries still being compressed, and the central directory.
+     *
+     * @throws IOException if any.
+     */
+    public void finish() throws IOException
+    {
+        while (!pending.isEmpty())
+        {
+            write(take());
+        }
+
+        long centralOffset = offset;
+
+        for (Header header : central)
+        {
+            header.write(this);
+        }
+
+        long centralSize = offset - centralOffset;
+        int count = central.size();
+
+        ByteBuffer end = ByteBuffer.allocate(56 + 20 + 22).order(LITTLE_ENDIAN);
+
+        if (count >= ZIP64_MAGIC_COUNT || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC)
+        {
+            end.putInt(ZIP64_END_HEADER)
+                    .putLong(44)
+                    .putShort(VERSION_ZIP64)
+                    .putShort(VERSION_ZIP64)
+                    .putInt(0)
+                    .putInt(0)
+                    .putLong(count)
+                    .putLong(count)
+                    .putLong(centralSize)
+                    .putLong(centralOffset);
+
+            end.putInt(ZIP64_LOCATOR)
+                    .putInt(0)
+                    .putLong(offset)
+                    .putInt(1);
+        }
+
+        end.putInt(END_HEADER)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+                .putShort((short) Math.min(count, ZIP64_MAGIC_COUNT))
+                .putInt((int) Math.min(centralSize, ZIP64_MAGIC))
+                .putInt((int) Math.min(centralOffset, ZIP64_MAGIC))
+                .putShort((short) 0);
+
+        writeBytes(end.array(), end.position());
+        out.flush();
+        finished = true;
+    }
+
+    /**
+     * Get the total compressed size of the entries written.
+     *
+     * @return the size in bytes.
+     */
+    public long getCompressedSize()
+    {
+        return compressedSize;
+    }
+
+    /**
+     * Get the number of entries written.
+     *
+     * @return the count.
+     */
+    public int getCount()
+    {
+        return central.size();
+    }
+
+    /**
+     * Get the number of entries written that were copied from another zip
+     * file.
+     *
+     * @return the count.
+     */
+    public int getCopiedCount()
+    {
+        return copiedCount;
+    }
+
+    /**
+     * Get the total size of the entries written that were copied from
+     * another zip file, before compression.
+     *
+     * @return the size in bytes.
+     */
+    public long getCopiedSize()
+    {
+        return copiedSize;
+    }
+
+    /**
+     * Get the time spent compressing the entries written.
+     *
+     * @return the time in nanoseconds, summed across the threads.
+     */
+    public long getDeflateNanos()
+    {
+        return deflateNanos;
+    }
+
+    /**
+     * Get the total size of the entries written that were compressed, before
+     * compression.
+     *
+     * @return the size in bytes.
+     */
+    public long getDeflatedSize()
+    {
+        return deflatedSize;
+    }
+
+    /**
+     * Get the total size of the entries written, before compression.
+     *
+     * @return the size in bytes.
+     */
+    public long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Get the number of entries written that were stored, without being
+     * compressed.
+     *
+     * @return the count.
+     */
+    public int getStoredCount()
+    {
+        return storedCount;
+    }
+
+    /**
+     * Get the total size of the entries written that were stored, without
+     * being compressed.
+     *
+     * @return the size in bytes.
+     */
+    public long getStoredSize()
+    {
+        return storedSize;
+    }
+
+    /**
+     * Check whether or not the file has been finished.
+     *
+     * @return {@code true} if it has.
+     */
+    public boolean isFinished()
+    {
+        return finished;
+    }
+
+    /**
+     * Work out the CRC of a file that is to be stored.  It is copied into the
+     * zip file, once it is its turn to be written.
+     */
+    private Entry checksum(final String name, final Path file) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        long count = 0;
+
+        try ( InputStream in = Files.newInputStream(file))
+        {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = in.read(bytes)) != -1)
+            {
+                crc.update(bytes, 0, read);
+                count += read;
+            }
+        }
+
+        return new Entry(name.getBytes(UTF_8), STORED, crc.getValue(), count, count,
+                null, null, file, null, null, 0);
+    }
+
+    /**
+     * Compress an entry, working out its CRC as it is read.
+     */
+    private Entry compress(final String name, final InputStream in, final long length, final int level)
+            throws IOException
+    {
+        long start = System.nanoTime();
+        boolean inMemory = length <= MEMORY_LIMIT;
+        Buffer buffer = inMemory ? new Buffer((int) Math.max(length / 2, 64)) : null;
+        Path temp = inMemory ? null : Files.createTempFile("mdj-", ".zip");
+        CRC32 crc = new CRC32();
+        long count = 0;
+
+        try ( OutputStream sink = inMemory ? buffer : Files.newOutputStream(temp))
+        {
+            Deflater deflater = level > 0 ? new Deflater(level, true) : null;
+
+            try
+            {
+                OutputStream target = deflater != null
+                        ? new DeflaterOutputStream(sink, deflater, BUFFER_SIZE)
+                        : sink;
+
+                byte[] bytes = new byte[BUFFER_SIZE];
+                int read;
+
+                while ((read = in.read(bytes)) != -1)
+                {
+                    crc.update(bytes, 0, read);
+                    target.write(bytes, 0, read);
+                    count += read;
+                }
+
+                if (deflater != null)
+                {
+                    ((DeflaterOutputStream) target).finish();
+                }
+            } finally
+            {
+                if (deflater != null)
+                {
+                    deflater.end();
+                }
+            }
+        } catch (IOException ex)
+        {
+            if (temp != null)
+            {
+                Files.deleteIfExists(temp);
+            }
+
+            throw ex;
+        }
+
+        return new Entry(
+                name.getBytes(UTF_8),
+                level > 0 ? DEFLATED : STORED,
+                crc.getValue(),
+                count,
+                inMemory ? buffer.size() : Files.size(temp),
+                buffer,
+                temp,
+                null,
+                null,
+                null,
+                level > 0 ? System.nanoTime() - start : 0
+        );
+    }
+
+    /**
+     * An entry to be copied from another zip file, once it is its turn to be
+     * written.
+     */
+    private static Entry copied(final ZipReader reader, final ZipReader.Entry entry, final String name)
+    {
+        return new Entry(
+                name.getBytes(UTF_8),
+                (short) entry.method(),
+                entry.crc(),
+                entry.size(),
+                entry.compressedSize(),
+                null,
+                null,
+                null,
+                reader,
+                entry,
+                0
+        );
+    }
+
+    private void submit(final Callable<Entry> task) throws IOException
+    {
+        if (executor == null)
+        {
+            try
+            {
+                write(task.call());
+            } catch (IOException | RuntimeException ex)
+            {
+                throw ex;
+            } catch (Exception ex)
+            {
+                throw new IOException(ex);
+            }
+
+            return;
+        }
+
+        pending.add(executor.submit(task));
+
+        while (pending.size() > window)
+        {
+            write(take());
+        }
+    }
+
+    private Entry take() throws IOException
+    {
+        try
+        {
+            return pending.remove().get();
+        } catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compression of the entries was interrupted.", ex);
+        } catch (ExecutionException ex)
+        {
+            if (ex.getCause() instanceof IOException ioex)
+            {
+                throw ioex;
+            }
+
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Write the entry's local header and data.
+     */
+    private void write(final Entry entry) throws IOException
+    {
+        try
+        {
+            boolean zip64 = entry.size() >= ZIP64_MAGIC || entry.compressedSize() >= ZIP64_MAGIC;
+            boolean first = central.isEmpty();
+            int extraLength = (zip64 ? 20 : 0) + (first ? 4 : 0);
+
+            ByteBuffer header = ByteBuffer.allocate(30 + entry.name().length + extraLength)
+                    .order(LITTLE_ENDIAN)
+                    .putInt(LOCAL_HEADER)
+                    .putShort(zip64 ? VERSION_ZIP64 : VERSION)
+                    .putShort(UTF8_FLAG)
+                    .putShort(entry.method())
+                    .putInt(dosTime)
+                    .putInt((int) entry.crc())
+                    .putInt(zip64 ? -1 : (int) entry.compressedSize())
+                    .putInt(zip64 ? -1 : (int) entry.size())
+                    .putShort((short) entry.name().length)
+                    .putShort((short) extraLength)
+                    .put(entry.name());
+
+            if (first)
+            {
+                header.putShort(JAR_MAGIC).putShort((short) 0);
+            }
+
+            if (zip64)
+            {
+                header.putShort(ZIP64_EXTRA)
+                        .putShort((short) 16)
+                        .putLong(entry.size())
+                        .putLong(entry.compressedSize());
+            }
+
+            central.add(new Header(
+                    entry.name(),
+                    entry.method(),
+                    entry.crc(),
+                    entry.size(),
+                    entry.compressedSize(),
+                    offset,
+                    first
+            ));
+            writeBytes(header.array(), header.position());
+
+            if (entry.buffer() != null)
+            {
+                writeBytes(entry.buffer().array(), entry.buffer().size());
+            } else if (entry.reader() != null)
+            {
+                entry.reader().copy(entry.copied(), out);
+                offset += entry.compressedSize();
+            } else
+            {
+                long copied = Files.copy(entry.temp() != null ? entry.temp() : entry.source(), out);
+                offset += copied;
+
+                if (copied != entry.compressedSize())
+                {
+                    throw new IOException(entry.source() + ": changed while being added.");
+                }
+            }
+
+            size += entry.size();
+            compressedSize += entry.compressedSize();
+
+            if (entry.reader() != null)
+            {
+                copiedCount++;
+                copiedSize += entry.size();
+            } else if (entry.method() == STORED)
+            {
+                storedCount++;
+                storedSize += entry.size();
+            } else
+            {
+                deflatedSize += entry.size();
+                deflateNanos += entry.nanos();
+            }
+        } finally
+        {
+            entry.delete();
+        }
+    }
+
+    private void writeBytes(final byte[] bytes, final int length) throws IOException
+    {
+        out.write(bytes, 0, length);
+        offset += length;
+    }
+
+    /**
+     * A growable buffer, whose contents can be written without copying them.
+     */
+    private static class Buffer extends ByteArrayOutputStream
+    {
+        Buffer(final int size)
+        {
+            super(size);
+        }
+
+        byte[] array()
+        {
+            return buf;
+        }
+    }
+
+    /**
+     * A compressed entry, held in memory or in a temporary file, a file to
+     * be stored, or an entry to be copied from another zip file.
+     *
+     * @param name           in UTF-8.
+     * @param method         of compression.
+     * @param crc            of the uncompressed data.
+     * @param size           of the uncompressed data.
+     * @param compressedSize of the data.
+     * @param buffer         holding the data, or {@code null}.
+     * @param temp           file holding the data, or {@code null}.
+     * @param source         file to be stored, or {@code null}.
+     * @param reader         of the zip file to copy the data from, or
+     *                       {@code null}.
+     * @param copied         entry whose data is to be copied, or
+     *                       {@code null}.
+     * @param nanos          spent compressing the data.
+     */
+    private record Entry(
+            byte[] name,
+            short method,
+            long crc,
+            long size,
+            long compressedSize,
+            Buffer buffer,
+            Path temp,
+            Path source,
+            ZipReader reader,
+            ZipReader.Entry copied,
+            long nanos
+            )
+    {
+        void delete() throws IOException
+        {
+            if (temp != null)
+            {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * An entry's central directory header.
+     *
+     * @param name           in UTF-8.
+     * @param method         of compression.
+     * @param crc            of the uncompressed data.
+     * @param size           of the uncompressed data.
+     * @param compressedSize of the data.
+     * @param offset         of its local header.
+     * @param first          {@code true} if it is the first entry.
+     */
+    private record Header(
+            byte[] name,
+            short method,
+            long crc,
+            long size,
+            long compressedSize,
+            long offset,
+            boolean first
+            )
+    {
+        void write(final ZipWriter writer) throws IOException
+        {
+            boolean bigSize = size() >= ZIP64_MAGIC;
+            boolean bigCompressed = compressedSize() >= ZIP64_MAGIC;
+            boolean bigOffset = offset >= ZIP64_MAGIC;
+            int zip64Length = (bigSize ? 8 : 0) + (bigCompressed ? 8 : 0) + (bigOffset ? 8 : 0);
+            int extraLength = (zip64Length > 0 ? 4 + zip64Length : 0) + (first ? 4 : 0);
+            short version = zip64Length > 0 ? VERSION_ZIP64 : VERSION;
+
+            ByteBuffer header = ByteBuffer.allocate(46 + name().length + extraLength)
+                    .order(LITTLE_ENDIAN)
+                    .putInt(CENTRAL_HEADER)
+                    .putShort(version)
+                    .putShort(version)
+                    .putShort(UTF8_FLAG)
+                    .putShort(method())
+                    .putInt(writer.dosTime)
+                    .putInt((int) crc())
+                    .putInt(bigCompressed ? -1 : (int) compressedSize())
+                    .putInt(bigSize ? -1 : (int) size())
+                    .putShort((short) name().length)
+                    .putShort((short) extraLength)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putShort((short) 0)
+                    .putInt(0)
+                    .putInt(bigOffset ? -1 : (int) offset)
+                    .put(name());
+
+            if (first)
+            {
+                header.putShort(JAR_MAGIC).putShort((short) 0);
+            }
+
+            if (zip64Length > 0)
+            {
+                header.putShort(ZIP64_EXTRA).putShort((short) zip64Length);
+
+                if (bigSize)
+                {
+                    header.putLong(size());
+                }
+
+                if (bigCompressed)
+                {
+                    header.putLong(compressedSize());
+                }
+
+                if (bigOffset)
+                {
+                    header.putLong(offset);
+                }
+            }
+
+            writer.writeBytes(header.array(), header.position());
+        }
+    }
+}
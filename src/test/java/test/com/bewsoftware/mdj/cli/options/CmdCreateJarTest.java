@@ -23,20 +23,31 @@ package test.com.bewsoftware.mdj.cli.options;
 import com.bewsoftware.mdj.cli.options.CmdCreateJar;
 import com.bewsoftware.mdj.cli.options.Option;
 import com.bewsoftware.mdj.cli.util.CmdLine;
+import com.bewsoftware.mdj.cli.util.Jar;
 import com.bewsoftware.mdj.cli.util.MyCmdLine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Optional;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 /**
  * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
  */
 public class CmdCreateJarTest
 {
+    @TempDir
+    Path tempDir;
 
     public CmdCreateJarTest()
     {
@@ -51,6 +62,13 @@ public class CmdCreateJarTest
                             "-j", "test.jar", "src/docs/manual", "src/docs/manual"
                         }, 0
                 ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-j", "test.jar", "src/docs/manual", "src/docs/manual",
+                            "--jarUpdate"
+                        }, 0
+                ),
                 Arguments.of(
                         new String[]
                         {
@@ -67,6 +85,37 @@ public class CmdCreateJarTest
         );
     }
 
+    /**
+     * Test of execute method, of class CmdCreateJar, making a reproducible
+     * jar file.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testExecuteReproducible() throws IOException
+    {
+        System.out.println("[CmdCreateJarTest.testExecuteReproducible()]");
+        Path jarPath = tempDir.resolve("test.jar");
+        String[] args =
+        {
+            "-j", jarPath.toString(), "src/docs/manual", "src/docs/manual",
+            "--jarReproducible", "--threads", "4"
+        };
+
+        assertEquals(Optional.of(0), new CmdCreateJar().execute(new MyCmdLine(args)));
+        byte[] first = Files.readAllBytes(jarPath);
+        Files.delete(jarPath);
+
+        assertEquals(Optional.of(0), new CmdCreateJar().execute(new MyCmdLine(args)));
+        assertArrayEquals(first, Files.readAllBytes(jarPath));
+        assertNotNull(Jar.getInputHash(jarPath.toFile()));
+
+        // Nothing has changed, so it is not written again.
+        Files.setLastModifiedTime(jarPath, FileTime.fromMillis(0));
+        assertEquals(Optional.of(0), new CmdCreateJar().execute(new MyCmdLine(args)));
+        assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(jarPath));
+    }
+
     /**
      * Test of execute method, of class CmdCreateJar.
      *
@@ -0,0 +1,169 @@
+/*
+ *  File Name:    CmdWatchTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.options;
+
+import com.bewsoftware.mdj.cli.Main;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class CmdWatchTest
+{
+    private static final long TIMEOUT_MILLIS = 20_000;
+
+    private Path destDir;
+
+    private Path srcDir;
+
+    @TempDir
+    Path tempDir;
+
+    public CmdWatchTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestExecuteBadConfiguration()
+    {
+        return Stream.of(
+                // A substitution that refers back to itself.
+                Arguments.of("[vars]\na = ${vars.b}\nb = ${vars.a}\n"),
+                // Removed, as by an editor saving it.
+                Arguments.of((String) null)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        srcDir = tempDir.resolve("src");
+        destDir = tempDir.resolve("out");
+
+        Files.createDirectories(srcDir.resolve("templates"));
+        Files.createDirectories(srcDir.resolve("css"));
+        Files.createDirectories(destDir);
+        Files.writeString(srcDir.resolve("mdj-cli.ini"), ini(""));
+        Files.writeString(srcDir.resolve("templates/default.html"),
+                "<html>\n<body>\n${page.content}\n</body>\n</html>\n");
+        Files.writeString(srcDir.resolve("css/style.css"), "body { font-family: sans-serif; }\n");
+        Files.writeString(srcDir.resolve("index.md"), page("First"));
+    }
+
+    /**
+     * Test of execute method, of class CmdWatch, with a mistake made in the
+     * configuration file, followed by a page being edited.
+     *
+     * @param extra The text added to the configuration file, or
+     *              {@code null} to remove it.
+     *
+     * @throws Exception if any.
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestExecuteBadConfiguration")
+    public void testExecuteBadConfiguration(String extra) throws Exception
+    {
+        System.out.println("[CmdWatchTest.testExecuteBadConfiguration()]");
+        Path destPath = destDir.resolve("index.html");
+        Thread watch = new Thread(() -> Main.execute(new String[]
+        {
+            "-s", srcDir.toString(), "-d", destDir.toString(), "-w", "--watch"
+        }));
+
+        watch.setDaemon(true);
+        watch.start();
+
+        try
+        {
+            assertTrue(awaitContains(destPath, "First"), "First build");
+            Thread.sleep(1000);
+
+            if (extra != null)
+            {
+                Files.writeString(srcDir.resolve("mdj-cli.ini"), ini(extra));
+            } else
+            {
+                Files.delete(srcDir.resolve("mdj-cli.ini"));
+            }
+
+            Thread.sleep(1000);
+
+            Files.writeString(srcDir.resolve("index.md"), page("Second"));
+
+            assertTrue(awaitContains(destPath, "Second"), "Rebuilt after the page was edited");
+            assertTrue(watch.isAlive(), "Still watching");
+        } finally
+        {
+            watch.interrupt();
+            watch.join(TIMEOUT_MILLIS);
+        }
+    }
+
+    private static boolean awaitContains(Path path, String text)
+            throws IOException, InterruptedException
+    {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+        while (System.currentTimeMillis() < end)
+        {
+            if (Files.exists(path) && Files.readString(path).contains(text))
+            {
+                return true;
+            }
+
+            Thread.sleep(100);
+        }
+
+        return false;
+    }
+
+    private static String page(String text)
+    {
+        return "@@@\nuse : defaults\n@@@\n\n# Title\n\n" + text + "\n";
+    }
+
+    private String ini(String extra)
+    {
+        return "; MDj CLI configuration file.\n"
+                + "; DO NOT REMOVE/MOVE OR MODIFY: iniVersion!\n"
+                + "iniVersion =\n"
+                + "[document]\n"
+                + "docRootDir = " + srcDir.toString().replace('\\', '/') + "\n"
+                + "templatesDir = templates\n"
+                + "cssDir = css\n"
+                + "name = Watch Test\n"
+                + "author = Tester\n\n"
+                + "[defaults]\n"
+                + "template = default.html\n"
+                + "stylesheet = style.css\n\n"
+                + extra;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *  File Name:    BlockLexerTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.plugins;
+
+import com.bewsoftware.mdj.cli.plugins.BlockLexer;
+import com.bewsoftware.mdj.cli.plugins.BlockLexer.Token;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class BlockLexerTest
+{
+
+    public BlockLexerTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestLex()
+    {
+        return Stream.of(
+                Arguments.of("No blocks.", List.of()),
+                Arguments.of("Text\n@@@[#nav]\n- item\n@@@\nMore",
+                        List.of("ID:nav:- item")),
+                Arguments.of("Text\n@@@[@note]\n\n@@@\n@@@[#two]\nB\n@@@\n",
+                        List.of("CLASS:note:", "ID:two:B")),
+                Arguments.of("@@@[#first]\nA\n@@@\n", List.of()),
+                Arguments.of("Text\n@@@[#open]\nNever closed", List.of()),
+                Arguments.of("Text\n@@@[#bad name]\nA\n@@@\n", List.of()),
+                Arguments.of("Escaped \\@@@ and \n@@@[#n]\n\\@@@\n@@@\n",
+                        List.of("ESCAPE::@@@", "ID:n:\\@@@"))
+        );
+    }
+
+    public static Stream<Arguments> provideArgsForTestMetaBlock()
+    {
+        return Stream.of(
+                Arguments.of("@@@\ntitle: Home\n@@@\nBody", "title: Home", 20),
+                Arguments.of("@@@\n\n@@@\n", "", 9),
+                Arguments.of("@@@\n@@@\nBody", null, 0),
+                Arguments.of("Text\n@@@\ntitle: Home\n@@@\n", null, 0),
+                Arguments.of("@@@\ntitle: Home", null, 0)
+        );
+    }
+
+    /**
+     * Test of lex method, of class BlockLexer.
+     *
+     * @param text
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestLex")
+    public void testLex(String text, List<String> expResult)
+    {
+        System.out.println("[BlockLexerTest.testLex()]");
+        List<String> result = BlockLexer.lex(text).stream()
+                .map(token -> token.kind() + ":" + token.name(text) + ":" + token.content(text))
+                .toList();
+
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test of metaBlock method, of class BlockLexer.
+     *
+     * @param text
+     * @param expContent
+     * @param expEnd
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestMetaBlock")
+    public void testMetaBlock(String text, String expContent, int expEnd)
+    {
+        System.out.println("[BlockLexerTest.testMetaBlock()]");
+        Token result = BlockLexer.metaBlock(text);
+
+        if (expContent == null)
+        {
+            assertNull(result);
+        } else
+        {
+            assertEquals(expContent, result.content(text));
+            assertEquals(expEnd, result.end());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  File Name:    PluginControllerTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.plugins;
+
+import com.bewsoftware.mdj.cli.plugins.Plugin;
+import com.bewsoftware.mdj.cli.plugins.PluginController;
+import com.bewsoftware.mdj.cli.util.PageContext;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class PluginControllerTest
+{
+
+    public PluginControllerTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestGetPlugins()
+    {
+        return Stream.of(
+                Arguments.of(
+                        List.of(new Fake("c", 3), new Fake("b", 2), new Fake("a", 1)),
+                        List.of("a", "b", "c")
+                ),
+                Arguments.of(
+                        List.of(new Fake("b", 2), new Fake("a", 2)),
+                        List.of("a", "b")
+                ),
+                Arguments.of(
+                        List.of(new Fake("a", 1, "b"), new Fake("b", 2), new Fake("c", 3)),
+                        List.of("b", "a", "c")
+                ),
+                Arguments.of(
+                        List.of(new Fake("a", 1, "missing"), new Fake("b", 2)),
+                        List.of("b")
+                ),
+                Arguments.of(
+                        List.of(new Fake("a", 1, "b"), new Fake("b", 2, "a"), new Fake("c", 3, "b")),
+                        List.of()
+                )
+        );
+    }
+
+    /**
+     * Test of getPlugins method, of class PluginController.
+     *
+     * @param found
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestGetPlugins")
+    public void testGetPlugins(List<Plugin> found, List<String> expResult)
+    {
+        System.out.println("[PluginControllerTest.testGetPlugins()]");
+        PluginController instance = new PluginController(found);
+
+        assertEquals(expResult, instance.getPlugins().stream().map(Plugin::name).toList());
+    }
+
+    /**
+     * Test of getPlugins method, of class PluginController, with the plugins
+     * found by ServiceLoader.
+     */
+    @Test
+    public void testGetPluginsLoaded()
+    {
+        System.out.println("[PluginControllerTest.testGetPluginsLoaded()]");
+        PluginController instance = new PluginController();
+
+        assertEquals(List.of("MetaBlock", "Stylesheets", "NamedMetaBlocks"),
+                instance.getPlugins().stream().map(Plugin::name).toList());
+    }
+
+    private static class Fake implements Plugin
+    {
+        private final Set<String> dependencies;
+
+        private final String name;
+
+        private final int order;
+
+        Fake(String name, int order, String... dependencies)
+        {
+            this.name = name;
+            this.order = order;
+            this.dependencies = Set.of(dependencies);
+        }
+
+        @Override
+        public Set<String> dependencies()
+        {
+            return dependencies;
+        }
+
+        @Override
+        public void execute(PageContext context)
+        {
+            // NoOp
+        }
+
+        @Override
+        public String name()
+        {
+            return name;
+        }
+
+        @Override
+        public int order()
+        {
+            return order;
+        }
+
+        @Override
+        public String toString()
+        {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  File Name:    CompressionPolicyTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.CompressionPolicy;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class CompressionPolicyTest
+{
+    public CompressionPolicyTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestLevelOf()
+    {
+        return Stream.of(
+                Arguments.of("index.html", Map.of(), 9),
+                Arguments.of("images/logo.png", Map.of(), 0),
+                Arguments.of("fonts/Font.WOFF2", Map.of(), 0),
+                Arguments.of("images/logo.png", Map.of("png", 6), 6),
+                Arguments.of("images/logo.svg", Map.of(".SVG", 0), 0),
+                Arguments.of("png/README", Map.of(), 9),
+                Arguments.of("images/.png", Map.of(), 9)
+        );
+    }
+
+    /**
+     * Test of levelOf method, of class CompressionPolicy.
+     *
+     * @param name
+     * @param levels
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestLevelOf")
+    public void testLevelOf(String name, Map<String, Integer> levels, int expResult)
+    {
+        System.out.println("[CompressionPolicyTest.testLevelOf()]");
+        CompressionPolicy instance = new CompressionPolicy(9, levels);
+        int result = instance.levelOf(name);
+        assertEquals(expResult, result);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  File Name:    ConfSnapshotTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.BuildManifest;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class ConfSnapshotTest
+{
+    private ConfSnapshot snapshot;
+
+    public ConfSnapshotTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestGetString()
+    {
+        return Stream.of(
+                Arguments.of("document", "title", "Document Title"),
+                Arguments.of("articles", "template", "article.html"),
+                Arguments.of("articles", "title", "none"),
+                Arguments.of("missing", "title", "none"),
+                Arguments.of(null, "flag", "yes"),
+                Arguments.of("", "flag", "yes"),
+                Arguments.of(PAGE, "title", "none")
+        );
+    }
+
+    @BeforeEach
+    public void setUp()
+    {
+        IniFile iniFile = new IniFile();
+        iniFile.iniDoc.setString(null, "flag", "yes");
+        iniFile.iniDoc.setString("document", "title", "Document Title");
+        iniFile.iniDoc.setString("articles", "template", "article.html");
+        iniFile.iniDoc.setString("articles", "stylesheet", "style.css");
+        iniFile.iniDoc.setString(PAGE, "title", "Page Title");
+        snapshot = ConfSnapshot.of(iniFile.iniDoc);
+    }
+
+    /**
+     * Test of getSection method, of class ConfSnapshot.
+     */
+    @Test
+    public void testGetSection()
+    {
+        System.out.println("[ConfSnapshotTest.testGetSection()]");
+        Map<String, String> result = snapshot.getSection("articles");
+
+        assertEquals(List.of("template", "stylesheet"), List.copyOf(result.keySet()));
+        assertThrows(UnsupportedOperationException.class, () -> result.put("template", ""));
+        assertEquals(Map.of(), snapshot.getSection(PAGE));
+    }
+
+    /**
+     * Test of getSectionHash method, of class ConfSnapshot.
+     */
+    @Test
+    public void testGetSectionHash()
+    {
+        System.out.println("[ConfSnapshotTest.testGetSectionHash()]");
+
+        assertEquals(BuildManifest.hashSection(snapshot.getSection("articles")),
+                snapshot.getSectionHash("articles"));
+        assertEquals(BuildManifest.hashSection(Map.of()), snapshot.getSectionHash("missing"));
+    }
+
+    /**
+     * Test of getString method, of class ConfSnapshot.
+     *
+     * @param section
+     * @param key
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestGetString")
+    public void testGetString(String section, String key, String expResult)
+    {
+        System.out.println("[ConfSnapshotTest.testGetString()]");
+
+        assertEquals(expResult, snapshot.getString(section, key, "none"));
+    }
+}
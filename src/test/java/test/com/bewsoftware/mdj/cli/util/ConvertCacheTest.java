@@ -0,0 +1,127 @@
+/*
+ *  File Name:    ConvertCacheTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.ConvertCache;
+import com.bewsoftware.mdj.core.MarkdownProcessor;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class ConvertCacheTest
+{
+    @TempDir
+    Path tempDir;
+
+    public ConvertCacheTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestConvert()
+    {
+        return Stream.of(
+                Arguments.of("Plain text.\n"),
+                Arguments.of("## Heading\n\n- one\n- two\n"),
+                Arguments.of("")
+        );
+    }
+
+    @BeforeEach
+    public void setUp()
+    {
+        ConvertCache.clear();
+        ConvertCache.setDirectory(null);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        ConvertCache.clear();
+        ConvertCache.setDirectory(null);
+    }
+
+    /**
+     * Test of convert method, of class ConvertCache.
+     *
+     * @param markdown
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestConvert")
+    public void testConvert(String markdown)
+    {
+        System.out.println("[ConvertCacheTest.testConvert()]");
+        String expResult = MarkdownProcessor.convert(markdown);
+
+        assertEquals(expResult, ConvertCache.convert(markdown));
+        assertEquals(expResult, ConvertCache.convert(markdown));
+    }
+
+    /**
+     * Test of convert method, of class ConvertCache, with a disk tier.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testConvertFromDisk() throws IOException
+    {
+        System.out.println("[ConvertCacheTest.testConvertFromDisk()]");
+        String markdown = "A *shared* footer.\n";
+        ConvertCache.setDirectory(tempDir);
+
+        assertEquals(MarkdownProcessor.convert(markdown), ConvertCache.convert(markdown));
+
+        List<Path> files = cacheFiles();
+        assertEquals(1, files.size());
+        assertEquals(MarkdownProcessor.convert(markdown), Files.readString(files.get(0), UTF_8));
+
+        // Once out of memory, it is read back from disk, not converted again.
+        Files.writeString(files.get(0), "from disk", UTF_8);
+        ConvertCache.clear();
+
+        assertEquals("from disk", ConvertCache.convert(markdown));
+        assertEquals(1, cacheFiles().size());
+    }
+
+    private List<Path> cacheFiles() throws IOException
+    {
+        try ( Stream<Path> paths = Files.walk(tempDir))
+        {
+            return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
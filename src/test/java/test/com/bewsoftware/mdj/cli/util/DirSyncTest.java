@@ -0,0 +1,191 @@
+/*
+ *  File Name:    DirSyncTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.DirSync;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class DirSyncTest
+{
+    private Path destDir;
+
+    private Path srcDir;
+
+    @TempDir
+    Path tempDir;
+
+    public DirSyncTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestSync()
+    {
+        return Stream.of(
+                Arguments.of(1),
+                Arguments.of(4)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        srcDir = tempDir.resolve("src/images");
+        destDir = tempDir.resolve("dest/images");
+
+        write(srcDir.resolve("logo.png"), "logo");
+        write(srcDir.resolve("icons/home.png"), "home");
+        write(srcDir.resolve("icons/help.png"), "help");
+    }
+
+    /**
+     * Test of sync method, of class DirSync.
+     *
+     * @param threads
+     *
+     * @throws IOException if any.
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestSync")
+    public void testSync(int threads) throws IOException
+    {
+        System.out.println("[DirSyncTest.testSync()]");
+        DirSync first = new DirSync(threads, false, false);
+        first.sync(srcDir, destDir);
+
+        assertEquals(3, first.getCopied());
+        assertEquals(0, first.getSkipped());
+        assertEquals("home", Files.readString(destDir.resolve("icons/home.png"), UTF_8));
+
+        // Only the changed file is copied again.
+        write(srcDir.resolve("icons/help.png"), "help, changed");
+        DirSync second = new DirSync(threads, false, false);
+        second.sync(srcDir, destDir);
+
+        assertEquals(1, second.getCopied());
+        assertEquals(2, second.getSkipped());
+        assertEquals("help, changed", Files.readString(destDir.resolve("icons/help.png"), UTF_8));
+    }
+
+    /**
+     * Test of sync method, of class DirSync, linking the files.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testSyncLink() throws IOException
+    {
+        System.out.println("[DirSyncTest.testSyncLink()]");
+        DirSync instance = new DirSync(1, true, false);
+        instance.sync(srcDir, destDir);
+
+        assertEquals(3, instance.getLinked() + instance.getCopied());
+        assertEquals("logo", Files.readString(destDir.resolve("logo.png"), UTF_8));
+
+        if (instance.getLinked() > 0)
+        {
+            assertTrue(Files.isSameFile(srcDir.resolve("logo.png"), destDir.resolve("logo.png")));
+        }
+
+        DirSync again = new DirSync(1, true, false);
+        again.sync(srcDir, destDir);
+
+        assertEquals(3, again.getSkipped());
+    }
+
+    /**
+     * Test of sync method, of class DirSync, removing the files no longer in
+     * the source directory.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testSyncPrune() throws IOException
+    {
+        System.out.println("[DirSyncTest.testSyncPrune()]");
+        new DirSync(1, false, false).sync(srcDir, destDir);
+        Files.delete(srcDir.resolve("icons/home.png"));
+        Files.delete(srcDir.resolve("icons/help.png"));
+        Files.delete(srcDir.resolve("icons"));
+
+        new DirSync(1, false, false).sync(srcDir, destDir);
+        assertTrue(Files.exists(destDir.resolve("icons/home.png")));
+
+        DirSync instance = new DirSync(1, false, true);
+        instance.sync(srcDir, destDir);
+
+        assertEquals(3, instance.getPruned());
+        assertEquals(1, instance.getSkipped());
+        assertFalse(Files.exists(destDir.resolve("icons")));
+        assertTrue(Files.exists(destDir.resolve("logo.png")));
+    }
+
+    /**
+     * Test of sync method, of class DirSync, keeping the pages built from the
+     * markdown files in the source directory.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testSyncPruneKeepsPages() throws IOException
+    {
+        System.out.println("[DirSyncTest.testSyncPruneKeepsPages()]");
+        write(srcDir.resolve("icons/index.md"), "# Icons");
+        new DirSync(1, false, false).sync(srcDir, destDir);
+        write(destDir.resolve("icons/index.html"), "<h1>Icons</h1>");
+        write(destDir.resolve("icons/old.html"), "<h1>Old</h1>");
+
+        DirSync instance = new DirSync(1, false, true);
+        instance.sync(srcDir, destDir);
+
+        assertEquals(1, instance.getPruned());
+        assertTrue(Files.exists(destDir.resolve("icons/index.html")));
+        assertFalse(Files.exists(destDir.resolve("icons/old.html")));
+    }
+
+    private static void write(Path path, String text) throws IOException
+    {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, text, UTF_8);
+
+        // Make sure a change is seen, even where the clock is coarse.
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified.toMillis() + 2000));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *  File Name:    FindTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.FileData;
+import com.bewsoftware.mdj.cli.util.Find;
+import com.bewsoftware.mdj.cli.util.IgnoreRules;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class FindTest
+{
+    private static final long NOW = 1_700_000_000_000L;
+
+    private Path destDir;
+
+    private Path srcDir;
+
+    @TempDir
+    Path tempDir;
+
+    public FindTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestGetUpdateList()
+    {
+        return Stream.of(
+                Arguments.of(true, List.of("a.html", "notes.v1.html", "sub/b.html", "sub/deep/c.html")),
+                Arguments.of(false, List.of("a.html", "notes.v1.html"))
+        );
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        srcDir = tempDir.resolve("src");
+        destDir = tempDir.resolve("dest");
+
+        write(srcDir.resolve("a.md"), NOW);
+        write(srcDir.resolve("notes.v1.md"), NOW);
+        write(srcDir.resolve("image.png"), NOW);
+        write(srcDir.resolve("sub/b.md"), NOW);
+        write(srcDir.resolve("sub/deep/c.md"), NOW);
+    }
+
+    /**
+     * Test of getSourceList method, of class Find.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testGetSourceList() throws IOException
+    {
+        System.out.println("[FindTest.testGetSourceList()]");
+        write(destDir.resolve("a.html"), NOW + 1000);
+
+        List<FileData> result = Find.getSourceList(srcDir, destDir, null, null, true);
+
+        assertEquals(List.of("a.html", "notes.v1.html", "sub/b.html", "sub/deep/c.html"),
+                destinations(result));
+        assertEquals(srcDir.resolve("sub/b.md"), result.get(2).sourcePath);
+    }
+
+    /**
+     * Test of getUpdateList method, of class Find.
+     *
+     * @param recursive
+     * @param expResult
+     *
+     * @throws IOException if any.
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestGetUpdateList")
+    public void testGetUpdateList(boolean recursive, List<String> expResult) throws IOException
+    {
+        System.out.println("[FindTest.testGetUpdateList()]");
+        List<FileData> result = Find.getUpdateList(srcDir, destDir, null, null, recursive);
+
+        assertEquals(expResult, destinations(result));
+    }
+
+    /**
+     * Test of getUpdateList method, of class Find, with some of the output
+     * files already built.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testGetUpdateListUpToDate() throws IOException
+    {
+        System.out.println("[FindTest.testGetUpdateListUpToDate()]");
+        write(destDir.resolve("a.html"), NOW + 1000);
+        write(destDir.resolve("sub/b.html"), NOW - 1000);
+        write(destDir.resolve("sub/deep/c.html"), NOW);
+
+        List<FileData> result = Find.getUpdateList(srcDir, destDir, null, null, true);
+
+        assertEquals(List.of("notes.v1.html", "sub/b.html"), destinations(result));
+    }
+
+    /**
+     * Test of getUpdateListMatching method, of class Find, with several
+     * patterns, and an ignore file.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testGetUpdateListMatching() throws IOException
+    {
+        System.out.println("[FindTest.testGetUpdateListMatching()]");
+        write(srcDir.resolve("notes.txt"), NOW);
+        write(srcDir.resolve("node_modules/pkg/README.md"), NOW);
+        Files.writeString(srcDir.resolve(IgnoreRules.FILENAME), "node_modules/\nsub/deep/\nnotes.*.md\n");
+
+        List<FileData> result = Find.getUpdateListMatching(
+                srcDir, destDir, List.of("*.md", "*.txt"), null, true);
+
+        assertEquals(List.of("a.html", "notes.html", "sub/b.html"), destinations(result));
+    }
+
+    private List<String> destinations(List<FileData> fileList)
+    {
+        return fileList.stream()
+                .map(fileData -> destDir.relativize(fileData.destinationPath).toString().replace('\\', '/'))
+                .collect(Collectors.toList());
+    }
+
+    private static void write(Path path, long lastModified) throws IOException
+    {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, path.getFileName().toString());
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+    }
+}
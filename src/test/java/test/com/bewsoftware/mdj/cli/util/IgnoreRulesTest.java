@@ -0,0 +1,91 @@
+/*
+ *  File Name:    IgnoreRulesTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.IgnoreRules;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class IgnoreRulesTest
+{
+    private static final List<String> LINES = List.of(
+            "# Build output, and tools.",
+            "",
+            "node_modules/",
+            "/target",
+            "*.draft.md",
+            "!keep.draft.md",
+            "docs/private/**",
+            "**/tmp/scratch.md",
+            "\\#hash.md"
+    );
+
+    public IgnoreRulesTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestIsIgnored()
+    {
+        return Stream.of(
+                Arguments.of("node_modules", true, true),
+                Arguments.of("sub/node_modules", true, true),
+                Arguments.of("node_modules", false, false),
+                Arguments.of("target", true, true),
+                Arguments.of("sub/target", true, false),
+                Arguments.of("notes.draft.md", false, true),
+                Arguments.of("sub/notes.draft.md", false, true),
+                Arguments.of("keep.draft.md", false, false),
+                Arguments.of("docs/private/a.md", false, true),
+                Arguments.of("docs/public/a.md", false, false),
+                Arguments.of("tmp/scratch.md", false, true),
+                Arguments.of("a/b/tmp/scratch.md", false, true),
+                Arguments.of("#hash.md", false, true),
+                Arguments.of("index.md", false, false)
+        );
+    }
+
+    /**
+     * Test of isIgnored method, of class IgnoreRules.
+     *
+     * @param path
+     * @param directory
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestIsIgnored")
+    public void testIsIgnored(String path, boolean directory, boolean expResult)
+    {
+        System.out.println("[IgnoreRulesTest.testIsIgnored()]");
+        IgnoreRules instance = IgnoreRules.parse(LINES);
+
+        assertEquals(expResult, instance.isIgnored(Path.of(path), directory));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ *  File Name:    JarTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.CompressionPolicy;
+import com.bewsoftware.mdj.cli.util.Jar;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class JarTest
+{
+    private static final byte[] CLASS_BYTES = "Not really a class.".repeat(50).getBytes(UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    public JarTest()
+    {
+    }
+
+    /**
+     * Test of createJAR method, of class Jar, with the jar file paths inside
+     * another jar file, whose entries are copied as they are.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testCreateJARBundled() throws IOException
+    {
+        System.out.println("[JarTest.testCreateJARBundled()]");
+        Path bundledPath = tempDir.resolve("bundled.jar");
+        Path jarPath = tempDir.resolve("test.jar");
+
+        // A stored entry, that the policy would otherwise compress.
+        try ( ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(bundledPath)))
+        {
+            CRC32 crc = new CRC32();
+            crc.update(CLASS_BYTES);
+            ZipEntry entry = new ZipEntry("docs/jar/com/Server.class");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(CLASS_BYTES.length);
+            entry.setCrc(crc.getValue());
+            zos.putNextEntry(entry);
+            zos.write(CLASS_BYTES);
+            zos.closeEntry();
+
+            zos.putNextEntry(new ZipEntry("docs/jar/README.txt"));
+            zos.write("Read me.".getBytes(UTF_8));
+            zos.closeEntry();
+        }
+
+        try ( FileSystem fs = FileSystems.newFileSystem(URI.create("jar:" + bundledPath.toUri()), Map.of()))
+        {
+            Path jarDirPath = fs.getPath("/docs/jar");
+            List<Path> jarFilePaths;
+
+            try ( Stream<Path> paths = Files.walk(jarDirPath))
+            {
+                jarFilePaths = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            Jar.createJAR(jarPath.toFile(), jarFilePaths, jarDirPath, List.of(), tempDir,
+                    null, new CompressionPolicy(9, Map.of()), 2, null);
+        }
+
+        try ( ZipFile zip = new ZipFile(jarPath.toFile()))
+        {
+            ZipEntry entry = zip.getEntry("com/Server.class");
+
+            assertEquals(2, zip.size());
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertEquals(new String(CLASS_BYTES, UTF_8),
+                    new String(zip.getInputStream(entry).readAllBytes(), UTF_8));
+            assertEquals("Read me.",
+                    new String(zip.getInputStream(zip.getEntry("README.txt")).readAllBytes(), UTF_8));
+        }
+    }
+
+    /**
+     * Test of addHttpServer method, of class Jar.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testAddHttpServer() throws IOException, URISyntaxException
+    {
+        System.out.println("[JarTest.testAddHttpServer()]");
+        Path jarPath = tempDir.resolve("test.jar");
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().putValue("Document-Name", "Test");
+
+        try ( JarOutputStream jos = new JarOutputStream(Files.newOutputStream(jarPath), manifest))
+        {
+            jos.putNextEntry(new ZipEntry("docs/index.html"));
+            jos.write("<p>Index</p>".getBytes(UTF_8));
+            jos.closeEntry();
+
+            jos.putNextEntry(new ZipEntry("README.txt"));
+            jos.write("Old read me.".getBytes(UTF_8));
+            jos.closeEntry();
+        }
+
+        Path serverDirPath = Path.of(Jar.class.getResource("/docs/jar").toURI());
+        Path readMePath = serverDirPath.resolve("README.txt");
+        Path propertiesPath = serverDirPath.resolve("bjspom.properties");
+
+        Manifest serverManifest = new Manifest();
+        serverManifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        serverManifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "com.Server");
+
+        Jar.addHttpServer(jarPath.toFile(), List.of(readMePath, propertiesPath), serverManifest);
+
+        try ( JarFile jar = new JarFile(jarPath.toFile()))
+        {
+            Attributes attributes = jar.getManifest().getMainAttributes();
+
+            assertEquals(4, jar.size());
+            assertEquals("Test", attributes.getValue("Document-Name"));
+            assertEquals("com.Server", attributes.getValue(Attributes.Name.MAIN_CLASS));
+            assertEquals("<p>Index</p>",
+                    new String(jar.getInputStream(jar.getEntry("docs/index.html")).readAllBytes(), UTF_8));
+            assertEquals(Files.readString(readMePath),
+                    new String(jar.getInputStream(jar.getEntry("README.txt")).readAllBytes(), UTF_8));
+            assertEquals(Files.readString(propertiesPath),
+                    new String(jar.getInputStream(jar.getEntry("bjspom.properties")).readAllBytes(), UTF_8));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  File Name:    JarWriterTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.CompressionPolicy;
+import com.bewsoftware.mdj.cli.util.JarWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class JarWriterTest
+{
+    private Manifest manifest;
+
+    private CompressionPolicy policy;
+
+    @TempDir
+    Path tempDir;
+
+    public JarWriterTest()
+    {
+    }
+
+    @BeforeEach
+    public void setUp()
+    {
+        manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        policy = new CompressionPolicy(9, Map.of());
+    }
+
+    /**
+     * Test of finish method, of class JarWriter.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testFinish() throws IOException
+    {
+        System.out.println("[JarWriterTest.testFinish()]");
+        Path srcPath = tempDir.resolve("src");
+        Path jarPath = tempDir.resolve("test.jar");
+        Files.createDirectories(srcPath.resolve("css"));
+        Files.writeString(srcPath.resolve("css/style.css"), "p { color: black; }\n");
+
+        try ( JarWriter instance = new JarWriter(jarPath.toFile(), manifest, policy, 2))
+        {
+            instance.add("docs/index.html", "<p>Index</p>\n".getBytes(UTF_8));
+            instance.add("docs/sub/page.html", "<p>Page</p>\n".getBytes(UTF_8));
+            instance.addTree(srcPath, "css");
+            instance.finish();
+        }
+
+        try ( JarFile jar = new JarFile(jarPath.toFile()))
+        {
+            assertEquals("1.0", jar.getManifest().getMainAttributes()
+                    .getValue(Attributes.Name.MANIFEST_VERSION));
+            assertEquals("<p>Index</p>\n", read(jar, "docs/index.html"));
+            assertEquals("<p>Page</p>\n", read(jar, "docs/sub/page.html"));
+            assertEquals("p { color: black; }\n", read(jar, "css/style.css"));
+            assertNotNull(jar.getEntry("README.txt"));
+        }
+    }
+
+    /**
+     * Test of close method, of class JarWriter, without it being finished.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testCloseUnfinished() throws IOException
+    {
+        System.out.println("[JarWriterTest.testCloseUnfinished()]");
+        Path jarPath = tempDir.resolve("test.jar");
+
+        try ( JarWriter instance = new JarWriter(jarPath.toFile(), manifest, policy, 2))
+        {
+            instance.add("docs/index.html", "<p>Index</p>\n".getBytes(UTF_8));
+        }
+
+        assertFalse(Files.exists(jarPath));
+    }
+
+    private static String read(JarFile jar, String name) throws IOException
+    {
+        ZipEntry entry = jar.getEntry(name);
+        assertNotNull(entry, name);
+
+        return new String(jar.getInputStream(entry).readAllBytes(), UTF_8);
+    }
+}
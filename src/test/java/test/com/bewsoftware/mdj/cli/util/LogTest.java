@@ -0,0 +1,82 @@
+/*
+ *  File Name:    LogTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.Log;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class LogTest
+{
+
+    public LogTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestPrintln()
+    {
+        return Stream.of(
+                Arguments.of(0, 0, true),
+                Arguments.of(0, 1, false),
+                Arguments.of(2, 1, true),
+                Arguments.of(2, 2, true),
+                Arguments.of(2, 3, false)
+        );
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        Log.setVerbosity(0);
+    }
+
+    /**
+     * Test of println and print methods, of class Log.
+     *
+     * @param verbosity
+     * @param level
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestPrintln")
+    public void testPrintln(int verbosity, int level, boolean expResult)
+    {
+        System.out.println("[LogTest.testPrintln()]");
+        AtomicInteger calls = new AtomicInteger();
+        Log.setVerbosity(verbosity);
+
+        Log.println(level, () -> "message " + calls.incrementAndGet());
+        Log.print(level, display -> display.appendln("message " + calls.incrementAndGet()));
+
+        assertEquals(expResult, Log.isEnabled(level));
+        assertEquals(expResult ? 2 : 0, calls.get());
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Stream;
 import org.apache.commons.cli.MissingOptionException;
@@ -49,6 +50,26 @@ public class MyCmdLineTest
     {
     }
 
+    public static Stream<Arguments> provideArgsForTestCacheDir()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--cache"
+                        }, null
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--cache", "target/mdj-cache"
+                        }, Path.of("target/mdj-cache").toAbsolutePath()
+                )
+        );
+    }
+
     public static Stream<Arguments> provideArgsForTestDestination_0args()
     {
         return Stream.of(
@@ -312,6 +333,26 @@ public class MyCmdLineTest
         );
     }
 
+    public static Stream<Arguments> provideArgsForTestInputGlobs()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual"
+                        }, List.of()
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--inputGlob", "*.md",
+                            "--inputGlob", "*.markdown"
+                        }, List.of("*.md", "*.markdown")
+                )
+        );
+    }
+
     public static Stream<Arguments> provideArgsForTestJarFile()
     {
         return Stream.of(
@@ -324,6 +365,63 @@ public class MyCmdLineTest
         );
     }
 
+    public static Stream<Arguments> provideArgsForTestJarCompression()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-j", "test.jar", "src/docs/manual", "src/docs/manual"
+                        }, Map.of()
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-j", "test.jar", "src/docs/manual", "src/docs/manual",
+                            "--jarCompression", "png=9", "--jarCompression", "svg=0"
+                        }, Map.of("png", 9, "svg", 0)
+                )
+        );
+    }
+
+    public static Stream<Arguments> provideArgsForTestJarLevel()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-j", "test.jar", "src/docs/manual", "src/docs/manual"
+                        }, 9
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-j", "test.jar", "src/docs/manual", "src/docs/manual",
+                            "--jarLevel", "0"
+                        }, 0
+                )
+        );
+    }
+
+    public static Stream<Arguments> provideArgsForTestJarOutput()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual"
+                        }, null
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--jarOutput", "test.jar"
+                        }, "test.jar"
+                )
+        );
+    }
+
     public static Stream<Arguments> provideArgsForTestJarSourcePath()
     {
         return Stream.of(
@@ -436,6 +534,45 @@ public class MyCmdLineTest
         );
     }
 
+    public static Stream<Arguments> provideArgsForTestStatsFile()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--stats"
+                        }, null
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--stats", "target/stats.json"
+                        }, Path.of("target/stats.json").toAbsolutePath()
+                )
+        );
+    }
+
+    public static Stream<Arguments> provideArgsForTestThreads()
+    {
+        return Stream.of(
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual"
+                        }, 1
+                ),
+                Arguments.of(
+                        new String[]
+                        {
+                            "-s", "src/docs/manual",
+                            "--threads", "4"
+                        }, 4
+                )
+        );
+    }
+
     public static Stream<Arguments> provideArgsForTestVerbosity()
     {
         return Stream.of(
@@ -558,6 +695,22 @@ public class MyCmdLineTest
         return rtn;
     }
 
+    /**
+     * Test of cacheDir method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestCacheDir")
+    public void testCacheDir(String[] args, Path expResult)
+    {
+        System.out.println("[MyCmdLineTest.testCacheDir()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        Path result = instance.cacheDir();
+        assertEquals(expResult, result);
+    }
+
     /**
      * Test of destination method, of class MyCmdLine.
      *
@@ -738,6 +891,22 @@ public class MyCmdLineTest
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of inputGlobs method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestInputGlobs")
+    public void testInputGlobs(String[] args, List<String> expResult)
+    {
+        System.out.println("[MyCmdLineTest.testInputGlobs()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        List<String> result = instance.inputGlobs();
+        assertEquals(expResult, result);
+    }
+
     /**
      * Test of jarFile method, of class MyCmdLine.
      *
@@ -755,6 +924,55 @@ public class MyCmdLineTest
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of jarCompression method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestJarCompression")
+    public void testJarCompression(String[] args, Map<String, Integer> expResult)
+    {
+        System.out.println("[MyCmdLineTest.testJarCompression()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        Map<String, Integer> result = instance.jarCompression();
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test of jarLevel method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestJarLevel")
+    public void testJarLevel(String[] args, int expResult)
+    {
+        System.out.println("[MyCmdLineTest.testJarLevel()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        int result = instance.jarLevel();
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test of jarOutput method, of class MyCmdLine.
+     *
+     * @param args
+     * @param resultString
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestJarOutput")
+    public void testJarOutput(String[] args, String resultString)
+    {
+        System.out.println("[MyCmdLineTest.testJarOutput()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        File expResult = resultString != null ? new File(resultString) : null;
+        File result = instance.jarOutput();
+        assertEquals(expResult, result);
+    }
+
     /**
      * Test of jarSourcePath method, of class MyCmdLine.
      *
@@ -875,6 +1093,38 @@ public class MyCmdLineTest
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of statsFile method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestStatsFile")
+    public void testStatsFile(String[] args, Path expResult)
+    {
+        System.out.println("[MyCmdLineTest.testStatsFile()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        Path result = instance.statsFile();
+        assertEquals(expResult, result);
+    }
+
+    /**
+     * Test of threads method, of class MyCmdLine.
+     *
+     * @param args
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestThreads")
+    public void testThreads(String[] args, int expResult)
+    {
+        System.out.println("[MyCmdLineTest.testThreads()]");
+        MyCmdLine instance = new MyCmdLine(args);
+        int result = instance.threads();
+        assertEquals(expResult, result);
+    }
+
     /**
      * Test of verbosity method, of class MyCmdLine.
      *
@@ -0,0 +1,168 @@
+/*
+ *  File Name:    OutputWriterTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.BuildManifest;
+import com.bewsoftware.mdj.cli.util.BuildManifest.FileStamp;
+import com.bewsoftware.mdj.cli.util.BuildManifest.PageRecord;
+import com.bewsoftware.mdj.cli.util.FileData;
+import com.bewsoftware.mdj.cli.util.Find;
+import com.bewsoftware.mdj.cli.util.OutputWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class OutputWriterTest
+{
+    private static final String MARKER = "\non ";
+
+    @TempDir
+    Path tempDir;
+
+    public OutputWriterTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestWrite()
+    {
+        return Stream.of(
+                Arguments.of(null, "<p>Same</p>", "<p>Same</p>", false, "<p>Same</p>"),
+                Arguments.of(null, "<p>Old</p>", "<p>New</p>", true, "<p>New</p>"),
+                Arguments.of(MARKER, header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Same</p>",
+                        header("Sun Oct 18 10:00:00 UTC 2026") + "<p>Same</p>", false,
+                        header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Same</p>"),
+                Arguments.of(MARKER, header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Old</p>",
+                        header("Sun Oct 18 10:00:00 UTC 2026") + "<p>New</p>", true,
+                        header("Sun Oct 18 10:00:00 UTC 2026") + "<p>New</p>"),
+                // Only the stamp in the header is left out.
+                Arguments.of(MARKER, header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Sat Oct 17 10:00:00 UTC 2026</p>",
+                        header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Sun Oct 18 10:00:00 UTC 2026</p>", true,
+                        header("Sat Oct 17 10:00:00 UTC 2026") + "<p>Sun Oct 18 10:00:00 UTC 2026</p>")
+        );
+    }
+
+    /**
+     * Test of write method, of class OutputWriter.
+     *
+     * @param marker
+     * @param oldText
+     * @param newText
+     * @param expWritten
+     * @param expText
+     *
+     * @throws IOException
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestWrite")
+    public void testWrite(String marker, String oldText, String newText,
+            boolean expWritten, String expText) throws IOException
+    {
+        System.out.println("[OutputWriterTest.testWrite()]");
+        Path path = tempDir.resolve("page.html");
+        Files.writeString(path, oldText);
+
+        OutputWriter instance = new OutputWriter(marker);
+        boolean result = instance.write(path, newText.getBytes(UTF_8), null);
+
+        assertEquals(expWritten, result);
+        assertEquals(expText, Files.readString(path));
+        assertEquals(expWritten ? 1 : 0, instance.written());
+        assertEquals(expWritten ? 0 : 1, instance.unchanged());
+    }
+
+    /**
+     * Test of write method, of class OutputWriter, over two default builds,
+     * after the source was touched without changing its page.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteUnchangedUpToDate() throws IOException
+    {
+        System.out.println("[OutputWriterTest.testWriteUnchangedUpToDate()]");
+        Path srcDir = tempDir.resolve("src");
+        Path destDir = tempDir.resolve("dest");
+        Path srcPath = srcDir.resolve("page.md");
+        Path destPath = destDir.resolve("page.html");
+        byte[] bytes = "<p>Page</p>".getBytes(UTF_8);
+        Files.createDirectories(srcDir);
+        Files.createDirectories(destDir);
+        Files.writeString(srcPath, "Page");
+        Files.write(destPath, bytes);
+
+        // The source is newer than its page, as after a 'touch' or checkout.
+        long now = System.currentTimeMillis();
+        FileTime destModified = FileTime.fromMillis(now - 60_000);
+        Files.setLastModifiedTime(destPath, destModified);
+        Files.setLastModifiedTime(srcPath, FileTime.fromMillis(now - 30_000));
+
+        OutputWriter instance = new OutputWriter(null);
+        BuildManifest manifest = BuildManifest.load(destDir, "test");
+        List<FileData> fileList = Find.getUpdateListMatching(srcDir, destDir, List.of(), null, true);
+        assertEquals(1, fileList.size());
+
+        for (FileData fileData : fileList)
+        {
+            assertFalse(manifest.isBuilt(fileData));
+            assertFalse(instance.write(fileData.destinationPath, bytes, manifest.getOutputHash(fileData)));
+
+            PageRecord page = new PageRecord(fileData.sourcePath.toString(), fileData.destinationPath.toString());
+            page.source = FileStamp.of(fileData.sourcePath);
+            page.output = FileStamp.of(fileData.destinationPath, instance.hashOf(bytes));
+            manifest.put(page);
+        }
+
+        manifest.save();
+        assertEquals(1, instance.unchanged());
+        assertEquals(destModified, Files.getLastModifiedTime(destPath));
+
+        // The page is still older than its source, but was built from it.
+        fileList = Find.getUpdateListMatching(srcDir, destDir, List.of(), null, true);
+        assertEquals(1, fileList.size());
+        assertTrue(BuildManifest.load(destDir, "test").isBuilt(fileList.get(0)));
+
+        // Until the source is touched again.
+        Files.setLastModifiedTime(srcPath, FileTime.fromMillis(now - 10_000));
+        assertFalse(BuildManifest.load(destDir, "test").isBuilt(fileList.get(0)));
+    }
+
+    private static String header(String date)
+    {
+        return "<!DOCTYPE html>\n<!--\nGenerated by MDj\nversion: 1.0" + MARKER + date + "\n-->\n";
+    }
+}
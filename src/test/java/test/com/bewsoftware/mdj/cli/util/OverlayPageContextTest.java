@@ -0,0 +1,132 @@
+/*
+ *  File Name:    OverlayPageContextTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static com.bewsoftware.mdj.cli.util.Constants.PAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class OverlayPageContextTest
+{
+
+    public OverlayPageContextTest()
+    {
+    }
+
+    /**
+     * Test of getString method, of class OverlayPageContext.
+     */
+    @Test
+    public void testGetString()
+    {
+        System.out.println("[OverlayPageContextTest.testGetString()]");
+        IniFile iniFile = new IniFile();
+        iniFile.iniDoc.setString("document", "title", "Document Title");
+        ConfSnapshot snapshot = ConfSnapshot.of(iniFile.iniDoc);
+
+        OverlayPageContext page1 = new OverlayPageContext(snapshot);
+        OverlayPageContext page2 = new OverlayPageContext(snapshot);
+        page1.setString("document", "title", "Page Title");
+        page1.setString(PAGE, "use", "articles");
+
+        assertEquals("Page Title", page1.getString("document", "title", null));
+        assertEquals("Document Title", page2.getString("document", "title", null));
+        assertEquals("articles", page1.getString(PAGE, "use", null));
+        assertEquals("none", page2.getString(PAGE, "use", "none"));
+    }
+
+    /**
+     * Test of getSection method, of class OverlayPageContext.
+     */
+    @Test
+    public void testGetSection()
+    {
+        System.out.println("[OverlayPageContextTest.testGetSection()]");
+        IniFile iniFile = new IniFile();
+        iniFile.iniDoc.setString("articles", "template", "article.html");
+        iniFile.iniDoc.setString("articles", "stylesheet", "style.css");
+        ConfSnapshot snapshot = ConfSnapshot.of(iniFile.iniDoc);
+
+        OverlayPageContext page1 = new OverlayPageContext(snapshot);
+        OverlayPageContext page2 = new OverlayPageContext(snapshot);
+        page1.setString("articles", "stylesheet", "css/style.css");
+
+        assertEquals(Map.of("template", "article.html", "stylesheet", "css/style.css"),
+                page1.getSection("articles"));
+        assertEquals(snapshot.getSection("articles"), page2.getSection("articles"));
+        assertTrue(page2.getSection("missing").isEmpty());
+    }
+
+    /**
+     * Test of removeSection method, of class OverlayPageContext.
+     */
+    @Test
+    public void testRemoveSection()
+    {
+        System.out.println("[OverlayPageContextTest.testRemoveSection()]");
+        IniFile iniFile = new IniFile();
+        iniFile.iniDoc.setString("document", "title", "Document Title");
+
+        OverlayPageContext instance = new OverlayPageContext(ConfSnapshot.of(iniFile.iniDoc));
+        instance.setString("document", "title", "Page Title");
+        instance.removeSection("document");
+
+        assertEquals("Document Title", instance.getString("document", "title", null));
+    }
+
+    /**
+     * Test of getResolved method, of class OverlayPageContext.
+     */
+    @Test
+    public void testGetResolved()
+    {
+        System.out.println("[OverlayPageContextTest.testGetResolved()]");
+        IniFile iniFile = new IniFile();
+        iniFile.iniDoc.setString("document", "title", "Document Title");
+        iniFile.iniDoc.setString("system", "date", "today");
+
+        OverlayPageContext instance = new OverlayPageContext(ConfSnapshot.of(iniFile.iniDoc), true);
+        instance.setString(PAGE, "use", "articles");
+        instance.getString(PAGE, "use", null);
+        instance.getString("document", "title", null);
+        instance.getString("articles", "template", "");
+        instance.getString("system", "date", null);
+
+        Map<String, Map<String, String>> resolved = instance.getResolved();
+        assertEquals("Document Title", resolved.get("document").get("title"));
+        assertTrue(resolved.get("articles").containsKey("template"));
+        assertNull(resolved.get("articles").get("template"));
+        assertFalse(resolved.containsKey(PAGE));
+        assertFalse(resolved.containsKey("system"));
+    }
+}
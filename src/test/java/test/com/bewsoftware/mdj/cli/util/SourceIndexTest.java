@@ -0,0 +1,180 @@
+/*
+ *  File Name:    SourceIndexTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.FileData;
+import com.bewsoftware.mdj.cli.util.Find;
+import com.bewsoftware.mdj.cli.util.SourceIndex;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class SourceIndexTest
+{
+    private static final long NOW = 1_700_000_000_000L;
+
+    private Path destDir;
+
+    private Path srcDir;
+
+    @TempDir
+    Path tempDir;
+
+    public SourceIndexTest()
+    {
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        srcDir = tempDir.resolve("src");
+        destDir = tempDir.resolve("dest");
+
+        write(srcDir.resolve("a.md"), NOW);
+        write(srcDir.resolve("sub/b.md"), NOW);
+        write(srcDir.resolve("sub/deep/c.md"), NOW);
+        write(destDir.resolve("a.html"), NOW + 1000);
+        write(destDir.resolve("sub/b.html"), NOW + 1000);
+        write(destDir.resolve("sub/deep/c.html"), NOW - 1000);
+
+        // The first build, which finds that "c" needs to be built.
+        assertEquals(List.of("sub/deep/c.html"), update());
+        write(destDir.resolve("sub/deep/c.html"), NOW + 1000);
+        age();
+    }
+
+    /**
+     * Test of list method, of class SourceIndex, with a file added.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testListChanged() throws IOException
+    {
+        System.out.println("[SourceIndexTest.testListChanged()]");
+        write(srcDir.resolve("sub/d.md"), NOW);
+        Files.setLastModifiedTime(srcDir.resolve("sub"), FileTime.fromMillis(NOW + 5000));
+
+        SourceIndex index = SourceIndex.load(destDir, srcDir);
+
+        assertEquals(List.of("sub/d.html"), update(index));
+        assertEquals(1, index.getListed());
+    }
+
+    /**
+     * Test of isUpToDate method, of class SourceIndex, with nothing changed.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testNoChange() throws IOException
+    {
+        System.out.println("[SourceIndexTest.testNoChange()]");
+        SourceIndex index = SourceIndex.load(destDir, srcDir);
+
+        assertEquals(List.of(), update(index));
+        assertEquals(0, index.getListed());
+    }
+
+    /**
+     * Test of isUpToDate method, of class SourceIndex, with a file edited in
+     * place, which does not change its directory.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testSourceEdited() throws IOException
+    {
+        System.out.println("[SourceIndexTest.testSourceEdited()]");
+        long subModified = Files.getLastModifiedTime(srcDir.resolve("sub")).toMillis();
+        write(srcDir.resolve("sub/b.md"), NOW + 5000);
+        Files.setLastModifiedTime(srcDir.resolve("sub"), FileTime.fromMillis(subModified));
+
+        SourceIndex index = SourceIndex.load(destDir, srcDir);
+
+        assertEquals(List.of("sub/b.html"), update(index));
+        assertEquals(0, index.getListed());
+    }
+
+    /**
+     * Test of isUpToDate method, of class SourceIndex, with an output file
+     * removed.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testOutputRemoved() throws IOException
+    {
+        System.out.println("[SourceIndexTest.testOutputRemoved()]");
+        Files.delete(destDir.resolve("sub/b.html"));
+
+        assertEquals(List.of("sub/b.html"), update());
+    }
+
+    /**
+     * Set the directories' last modified times well into the past, so that
+     * they are trusted, and save the index again.
+     */
+    private void age() throws IOException
+    {
+        for (Path dir : List.of(srcDir, srcDir.resolve("sub"), srcDir.resolve("sub/deep"),
+                destDir, destDir.resolve("sub"), destDir.resolve("sub/deep")))
+        {
+            Files.setLastModifiedTime(dir, FileTime.fromMillis(NOW));
+        }
+
+        update();
+    }
+
+    private List<String> update() throws IOException
+    {
+        return update(SourceIndex.load(destDir, srcDir));
+    }
+
+    private List<String> update(SourceIndex index) throws IOException
+    {
+        List<FileData> fileList = Find.getUpdateListMatching(srcDir, destDir, List.of(), null, true, index);
+        index.save();
+
+        return fileList.stream()
+                .map(fileData -> destDir.relativize(fileData.destinationPath).toString().replace('\\', '/'))
+                .collect(Collectors.toList());
+    }
+
+    private static void write(Path path, long lastModified) throws IOException
+    {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, path.getFileName().toString());
+        Files.setLastModifiedTime(path, FileTime.fromMillis(lastModified));
+    }
+}
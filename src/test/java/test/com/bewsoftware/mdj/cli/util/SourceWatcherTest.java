@@ -0,0 +1,84 @@
+/*
+ *  File Name:    SourceWatcherTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.IgnoreRules;
+import com.bewsoftware.mdj.cli.util.SourceWatcher;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class SourceWatcherTest
+{
+    private static final long DEBOUNCE_MILLIS = 500;
+
+    @TempDir
+    Path tempDir;
+
+    public SourceWatcherTest()
+    {
+    }
+
+    /**
+     * Test of registerTree method, of class SourceWatcher, with the ignored
+     * directories, and those created in them later, not being watched.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testRegisterTreeIgnored() throws Exception
+    {
+        System.out.println("[SourceWatcherTest.testRegisterTreeIgnored()]");
+        Path srcDir = Files.createDirectories(tempDir.resolve("src")).toRealPath();
+        Files.createDirectories(srcDir.resolve("sub"));
+        Files.createDirectories(srcDir.resolve("node_modules/lib"));
+
+        try ( SourceWatcher instance = new SourceWatcher())
+        {
+            instance.registerTree(srcDir, IgnoreRules.parse(List.of("node_modules/", "target/")));
+
+            Files.writeString(srcDir.resolve("node_modules/lib/a.js"), "a");
+            Files.createDirectories(srcDir.resolve("target"));
+            Files.writeString(srcDir.resolve("sub/page.md"), "Page");
+
+            assertEquals(Set.of(srcDir.resolve("target"), srcDir.resolve("sub/page.md")),
+                    instance.awaitChanges(DEBOUNCE_MILLIS));
+
+            // Neither the ignored directory, nor the new one, is watched.
+            Files.writeString(srcDir.resolve("target/b.html"), "b");
+            Files.writeString(srcDir.resolve("node_modules/lib/c.js"), "c");
+            Files.writeString(srcDir.resolve("sub/other.md"), "Other");
+
+            assertEquals(Set.of(srcDir.resolve("sub/other.md")),
+                    instance.awaitChanges(DEBOUNCE_MILLIS));
+        }
+    }
+}
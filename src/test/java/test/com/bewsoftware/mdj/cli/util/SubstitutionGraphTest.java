@@ -0,0 +1,117 @@
+/*
+ *  File Name:    SubstitutionGraphTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.SubstitutionCycleException;
+import com.bewsoftware.mdj.cli.util.SubstitutionGraph;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class SubstitutionGraphTest
+{
+    private IniFile conf;
+
+    public SubstitutionGraphTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestResolveAll()
+    {
+        return Stream.of(
+                Arguments.of("project", "name", "Test Site"),
+                Arguments.of("document", "name", "Test Site"),
+                Arguments.of("document", "title", "Test Site: Home"),
+                Arguments.of("deep", "a", "[a][b][c]end"),
+                Arguments.of("deep", "b", "[b][c]end"),
+                Arguments.of("deep", "missing", "Missing: ''"),
+                Arguments.of("deep", "global", "Global: yes"),
+                Arguments.of("deep", "escaped", "Escaped: \\${deep.d}")
+        );
+    }
+
+    @BeforeEach
+    public void setUp()
+    {
+        conf = new IniFile();
+        conf.iniDoc.setString(null, "flag", "yes");
+        // Refers to a later section.
+        conf.iniDoc.setString("document", "title", "${document.name}: Home");
+        conf.iniDoc.setString("document", "name", "${project.name}");
+        conf.iniDoc.setString("project", "name", "Test Site");
+        conf.iniDoc.setString("deep", "a", "[a]${deep.b}");
+        conf.iniDoc.setString("deep", "b", "[b]${deep.c}");
+        conf.iniDoc.setString("deep", "c", "[c]${deep.d}");
+        conf.iniDoc.setString("deep", "d", "end");
+        conf.iniDoc.setString("deep", "missing", "Missing: '${deep.none}'");
+        conf.iniDoc.setString("deep", "global", "Global: ${deep.flag}");
+        conf.iniDoc.setString("deep", "escaped", "Escaped: \\${deep.d}");
+    }
+
+    /**
+     * Test of resolveAll method, of class SubstitutionGraph.
+     *
+     * @param section
+     * @param key
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestResolveAll")
+    public void testResolveAll(String section, String key, String expResult)
+    {
+        System.out.println("[SubstitutionGraphTest.testResolveAll()]");
+
+        SubstitutionGraph.resolveAll(conf.iniDoc);
+
+        assertEquals(expResult, conf.iniDoc.getString(section, key, null));
+    }
+
+    /**
+     * Test of resolveAll method, of class SubstitutionGraph, with a cycle.
+     */
+    @Test
+    public void testResolveAllCycle()
+    {
+        System.out.println("[SubstitutionGraphTest.testResolveAllCycle()]");
+        conf.iniDoc.setString("cycle", "a", "${cycle.b}");
+        conf.iniDoc.setString("cycle", "b", "${cycle.c}");
+        conf.iniDoc.setString("cycle", "c", "${cycle.a}");
+
+        SubstitutionCycleException ex = assertThrows(SubstitutionCycleException.class,
+                () -> SubstitutionGraph.resolveAll(conf.iniDoc));
+
+        assertEquals(List.of("cycle.a", "cycle.b", "cycle.c", "cycle.a"), ex.getChain());
+        // Nothing is changed.
+        assertEquals("${document.name}: Home", conf.iniDoc.getString("document", "title", null));
+    }
+}
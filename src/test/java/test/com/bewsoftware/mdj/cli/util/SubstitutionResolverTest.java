@@ -0,0 +1,143 @@
+/*
+ *  File Name:    SubstitutionResolverTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.fileio.ini.IniFile;
+import com.bewsoftware.mdj.cli.util.ConfSnapshot;
+import com.bewsoftware.mdj.cli.util.OverlayPageContext;
+import com.bewsoftware.mdj.cli.util.SubstitutionCycleException;
+import com.bewsoftware.mdj.cli.util.SubstitutionResolver;
+import com.bewsoftware.utils.struct.Ref;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class SubstitutionResolverTest
+{
+    private ConfSnapshot snapshot;
+
+    public SubstitutionResolverTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestResolve()
+    {
+        return Stream.of(
+                Arguments.of("No variables.", null, "No variables.", false),
+                Arguments.of("Name: ${document.name}", null, "Name: Test Site", true),
+                Arguments.of("${deep.a}", null, "[a][b][c]end", true),
+                Arguments.of("${deep.a}, ${deep.a}", null, "[a][b][c]end, [a][b][c]end", true),
+                Arguments.of("Escaped: \\${document.name}", null, "Escaped: \\${document.name}", false),
+                Arguments.of("Missing: '${document.missing}'", null, "Missing: ''", true),
+                Arguments.of("Use: ${page.template}", "articles", "Use: article.html", true)
+        );
+    }
+
+    @BeforeEach
+    public void setUp()
+    {
+        IniFile conf = new IniFile();
+        conf.iniDoc.setString("project", "name", "Test Site");
+        conf.iniDoc.setString("document", "name", "${project.name}");
+        conf.iniDoc.setString("deep", "a", "[a]${deep.b}");
+        conf.iniDoc.setString("deep", "b", "[b]${deep.c}");
+        conf.iniDoc.setString("deep", "c", "[c]${deep.d}");
+        conf.iniDoc.setString("deep", "d", "end");
+        conf.iniDoc.setString("cycle", "a", "${cycle.b}");
+        conf.iniDoc.setString("cycle", "b", "${cycle.c}");
+        conf.iniDoc.setString("cycle", "c", "${cycle.a}");
+        conf.iniDoc.setString("articles", "template", "article.html");
+        snapshot = ConfSnapshot.of(conf.iniDoc);
+    }
+
+    /**
+     * Test of resolve method, of class SubstitutionResolver.
+     *
+     * @param text
+     * @param use
+     * @param expResult
+     * @param expFound
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestResolve")
+    public void testResolve(String text, String use, String expResult, boolean expFound)
+    {
+        System.out.println("[SubstitutionResolverTest.testResolve()]");
+        Ref<Boolean> found = Ref.val();
+
+        SubstitutionResolver instance = new SubstitutionResolver(new OverlayPageContext(snapshot), use);
+        String result = instance.resolve(text, found);
+
+        assertEquals(expResult, result);
+        assertEquals(expFound, found.val);
+    }
+
+    /**
+     * Test of resolve method, of class SubstitutionResolver, with a cycle.
+     */
+    @Test
+    public void testResolveCycle()
+    {
+        System.out.println("[SubstitutionResolverTest.testResolveCycle()]");
+        SubstitutionResolver instance = new SubstitutionResolver(new OverlayPageContext(snapshot), null);
+
+        SubstitutionCycleException ex = assertThrows(SubstitutionCycleException.class,
+                () -> instance.resolve("Start: ${cycle.a}", Ref.val()));
+
+        assertEquals(List.of("cycle.a", "cycle.b", "cycle.c", "cycle.a"), ex.getChain());
+        assertEquals("Substitution cycle: ${cycle.a} -> ${cycle.b} -> ${cycle.c} -> ${cycle.a}",
+                ex.getMessage());
+    }
+
+    /**
+     * Test of resolve method, of class SubstitutionResolver, where a page
+     * overrides a value that was cached by an earlier page.
+     */
+    @Test
+    public void testResolveOverridden()
+    {
+        System.out.println("[SubstitutionResolverTest.testResolveOverridden()]");
+        OverlayPageContext first = new OverlayPageContext(snapshot);
+        OverlayPageContext second = new OverlayPageContext(snapshot, true);
+        second.setString("deep", "c", "[C]");
+
+        assertEquals("[a][b][c]end", new SubstitutionResolver(first, null).valueOf("deep", "a"));
+        assertEquals("[a][b][C]", new SubstitutionResolver(second, null).valueOf("deep", "a"));
+        assertEquals("[a][b][c]end", new SubstitutionResolver(first, null).valueOf("deep", "a"));
+
+        // The cached value's dependencies are still recorded.
+        OverlayPageContext third = new OverlayPageContext(snapshot, true);
+        new SubstitutionResolver(third, null).valueOf("deep", "a");
+
+        assertEquals("end", third.getResolved().get("deep").get("d"));
+    }
+}
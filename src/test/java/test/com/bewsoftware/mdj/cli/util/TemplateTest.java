@@ -0,0 +1,81 @@
+/*
+ *  File Name:    TemplateTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.Template;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class TemplateTest
+{
+
+    public TemplateTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestRender()
+    {
+        return Stream.of(
+                Arguments.of(
+                        "<title>${page.title}</title>",
+                        1,
+                        "<title>[page.title]</title>"
+                ),
+                Arguments.of(
+                        "${a.b}${c.d} and \\${e.f}",
+                        2,
+                        "[a.b][c.d] and ${e.f}"
+                ),
+                Arguments.of(
+                        "Cost: \\$5 \\[note]",
+                        0,
+                        "Cost: $5 [note]"
+                )
+        );
+    }
+
+    /**
+     * Test of render method, of class Template.
+     *
+     * @param text
+     * @param slotCount
+     * @param expResult
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestRender")
+    public void testRender(String text, int slotCount, String expResult)
+    {
+        System.out.println("[TemplateTest.testRender()]");
+        Template instance = Template.compile(text);
+        assertEquals(slotCount, instance.slotCount());
+
+        String result = instance.render((section, key) -> "[" + section + "." + key + "]");
+        assertEquals(expResult, result);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *  File Name:    ZipReaderTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.ZipReader;
+import com.bewsoftware.mdj.cli.util.ZipWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class ZipReaderTest
+{
+    private static final String TEXT = "<p>Some text.</p>\n".repeat(100);
+
+    private Path zipPath;
+
+    @TempDir
+    Path tempDir;
+
+    public ZipReaderTest()
+    {
+    }
+
+    /**
+     * Write a zip file the way the JDK does: with data descriptors, and a
+     * comment.
+     *
+     * @throws IOException if any.
+     */
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        zipPath = tempDir.resolve("test.zip");
+
+        try ( ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipPath)))
+        {
+            zos.setComment("A comment.");
+
+            for (String name : List.of("index.html", "sub/page.html", "empty.txt"))
+            {
+                zos.putNextEntry(new ZipEntry(name));
+                zos.write(name.equals("empty.txt") ? new byte[0] : (name + TEXT).getBytes(UTF_8));
+                zos.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Test of copy method, of class ZipReader, by way of a ZipWriter.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testCopy() throws IOException
+    {
+        System.out.println("[ZipReaderTest.testCopy()]");
+        Path copyPath = tempDir.resolve("copy.zip");
+
+        try ( ZipReader instance = new ZipReader(zipPath);  ZipWriter zip = new ZipWriter(copyPath, 9, 2))
+        {
+            for (ZipReader.Entry entry : instance.getEntries().values())
+            {
+                zip.copy(instance, entry);
+            }
+
+            zip.finish();
+            assertEquals(3, zip.getCopiedCount());
+        }
+
+        try ( ZipFile zip = new ZipFile(copyPath.toFile()))
+        {
+            assertEquals(3, zip.size());
+            assertEquals("sub/page.html" + TEXT,
+                    new String(zip.getInputStream(zip.getEntry("sub/page.html")).readAllBytes(), UTF_8));
+            assertEquals(0, zip.getInputStream(zip.getEntry("empty.txt")).readAllBytes().length);
+        }
+    }
+
+    /**
+     * Test of getEntries method, of class ZipReader.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testGetEntries() throws IOException
+    {
+        System.out.println("[ZipReaderTest.testGetEntries()]");
+
+        try ( ZipReader instance = new ZipReader(zipPath))
+        {
+            assertEquals(List.of("index.html", "sub/page.html", "empty.txt"),
+                    List.copyOf(instance.getEntries().keySet()));
+
+            byte[] data = ("sub/page.html" + TEXT).getBytes(UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            ZipReader.Entry entry = instance.getEntry("sub/page.html");
+
+            assertEquals(ZipEntry.DEFLATED, entry.method());
+            assertEquals(crc.getValue(), entry.crc());
+            assertEquals(data.length, entry.size());
+            assertNull(instance.getEntry("missing.html"));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            instance.copy(entry, out);
+            assertEquals(entry.compressedSize(), out.size());
+        }
+    }
+}
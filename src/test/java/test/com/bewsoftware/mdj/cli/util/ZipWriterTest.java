@@ -0,0 +1,302 @@
+/*
+ *  File Name:    ZipWriterTest.java
+ *  Project Name: bewsoftware-mdj-cli
+ *
+ *  Copyright (c) 2026 Bradley Willcott
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package test.com.bewsoftware.mdj.cli.util;
+
+import com.bewsoftware.mdj.cli.util.ZipReader;
+import com.bewsoftware.mdj.cli.util.ZipWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ *
+ * @author <a href="mailto:bw.opensource@yahoo.com">Bradley Willcott</a>
+ */
+public class ZipWriterTest
+{
+    private List<Path> files;
+
+    @TempDir
+    Path tempDir;
+
+    public ZipWriterTest()
+    {
+    }
+
+    public static Stream<Arguments> provideArgsForTestFinish()
+    {
+        return Stream.of(
+                Arguments.of(9, 1),
+                Arguments.of(9, 4),
+                Arguments.of(1, 4),
+                Arguments.of(0, 2)
+        );
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        files = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20; i++)
+        {
+            Path file = tempDir.resolve("src/page" + i + ".html");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, ("<p>Page " + i + "</p>\n").repeat(i * 50));
+            files.add(file);
+        }
+
+        // Large enough to be compressed into a temporary file.
+        byte[] large = new byte[9 * 1024 * 1024];
+        random.nextBytes(large);
+        Path file = tempDir.resolve("src/sub/large.bin");
+        Files.createDirectories(file.getParent());
+        Files.write(file, large);
+        files.add(file);
+    }
+
+    /**
+     * Test of finish method, of class ZipWriter.
+     *
+     * @param level
+     * @param threads
+     *
+     * @throws IOException if any.
+     */
+    @ParameterizedTest
+    @MethodSource("provideArgsForTestFinish")
+    public void testFinish(int level, int threads) throws IOException
+    {
+        System.out.println("[ZipWriterTest.testFinish()]");
+        Path zipPath = tempDir.resolve("test.zip");
+
+        try ( ZipWriter instance = new ZipWriter(zipPath, level, threads))
+        {
+            instance.add("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n".getBytes(UTF_8));
+
+            for (Path file : files)
+            {
+                instance.add(tempDir.resolve("src").relativize(file).toString(), file);
+            }
+
+            instance.finish();
+            assertEquals(files.size() + 1, instance.getCount());
+        }
+
+        // Read it back both ways: through the central directory, and
+        // through the local headers.
+        try ( ZipFile zip = new ZipFile(zipPath.toFile()))
+        {
+            List<? extends ZipEntry> entries = zip.stream().toList();
+
+            assertEquals("META-INF/MANIFEST.MF", entries.get(0).getName());
+            assertEquals("Manifest-Version: 1.0\r\n",
+                    new String(zip.getInputStream(entries.get(0)).readAllBytes(), UTF_8));
+
+            for (int i = 0; i < files.size(); i++)
+            {
+                ZipEntry entry = entries.get(i + 1);
+
+                assertEquals(tempDir.resolve("src").relativize(files.get(i)).toString(), entry.getName());
+                assertEquals(level > 0 ? ZipEntry.DEFLATED : ZipEntry.STORED, entry.getMethod());
+                assertArrayEquals(Files.readAllBytes(files.get(i)), zip.getInputStream(entry).readAllBytes());
+            }
+        }
+
+        try ( ZipInputStream zis = new ZipInputStream(Files.newInputStream(zipPath)))
+        {
+            int count = 0;
+
+            while (zis.getNextEntry() != null)
+            {
+                zis.readAllBytes();
+                count++;
+            }
+
+            assertEquals(files.size() + 1, count);
+        }
+    }
+
+    /**
+     * Test of finish method, of class ZipWriter, with the entries stored or
+     * compressed by their own levels.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testFinishMixed() throws IOException
+    {
+        System.out.println("[ZipWriterTest.testFinishMixed()]");
+        Path zipPath = tempDir.resolve("test.zip");
+
+        try ( ZipWriter instance = new ZipWriter(zipPath, 9, 4))
+        {
+            for (int i = 0; i < files.size(); i++)
+            {
+                instance.add(tempDir.resolve("src").relativize(files.get(i)).toString(),
+                        files.get(i), i % 2 == 0 ? 0 : 9);
+            }
+
+            instance.finish();
+            assertEquals((files.size() + 1) / 2, instance.getStoredCount());
+            assertEquals(instance.getSize() - instance.getStoredSize(), instance.getDeflatedSize());
+        }
+
+        try ( ZipFile zip = new ZipFile(zipPath.toFile()))
+        {
+            List<? extends ZipEntry> entries = zip.stream().toList();
+
+            for (int i = 0; i < files.size(); i++)
+            {
+                ZipEntry entry = entries.get(i);
+
+                assertEquals(i % 2 == 0 ? ZipEntry.STORED : ZipEntry.DEFLATED, entry.getMethod());
+                assertArrayEquals(Files.readAllBytes(files.get(i)), zip.getInputStream(entry).readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * Test of add method, of class ZipWriter, copying the entries whose
+     * files have not changed from the previous version of the zip file.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testAddPrevious() throws IOException
+    {
+        System.out.println("[ZipWriterTest.testAddPrevious()]");
+        Path previousPath = tempDir.resolve("previous.zip");
+        Path zipPath = tempDir.resolve("test.zip");
+
+        try ( ZipWriter instance = new ZipWriter(previousPath, 9, 1))
+        {
+            for (Path file : files)
+            {
+                instance.add(tempDir.resolve("src").relativize(file).toString(), file);
+            }
+
+            instance.finish();
+        }
+
+        // Same size, different contents.
+        Files.writeString(files.get(3), ("<p>Page X</p>\n").repeat(3 * 50));
+
+        try ( ZipReader previous = new ZipReader(previousPath);
+                 ZipWriter instance = new ZipWriter(zipPath, 9, 4))
+        {
+            for (Path file : files)
+            {
+                instance.add(tempDir.resolve("src").relativize(file).toString(), file, 9, previous);
+            }
+
+            instance.finish();
+            assertEquals(files.size() - 1, instance.getCopiedCount());
+        }
+
+        try ( ZipFile zip = new ZipFile(zipPath.toFile()))
+        {
+            List<? extends ZipEntry> entries = zip.stream().toList();
+
+            for (int i = 0; i < files.size(); i++)
+            {
+                assertArrayEquals(Files.readAllBytes(files.get(i)),
+                        zip.getInputStream(entries.get(i)).readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * Test of close method, of class ZipWriter, without it being finished,
+     * while entries are still queued for compressing.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testCloseQueued() throws IOException
+    {
+        System.out.println("[ZipWriterTest.testCloseQueued()]");
+        Path zipPath = tempDir.resolve("test.zip");
+        Path large = files.get(files.size() - 1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () ->
+        {
+            try ( ZipWriter instance = new ZipWriter(zipPath, 9, 2))
+            {
+                for (int i = 0; i < 8; i++)
+                {
+                    instance.add("large" + i + ".bin", large);
+                }
+            }
+        });
+    }
+
+    /**
+     * Test of finish method, of class ZipWriter, with more entries than the
+     * original format can hold.
+     *
+     * @throws IOException if any.
+     */
+    @Test
+    public void testFinishZip64() throws IOException
+    {
+        System.out.println("[ZipWriterTest.testFinishZip64()]");
+        Path zipPath = tempDir.resolve("test.zip");
+        int count = 70_000;
+
+        try ( ZipWriter instance = new ZipWriter(zipPath, 0, 1))
+        {
+            for (int i = 0; i < count; i++)
+            {
+                instance.add("entry" + i, Integer.toString(i).getBytes(UTF_8));
+            }
+
+            instance.finish();
+        }
+
+        try ( ZipFile zip = new ZipFile(zipPath.toFile()))
+        {
+            assertEquals(count, zip.size());
+            assertEquals("69999", new String(
+                    zip.getInputStream(zip.getEntry("entry69999")).readAllBytes(), UTF_8));
+        }
+    }
+}